@@ -0,0 +1,68 @@
+package advisor.authentication;
+
+import advisor.authentication.SpotifyAccessCodeFetcher.PendingAuthorization;
+import advisor.metrics.MetricsRegistry;
+import advisor.view.CommandLineView;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.Optional;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency from the authorization being started to the access code being delivered by the redirect, with the
+ * listener kept bound between authorizations and, as before it was long-lived, bound and stopped every time.
+ * The exchange of the code for a token is a request to Spotify, identical in both cases, and is left out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AccessCodeListenerBenchmark {
+
+    @Param({"false", "true"})
+    public boolean rebindEveryTime;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private String redirectUri;
+    private SpotifyAccessCodeFetcher spotifyAccessCodeFetcher;
+
+    @Setup
+    public void prepareFetcher() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            redirectUri = "http://localhost:" + socket.getLocalPort();
+        }
+        spotifyAccessCodeFetcher = new SpotifyAccessCodeFetcher("https://accounts.spotify.com", "myClientId",
+                redirectUri, new CommandLineView(new Scanner(System.in),
+                        new PrintStream(OutputStream.nullOutputStream()), 5, new MetricsRegistry()),
+                180);
+    }
+
+    @TearDown
+    public void closeFetcher() {
+        spotifyAccessCodeFetcher.close();
+    }
+
+    @Benchmark
+    public Optional<String> redirectToAccessCode() throws Exception {
+        PendingAuthorization authorization = spotifyAccessCodeFetcher.startAuthorization();
+        client.send(HttpRequest.newBuilder(URI.create(
+                redirectUri + "/?code=myAccessCode&state=" + authorization.getState())).build(),
+                BodyHandlers.discarding());
+        Optional<String> accessCode = authorization.getAccessCode().get();
+        if (rebindEveryTime) {
+            spotifyAccessCodeFetcher.close();
+        }
+        return accessCode;
+    }
+}
@@ -0,0 +1,18 @@
+package advisor.authentication;
+
+public class StaticTokenUserCommandAuthentication implements UserCommandAuthentication {
+
+    @Override
+    public void authenticate() {
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return true;
+    }
+
+    @Override
+    public String getAccessToken() {
+        return "accessToken";
+    }
+}
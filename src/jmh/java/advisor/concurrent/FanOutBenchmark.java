@@ -0,0 +1,96 @@
+package advisor.concurrent;
+
+import advisor.authentication.StaticTokenUserCommandAuthentication;
+import advisor.authentication.UserCommandAuthenticationFacade;
+import advisor.concurrent.AdvisorExecutors.ExecutionMode;
+import advisor.http.EndpointHedging;
+import advisor.http.EndpointRetryers;
+import advisor.http.PooledHttpTransport;
+import advisor.http.RateLimiter;
+import advisor.metrics.MetricsRegistry;
+import advisor.model.service.ResponseValidationCache;
+import advisor.model.service.SpotifyAdvisor;
+import advisor.utils.RecordedPayloads;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+
+/**
+ * Time to fetch 10k category pages concurrently from a local WireMock stand-in of the Spotify Web API,
+ * which answers after a fixed delay, on a pool of platform threads and on virtual threads.
+ * On a JDK without virtual threads both modes run on platform threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FanOutBenchmark {
+
+    private static final int PAGES = 10_000;
+    private static final int PLATFORM_THREADS = 200;
+    private static final int RESPONSE_DELAY_MILLIS = 20;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public ExecutionMode executionMode;
+
+    private WireMockServer wireMockServer;
+    private PooledHttpTransport httpTransport;
+    private SpotifyAdvisor spotifyAdvisor;
+    private ExecutorService executorService;
+
+    @Setup
+    public void prepareStandInServer() {
+        wireMockServer = new WireMockServer(wireMockConfig().dynamicPort().containerThreads(1000));
+        wireMockServer.start();
+        wireMockServer.stubFor(get(urlPathEqualTo("/v1/browse/categories"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withFixedDelay(RESPONSE_DELAY_MILLIS)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(RecordedPayloads.read(RecordedPayloads.CATEGORIES))));
+
+        httpTransport = new PooledHttpTransport(1000, 1000, 5000, 30000, 30);
+        spotifyAdvisor = new SpotifyAdvisor(
+                "http://localhost:" + wireMockServer.port(),
+                httpTransport,
+                new ResponseValidationCache(100),
+                RateLimiter.unlimited(),
+                0,
+                EndpointRetryers.none(),
+                EndpointHedging.none(),
+                new MetricsRegistry(),
+                new UserCommandAuthenticationFacade(new StaticTokenUserCommandAuthentication()),
+                5,
+                "en-GB");
+        executorService = AdvisorExecutors.newExecutor(executionMode, PLATFORM_THREADS, "fan-out");
+    }
+
+    @TearDown
+    public void stopStandInServer() throws IOException {
+        executorService.shutdownNow();
+        httpTransport.close();
+        wireMockServer.stop();
+    }
+
+    @Benchmark
+    public int fetchPages() {
+        List<CompletableFuture<Integer>> pages = new ArrayList<>(PAGES);
+        for (int pageNumber = 1; pageNumber <= PAGES; pageNumber++) {
+            int requestedPage = pageNumber;
+            pages.add(CompletableFuture.supplyAsync(
+                    () -> spotifyAdvisor.getCategories(requestedPage).getElements().size(), executorService));
+        }
+        return pages.stream().mapToInt(CompletableFuture::join).sum();
+    }
+}
@@ -0,0 +1,26 @@
+package advisor.controller;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command texts parsed per second: the first command, the last one, and unsupported input, which is
+ * compared with every command
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserCommandBenchmark {
+
+    @Param({"new", "auth", "unknown"})
+    public String commandText;
+
+    @Benchmark
+    public UserCommand parse() {
+        return UserCommand.parse(commandText);
+    }
+}
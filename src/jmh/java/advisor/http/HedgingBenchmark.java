@@ -0,0 +1,90 @@
+package advisor.http;
+
+import advisor.authentication.StaticTokenUserCommandAuthentication;
+import advisor.authentication.UserCommandAuthenticationFacade;
+import advisor.concurrent.AdvisorExecutors;
+import advisor.concurrent.AdvisorExecutors.ExecutionMode;
+import advisor.metrics.MetricsRegistry;
+import advisor.model.dto.Page;
+import advisor.model.dto.Release;
+import advisor.model.service.ResponseValidationCache;
+import advisor.model.service.SpotifyAdvisor;
+import advisor.utils.RecordedPayloads;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+
+/**
+ * Latency distribution of getting new releases, with and without hedged requests, against a local WireMock
+ * stand-in of the Spotify Web API whose response delays follow a long-tailed log-normal distribution.
+ * Compare the p0.95, p0.99 and p0.999 percentiles reported by the sample time mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Threads(4)
+@Fork(1)
+public class HedgingBenchmark {
+
+    private static final int MEDIAN_DELAY_MILLIS = 20;
+    private static final double DELAY_SIGMA = 0.8;
+
+    @Param({"false", "true"})
+    public boolean hedging;
+
+    private WireMockServer wireMockServer;
+    private PooledHttpTransport httpTransport;
+    private ExecutorService executorService;
+    private EndpointHedging endpointHedging;
+    private SpotifyAdvisor spotifyAdvisor;
+
+    @Setup
+    public void prepareStandInServer() {
+        wireMockServer = new WireMockServer(wireMockConfig().dynamicPort().containerThreads(50));
+        wireMockServer.start();
+        wireMockServer.stubFor(get(urlPathEqualTo("/v1/browse/new-releases"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withLogNormalRandomDelay(MEDIAN_DELAY_MILLIS, DELAY_SIGMA)
+                        .withBody(RecordedPayloads.read(RecordedPayloads.NEW_RELEASES))));
+
+        httpTransport = new PooledHttpTransport(50, 50, 5000, 10000, 30);
+        executorService = AdvisorExecutors.newExecutor(ExecutionMode.PLATFORM, 16, "hedged-request");
+        endpointHedging = hedging ? new EndpointHedging(executorService, 0.05, 20) : EndpointHedging.none();
+        spotifyAdvisor = new SpotifyAdvisor(
+                "http://localhost:" + wireMockServer.port(),
+                httpTransport,
+                new ResponseValidationCache(100),
+                RateLimiter.unlimited(),
+                0,
+                EndpointRetryers.none(),
+                endpointHedging,
+                new MetricsRegistry(),
+                new UserCommandAuthenticationFacade(new StaticTokenUserCommandAuthentication()),
+                5,
+                "en-GB");
+    }
+
+    @TearDown
+    public void stopStandInServer() throws IOException {
+        System.out.printf("%nHedged %d of %d requests, %d hedges responded first%n",
+                endpointHedging.getHedgedRequests(), endpointHedging.getRequests(), endpointHedging.getHedgeWins());
+        executorService.shutdownNow();
+        httpTransport.close();
+        wireMockServer.stop();
+    }
+
+    @Benchmark
+    public Page<Release> getNewReleases() {
+        return spotifyAdvisor.getNewReleases(1);
+    }
+}
@@ -0,0 +1,88 @@
+package advisor.http;
+
+import advisor.authentication.StaticTokenUserCommandAuthentication;
+import advisor.authentication.UserCommandAuthenticationFacade;
+import advisor.metrics.MetricsRegistry;
+import advisor.model.dto.Category;
+import advisor.model.dto.Page;
+import advisor.model.service.ResponseValidationCache;
+import advisor.model.service.SpotifyAdvisor;
+import advisor.utils.RecordedPayloads;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+
+/**
+ * Requests per second against a local WireMock stand-in of the Spotify Web API,
+ * with Feign's default transport, the pooled keep-alive transport and the HTTP/2 transport.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class HttpTransportBenchmark {
+
+    @Param({"default", "pooled", "http2"})
+    public String transport;
+
+    private WireMockServer wireMockServer;
+    private HttpTransport httpTransport;
+    private SpotifyAdvisor spotifyAdvisor;
+
+    @Setup
+    public void prepareStandInServer() {
+        wireMockServer = new WireMockServer(wireMockConfig().dynamicPort().containerThreads(50));
+        wireMockServer.start();
+        wireMockServer.stubFor(get(urlPathEqualTo("/v1/browse/categories"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(RecordedPayloads.read(RecordedPayloads.CATEGORIES))));
+
+        switch (transport) {
+            case "pooled":
+                httpTransport = new PooledHttpTransport(50, 50, 5000, 10000, 30);
+                break;
+            case "http2":
+                httpTransport = new Http2HttpTransport(5000, 10000);
+                break;
+            default:
+                httpTransport = new DefaultHttpTransport();
+                break;
+        }
+        spotifyAdvisor = new SpotifyAdvisor(
+                "http://localhost:" + wireMockServer.port(),
+                httpTransport,
+                new ResponseValidationCache(100),
+                RateLimiter.unlimited(),
+                0,
+                EndpointRetryers.none(),
+                EndpointHedging.none(),
+                new MetricsRegistry(),
+                new UserCommandAuthenticationFacade(new StaticTokenUserCommandAuthentication()),
+                5,
+                "en-GB");
+    }
+
+    @TearDown
+    public void stopStandInServer() throws IOException {
+        if (httpTransport instanceof Closeable) {
+            ((Closeable) httpTransport).close();
+        }
+        wireMockServer.stop();
+    }
+
+    @Benchmark
+    public Page<Category> getCategories() {
+        return spotifyAdvisor.getCategories(1);
+    }
+}
@@ -0,0 +1,112 @@
+package advisor.model;
+
+import advisor.authentication.StaticTokenUserCommandAuthentication;
+import advisor.authentication.UserCommandAuthenticationFacade;
+import advisor.concurrent.AdvisorExecutors;
+import advisor.concurrent.AdvisorExecutors.ExecutionMode;
+import advisor.http.EndpointHedging;
+import advisor.http.EndpointRetryers;
+import advisor.http.PooledHttpTransport;
+import advisor.http.RateLimiter;
+import advisor.metrics.MetricsRegistry;
+import advisor.model.service.ResponseValidationCache;
+import advisor.model.service.SpotifyAdvisor;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+
+/**
+ * Wall-clock time to export 10k categories, in pages of 50, from a local WireMock stand-in of the Spotify Web API
+ * that answers after a fixed delay, for several concurrency levels.
+ * Throughput in items per second is {@value #TOTAL_ITEMS} divided by the reported time, it is also printed
+ * after each iteration, as the export command reports it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ResourceExporterBenchmark {
+
+    private static final int TOTAL_ITEMS = 10_000;
+    private static final int PAGE_SIZE = 50;
+    private static final int RESPONSE_DELAY_MILLIS = 20;
+
+    @Param({"1", "8", "32"})
+    public int concurrency;
+
+    private WireMockServer wireMockServer;
+    private PooledHttpTransport httpTransport;
+    private ExecutorService executorService;
+    private ResourceExporter resourceExporter;
+    private Path exportFile;
+    private ResourceExporter.ExportSummary lastExportSummary;
+
+    @Setup
+    public void prepareStandInServer() throws IOException {
+        wireMockServer = new WireMockServer(wireMockConfig().dynamicPort().containerThreads(100));
+        wireMockServer.start();
+        wireMockServer.stubFor(get(urlPathEqualTo("/v1/browse/categories"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withFixedDelay(RESPONSE_DELAY_MILLIS)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(categoriesPage())));
+
+        httpTransport = new PooledHttpTransport(64, 64, 5000, 10000, 30);
+        SpotifyAdvisor spotifyAdvisor = new SpotifyAdvisor(
+                "http://localhost:" + wireMockServer.port(),
+                httpTransport,
+                new ResponseValidationCache(100),
+                RateLimiter.unlimited(),
+                0,
+                EndpointRetryers.none(),
+                EndpointHedging.none(),
+                new MetricsRegistry(),
+                new UserCommandAuthenticationFacade(new StaticTokenUserCommandAuthentication()),
+                PAGE_SIZE,
+                "en-GB");
+        executorService = AdvisorExecutors.newExecutor(ExecutionMode.PLATFORM, concurrency, "resource-export");
+        CategoryIndex categoryIndex = new CategoryIndex(spotifyAdvisor, PAGE_SIZE, PAGE_SIZE, Runnable::run, 0);
+        resourceExporter = new ResourceExporter(spotifyAdvisor, PAGE_SIZE, categoryIndex, executorService, concurrency);
+        exportFile = Files.createTempFile("categories", ".txt");
+    }
+
+    @TearDown
+    public void stopStandInServer() throws IOException {
+        executorService.shutdownNow();
+        httpTransport.close();
+        wireMockServer.stop();
+        Files.deleteIfExists(exportFile);
+    }
+
+    @TearDown(Level.Iteration)
+    public void printThroughput() {
+        System.out.printf("%n%d items in %d ms: %.0f items/s%n", lastExportSummary.getElements(),
+                lastExportSummary.getElapsedMillis(), lastExportSummary.getElementsPerSecond());
+    }
+
+    @Benchmark
+    public ResourceExporter.ExportSummary exportCategories() {
+        lastExportSummary = resourceExporter.exportCategories(exportFile);
+        return lastExportSummary;
+    }
+
+    private static String categoriesPage() {
+        return IntStream.range(0, PAGE_SIZE)
+                .mapToObj(index -> String.format("{\"name\":\"Category %d\",\"id\":\"category%d\"}", index, index))
+                .collect(Collectors.joining(",",
+                        "{\"categories\":{\"items\":[", "],\"total\":" + TOTAL_ITEMS + "}}"));
+    }
+}
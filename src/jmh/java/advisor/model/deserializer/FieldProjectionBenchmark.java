@@ -0,0 +1,119 @@
+package advisor.model.deserializer;
+
+import advisor.model.dto.Page;
+import advisor.utils.RecordedPayloads;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response bytes and decoding throughput per page with and without the fields projection requested
+ * by {@link PageTypeAdapter#fields()}. The projected responses are derived from the recorded payloads
+ * by applying the projection as the Web API does, and both variants are compacted so that only the fields differ.
+ * Only the playlist resources honour the projection, so only their payloads are measured.
+ * Response bytes per page are printed when each trial starts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FieldProjectionBenchmark {
+
+    @Param({RecordedPayloads.CATEGORY_PLAYLISTS, RecordedPayloads.FEATURED_PLAYLISTS})
+    public String payloadFileName;
+
+    @Param({"full", "projected"})
+    public String response;
+
+    private String payload;
+    private PageTypeAdapter<?> pageTypeAdapter;
+
+    @Setup
+    public void preparePayload() {
+        pageTypeAdapter = new PageTypeAdapter<>("playlists", new PlaylistTypeAdapter());
+        JsonElement recordedPage = JsonParser.parseString(RecordedPayloads.read(payloadFileName));
+        payload = "projected".equals(response)
+                ? project(recordedPage, parseFields(pageTypeAdapter.fields())).toString()
+                : recordedPage.toString();
+        System.out.printf("%n%s, %s response: %d bytes per page%n",
+                payloadFileName, response, payload.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Benchmark
+    public Page<?> readPage() throws IOException {
+        return pageTypeAdapter.fromJson(payload);
+    }
+
+    private static JsonElement project(JsonElement element, Map<String, Map<String, ?>> fields) {
+        if (fields.isEmpty()) {
+            return element;
+        }
+        if (element.isJsonArray()) {
+            JsonArray projectedArray = new JsonArray();
+            element.getAsJsonArray().forEach(item -> projectedArray.add(project(item, fields)));
+            return projectedArray;
+        }
+        if (!element.isJsonObject()) {
+            return element;
+        }
+        JsonObject projectedObject = new JsonObject();
+        fields.forEach((name, subFields) -> {
+            JsonElement value = element.getAsJsonObject().get(name);
+            if (value != null) {
+                projectedObject.add(name, project(value, castFields(subFields)));
+            }
+        });
+        return projectedObject;
+    }
+
+    /**
+     * Parses the fields syntax, e.g. {@code albums(items(name,artists(name)),total)}, into nested maps
+     */
+    private static Map<String, Map<String, ?>> parseFields(String fields) {
+        Map<String, Map<String, ?>> parsedFields = new LinkedHashMap<>();
+        parseFields(fields, 0, parsedFields);
+        return parsedFields;
+    }
+
+    private static int parseFields(String fields, int position, Map<String, Map<String, ?>> parsedFields) {
+        StringBuilder name = new StringBuilder();
+        while (position < fields.length()) {
+            char character = fields.charAt(position++);
+            if (character == '(') {
+                Map<String, Map<String, ?>> subFields = new LinkedHashMap<>();
+                position = parseFields(fields, position, subFields);
+                parsedFields.put(name.toString(), subFields);
+                name.setLength(0);
+            } else if (character == ',' || character == ')') {
+                if (name.length() > 0) {
+                    parsedFields.put(name.toString(), Map.of());
+                    name.setLength(0);
+                }
+                if (character == ')') {
+                    return position;
+                }
+            } else {
+                name.append(character);
+            }
+        }
+        if (name.length() > 0) {
+            parsedFields.put(name.toString(), Map.of());
+        }
+        return position;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Map<String, ?>> castFields(Map<String, ?> fields) {
+        return (Map<String, Map<String, ?>>) fields;
+    }
+}
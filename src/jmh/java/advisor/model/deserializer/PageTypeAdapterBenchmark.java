@@ -0,0 +1,59 @@
+package advisor.model.deserializer;
+
+import advisor.model.dto.Page;
+import advisor.utils.RecordedPayloads;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pages decoded per second from the recorded Spotify payloads, reading the token stream directly
+ * versus materializing the JSON tree first, as the former JsonDeserializer based decoding did.
+ * Run with the gc profiler (enabled in build.gradle) to compare the bytes allocated per page: gc.alloc.rate.norm
+ * of readTokenStream is expected to stay below three bytes per payload character, mostly the decoded strings
+ * and the reader buffer, while building a JSON tree allocates several times more.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageTypeAdapterBenchmark {
+
+    @Param({RecordedPayloads.CATEGORIES, RecordedPayloads.CATEGORY_PLAYLISTS,
+            RecordedPayloads.FEATURED_PLAYLISTS, RecordedPayloads.NEW_RELEASES})
+    public String payloadFileName;
+
+    private String payload;
+    private TypeAdapter<? extends Page<?>> pageTypeAdapter;
+
+    @Setup
+    public void readPayload() {
+        payload = RecordedPayloads.read(payloadFileName);
+        switch (payloadFileName) {
+            case RecordedPayloads.CATEGORIES:
+                pageTypeAdapter = new PageTypeAdapter<>("categories", new CategoryTypeAdapter());
+                break;
+            case RecordedPayloads.NEW_RELEASES:
+                pageTypeAdapter = new PageTypeAdapter<>("albums", new ReleaseTypeAdapter());
+                break;
+            default:
+                pageTypeAdapter = new PageTypeAdapter<>("playlists", new PlaylistTypeAdapter());
+                break;
+        }
+    }
+
+    @Benchmark
+    public Page<?> readTokenStream() throws IOException {
+        return pageTypeAdapter.fromJson(payload);
+    }
+
+    @Benchmark
+    public Page<?> readMaterializedTree() {
+        return pageTypeAdapter.fromJsonTree(JsonParser.parseString(payload));
+    }
+}
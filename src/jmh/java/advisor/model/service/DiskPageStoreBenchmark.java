@@ -0,0 +1,72 @@
+package advisor.model.service;
+
+import advisor.model.deserializer.PageTypeAdapter;
+import advisor.model.deserializer.ReleaseTypeAdapter;
+import advisor.model.dto.Page;
+import advisor.model.dto.Release;
+import advisor.utils.RecordedPayloads;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Time from starting the application to having the first page, when it was stored by an earlier run:
+ * opening a {@link DiskPageStore} (mapping and scanning its segments to rebuild the index) and reading the page.
+ * The target is a few milliseconds, well below a round trip to the Web API.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class DiskPageStoreBenchmark {
+
+    private static final long TTL_SECONDS = 3600;
+    private static final long MAX_SEGMENT_BYTES = 16 * 1024 * 1024;
+    private static final long COMPACTION_INTERVAL_SECONDS = 3600;
+    private static final String FIRST_PAGE_KEY = "new-releases/1";
+
+    @Param({"100", "1000"})
+    public int storedPages;
+
+    private Path directory;
+
+    @Setup
+    public void storePages() throws IOException {
+        Page<Release> page = new PageTypeAdapter<>("albums", new ReleaseTypeAdapter())
+                .fromJson(RecordedPayloads.read(RecordedPayloads.NEW_RELEASES));
+        directory = Files.createTempDirectory("page-cache");
+        try (DiskPageStore diskPageStore = newDiskPageStore()) {
+            for (int pageNumber = storedPages; pageNumber > 0; pageNumber--) {
+                diskPageStore.put("new-releases/" + pageNumber, page);
+            }
+        }
+    }
+
+    @TearDown
+    public void deletePages() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public Optional<PageStore.StoredPage<Release>> openStoreAndGetFirstPage() throws IOException {
+        try (DiskPageStore diskPageStore = newDiskPageStore()) {
+            return diskPageStore.get(FIRST_PAGE_KEY);
+        }
+    }
+
+    private DiskPageStore newDiskPageStore() {
+        return new DiskPageStore(directory, TTL_SECONDS, MAX_SEGMENT_BYTES, COMPACTION_INTERVAL_SECONDS);
+    }
+}
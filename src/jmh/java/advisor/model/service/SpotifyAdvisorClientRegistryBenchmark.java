@@ -0,0 +1,59 @@
+package advisor.model.service;
+
+import advisor.authentication.StaticTokenUserCommandAuthentication;
+import advisor.authentication.UserCommandAuthenticationFacade;
+import advisor.http.DefaultHttpTransport;
+import advisor.http.EndpointHedging;
+import advisor.http.EndpointRetryers;
+import advisor.http.RateLimiter;
+import advisor.metrics.MetricsRegistry;
+import advisor.model.dto.Page;
+import advisor.model.dto.Playlist;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import feign.Feign;
+import feign.gson.GsonDecoder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call overhead of obtaining a ready to use {@link SpotifyAdvisorClient}:
+ * building it for every page fetch versus looking it up in {@link SpotifyAdvisorClientRegistry}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpotifyAdvisorClientRegistryBenchmark {
+
+    private static final String SPOTIFY_RESOURCE_HOST = "http://localhost:8080";
+    private SpotifyAdvisorClientRegistry clientRegistry;
+
+    @Setup
+    public void prepareRegistry() {
+        clientRegistry = new SpotifyAdvisorClientRegistry(
+                SPOTIFY_RESOURCE_HOST, new DefaultHttpTransport(), new ResponseValidationCache(100),
+                RateLimiter.unlimited(), 0, EndpointRetryers.none(), EndpointHedging.none(), new MetricsRegistry(),
+                new UserCommandAuthenticationFacade(new StaticTokenUserCommandAuthentication()));
+    }
+
+    @Benchmark
+    public SpotifyAdvisorClient buildClientOnEveryCall() {
+        final Gson gson = new GsonBuilder()
+                .registerTypeHierarchyAdapter(Page.class, ResourceDecoders.pageTypeAdapter("playlists", Playlist.class))
+                .create();
+
+        return Feign.builder()
+                .decoder(new GsonDecoder(gson))
+                .errorDecoder(new ResourceErrorDecoder())
+                .target(SpotifyAdvisorClient.class, SPOTIFY_RESOURCE_HOST);
+    }
+
+    @Benchmark
+    public SpotifyAdvisorClient lookUpClientInRegistry() {
+        return clientRegistry.getClient("playlists", Playlist.class);
+    }
+}
@@ -0,0 +1,26 @@
+package advisor.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+public final class RecordedPayloads {
+
+    public static final String CATEGORIES = "categories.json";
+    public static final String CATEGORY_PLAYLISTS = "category-playlists.json";
+    public static final String FEATURED_PLAYLISTS = "featured-playlists.json";
+    public static final String NEW_RELEASES = "new-releases.json";
+
+    private RecordedPayloads() {
+    }
+
+    public static String read(String payloadFileName) {
+        try (InputStream inputStream = RecordedPayloads.class.getClassLoader()
+                .getResourceAsStream("__files/" + payloadFileName)) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
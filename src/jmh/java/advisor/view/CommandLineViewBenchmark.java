@@ -0,0 +1,62 @@
+package advisor.view;
+
+import advisor.metrics.MetricsRegistry;
+import advisor.model.deserializer.CategoryTypeAdapter;
+import advisor.model.deserializer.PageTypeAdapter;
+import advisor.model.deserializer.PlaylistTypeAdapter;
+import advisor.model.deserializer.ReleaseTypeAdapter;
+import advisor.model.dto.Page;
+import advisor.utils.RecordedPayloads;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pages printed per second, decoded from the recorded Spotify payloads, their render time being recorded.
+ * The output is discarded, so that only the formatting is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommandLineViewBenchmark {
+
+    private static final int PAGE_SIZE = 5;
+
+    @Param({RecordedPayloads.CATEGORIES, RecordedPayloads.CATEGORY_PLAYLISTS,
+            RecordedPayloads.FEATURED_PLAYLISTS, RecordedPayloads.NEW_RELEASES})
+    public String payloadFileName;
+
+    private Page<?> page;
+    private CommandLineView commandLineView;
+
+    @Setup
+    public void preparePage() throws IOException {
+        String payload = RecordedPayloads.read(payloadFileName);
+        switch (payloadFileName) {
+            case RecordedPayloads.CATEGORIES:
+                page = new PageTypeAdapter<>("categories", new CategoryTypeAdapter()).fromJson(payload);
+                break;
+            case RecordedPayloads.NEW_RELEASES:
+                page = new PageTypeAdapter<>("albums", new ReleaseTypeAdapter()).fromJson(payload);
+                break;
+            default:
+                page = new PageTypeAdapter<>("playlists", new PlaylistTypeAdapter()).fromJson(payload);
+                break;
+        }
+
+        commandLineView = new CommandLineView(new Scanner(System.in),
+                new PrintStream(OutputStream.nullOutputStream()), PAGE_SIZE, new MetricsRegistry());
+    }
+
+    @Benchmark
+    public void printPage() {
+        commandLineView.printPage(page);
+    }
+}
@@ -1,8 +1,26 @@
 package advisor;
 
 import advisor.authentication.*;
+import advisor.concurrent.AdvisorExecutors;
+import advisor.concurrent.AdvisorExecutors.ExecutionMode;
 import advisor.controller.CommandLineController;
+import advisor.http.EndpointHedging;
+import advisor.http.EndpointRetryers;
+import advisor.http.Http2HttpTransport;
+import advisor.http.HttpTransport;
+import advisor.http.PooledHttpTransport;
+import advisor.http.RateLimiter;
+import advisor.http.RetryPolicy;
+import advisor.metrics.MetricsRegistry;
+import advisor.model.CategoryIndex;
+import advisor.model.PagePrefetcher;
+import advisor.model.ResourceExporter;
 import advisor.model.service.Advisor;
+import advisor.model.service.CachingAdvisor;
+import advisor.model.service.CircuitBreakerAdvisor;
+import advisor.model.service.DiskPageStore;
+import advisor.model.service.PageStore;
+import advisor.model.service.ResponseValidationCache;
 import advisor.model.service.SpotifyAdvisor;
 import advisor.runner.AdvisorRunner;
 import advisor.runner.CommandLineAdvisorRunner;
@@ -11,9 +29,14 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.PropertySource;
 
 import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Scanner;
 
 @Configuration
@@ -45,6 +68,138 @@ public class AppConfig {
     @Value("${page-size}")
     private Integer pageSize;
 
+    @Value("${http.transport}")
+    private String httpTransportType;
+
+    @Value("${http.max-connections}")
+    private Integer httpMaxConnections;
+
+    @Value("${http.max-connections-per-route}")
+    private Integer httpMaxConnectionsPerRoute;
+
+    @Value("${http.connect-timeout-millis}")
+    private Integer httpConnectTimeoutMillis;
+
+    @Value("${http.read-timeout-millis}")
+    private Integer httpReadTimeoutMillis;
+
+    @Value("${http.idle-connection-eviction-seconds}")
+    private Integer httpIdleConnectionEvictionSeconds;
+
+    @Value("${rate-limit.requests-per-second}")
+    private Double rateLimitRequestsPerSecond;
+
+    @Value("${rate-limit.burst}")
+    private Integer rateLimitBurst;
+
+    @Value("${rate-limit.max-retries}")
+    private Integer rateLimitMaxRetries;
+
+    @Value("${retry.max-attempts}")
+    private Integer retryMaxAttempts;
+
+    @Value("${retry.initial-backoff-millis}")
+    private Long retryInitialBackoffMillis;
+
+    @Value("${retry.max-backoff-millis}")
+    private Long retryMaxBackoffMillis;
+
+    @Value("#{${retry.endpoint-max-attempts}}")
+    private Map<String, Integer> retryEndpointMaxAttempts;
+
+    @Value("${hedging.enabled}")
+    private Boolean hedgingEnabled;
+
+    @Value("${hedging.max-hedged-percent}")
+    private Double hedgingMaxHedgedPercent;
+
+    @Value("${hedging.min-samples}")
+    private Integer hedgingMinSamples;
+
+    @Value("${hedging.threads}")
+    private Integer hedgingThreads;
+
+    @Value("${circuit-breaker.failure-rate-percent}")
+    private Double circuitBreakerFailureRatePercent;
+
+    @Value("${circuit-breaker.window-size}")
+    private Integer circuitBreakerWindowSize;
+
+    @Value("${circuit-breaker.minimum-calls}")
+    private Integer circuitBreakerMinimumCalls;
+
+    @Value("${circuit-breaker.open-seconds}")
+    private Long circuitBreakerOpenSeconds;
+
+    @Value("${circuit-breaker.half-open-trial-calls}")
+    private Integer circuitBreakerHalfOpenTrialCalls;
+
+    @Value("${circuit-breaker.max-stale-pages}")
+    private Integer circuitBreakerMaxStalePages;
+
+    @Value("${response-validation-cache.max-entries}")
+    private Integer responseValidationCacheMaxEntries;
+
+    @Value("${page-cache.ttl-seconds}")
+    private Long pageCacheTtlSeconds;
+
+    @Value("${page-cache.max-bytes}")
+    private Long pageCacheMaxBytes;
+
+    @Value("${execution.mode}")
+    private ExecutionMode executionMode;
+
+    @Value("${prefetch.depth}")
+    private Integer prefetchDepth;
+
+    @Value("${prefetch.previous-page}")
+    private Boolean prefetchPreviousPage;
+
+    @Value("${prefetch.threads}")
+    private Integer prefetchThreads;
+
+    @Value("${category-index.ttl-seconds}")
+    private Long categoryIndexTtlSeconds;
+
+    @Value("${category-index.threads}")
+    private Integer categoryIndexThreads;
+
+    @Value("${category-index.page-size}")
+    private Integer categoryIndexPageSize;
+
+    @Value("${export.page-size}")
+    private Integer exportPageSize;
+
+    @Value("${export.concurrency}")
+    private Integer exportConcurrency;
+
+    @Value("${authentication.mode}")
+    private String authenticationMode;
+
+    @Value("${credential-store.enabled}")
+    private Boolean credentialStoreEnabled;
+
+    @Value("${credential-store.file}")
+    private String credentialStoreFile;
+
+    @Value("${credential-store.passphrase:${spotify.client.secret}}")
+    private String credentialStorePassphrase;
+
+    @Value("${disk-page-cache.enabled}")
+    private Boolean diskPageCacheEnabled;
+
+    @Value("${disk-page-cache.directory}")
+    private String diskPageCacheDirectory;
+
+    @Value("${disk-page-cache.ttl-seconds}")
+    private Long diskPageCacheTtlSeconds;
+
+    @Value("${disk-page-cache.max-segment-bytes}")
+    private Long diskPageCacheMaxSegmentBytes;
+
+    @Value("${disk-page-cache.compaction-interval-seconds}")
+    private Long diskPageCacheCompactionIntervalSeconds;
+
     @Bean
     Scanner scanner() {
         return new Scanner(System.in);
@@ -58,7 +213,70 @@ public class AppConfig {
 
     @Bean
     CommandLineView commandLineView() {
-        return new CommandLineView(scanner(), printStream(), pageSize);
+        return new CommandLineView(scanner(), printStream(), pageSize, metricsRegistry());
+    }
+
+    /**
+     * Shared by every advisor and the view, so that the stats command reports them all
+     */
+    @Bean
+    MetricsRegistry metricsRegistry() {
+        return new MetricsRegistry();
+    }
+
+    @Bean
+    HttpTransport httpTransport() {
+        if ("http2".equals(httpTransportType)) {
+            return new Http2HttpTransport(httpConnectTimeoutMillis, httpReadTimeoutMillis);
+        }
+        if (!"pooled".equals(httpTransportType)) {
+            throw new IllegalArgumentException("Unknown HTTP transport: " + httpTransportType);
+        }
+        return new PooledHttpTransport(
+                httpMaxConnections,
+                httpMaxConnectionsPerRoute,
+                httpConnectTimeoutMillis,
+                httpReadTimeoutMillis,
+                httpIdleConnectionEvictionSeconds);
+    }
+
+    /**
+     * Shared by every advisor, since Spotify's rate limit applies to the whole application
+     */
+    @Bean
+    RateLimiter rateLimiter() {
+        return new RateLimiter(rateLimitRequestsPerSecond, rateLimitBurst);
+    }
+
+    /**
+     * Shared by every advisor, so that retries are counted once for the whole application
+     */
+    @Bean
+    EndpointRetryers endpointRetryers() {
+        RetryPolicy defaultPolicy = new RetryPolicy(retryMaxAttempts, retryInitialBackoffMillis, retryMaxBackoffMillis);
+        Map<String, RetryPolicy> endpointPolicies = new HashMap<>();
+        retryEndpointMaxAttempts.forEach((endpoint, maxAttempts) ->
+                endpointPolicies.put(endpoint, defaultPolicy.withMaxAttempts(maxAttempts)));
+        return new EndpointRetryers(defaultPolicy, endpointPolicies);
+    }
+
+    /**
+     * Only for the interactive advisor, exports are not latency sensitive
+     */
+    @Bean
+    EndpointHedging endpointHedging() {
+        if (!hedgingEnabled) {
+            return EndpointHedging.none();
+        }
+        return new EndpointHedging(
+                AdvisorExecutors.newExecutor(executionMode, hedgingThreads, "hedged-request"),
+                hedgingMaxHedgedPercent / 100,
+                hedgingMinSamples);
+    }
+
+    @Bean
+    ResponseValidationCache responseValidationCache() {
+        return new ResponseValidationCache(responseValidationCacheMaxEntries);
     }
 
     @Bean
@@ -75,6 +293,7 @@ public class AppConfig {
     SpotifyAccessTokenFetcher spotifyAccessTokenFetcher() {
         return new SpotifyAccessTokenFetcher(
                 spotifyAccessHost,
+                httpTransport(),
                 spotifyClientId,
                 spotifyClientSecret,
                 redirectUri,
@@ -83,30 +302,177 @@ public class AppConfig {
 
     @Bean
     UserCommandAuthentication userCommandAuthentication() {
+        if ("client-credentials".equals(authenticationMode)) {
+            return new ClientCredentialsUserCommandAuthentication(spotifyAccessTokenFetcher(), commandLineView());
+        }
+        if (!"user".equals(authenticationMode)) {
+            throw new IllegalArgumentException("Unknown authentication mode: " + authenticationMode);
+        }
         return new SpotifyOAuthUserCommandAuthentication(
                 spotifyAccessCodeFetcher(),
                 spotifyAccessTokenFetcher(),
+                credentialStore(),
                 commandLineView());
     }
 
+    @Bean
+    CredentialStore credentialStore() {
+        if (!credentialStoreEnabled) {
+            return CredentialStore.NONE;
+        }
+        return new EncryptedFileCredentialStore(Path.of(credentialStoreFile), credentialStorePassphrase);
+    }
+
     @Bean
     CommandLineController commandLineController() {
         return new CommandLineController(
                 commandLineView(),
                 advisor(),
                 userCommandAuthentication(),
-                pageSize);
+                pageSize,
+                pagePrefetcher(),
+                categoryIndex(),
+                resourceExporter(),
+                metricsRegistry());
+    }
+
+    @Bean
+    ResourceExporter resourceExporter() {
+        return new ResourceExporter(
+                exportAdvisor(),
+                exportPageSize,
+                categoryIndex(),
+                AdvisorExecutors.newExecutor(executionMode, exportConcurrency, "resource-export"),
+                exportConcurrency);
+    }
+
+    /**
+     * Not cached, and with the largest page size, since exported pages are not displayed
+     */
+    @Bean
+    Advisor exportAdvisor() {
+        return new SpotifyAdvisor(
+                spotifyResourceHost,
+                httpTransport(),
+                responseValidationCache(),
+                rateLimiter(),
+                rateLimitMaxRetries,
+                endpointRetryers(),
+                EndpointHedging.none(),
+                metricsRegistry().withPrefix("export:"),
+                userCommandAuthenticationFacade(),
+                exportPageSize,
+                locale);
     }
 
     @Bean
+    PagePrefetcher pagePrefetcher() {
+        // Prefetched pages are not revalidated, so they are dropped when a cached page would expire
+        return new PagePrefetcher(executionMode, prefetchThreads, prefetchDepth, prefetchPreviousPage,
+                pageCacheTtlSeconds);
+    }
+
+    @Bean
+    CategoryIndex categoryIndex() {
+        return new CategoryIndex(
+                categoryIndexAdvisor(),
+                categoryIndexPageSize,
+                pageSize,
+                AdvisorExecutors.newExecutor(executionMode, categoryIndexThreads, "category-index"),
+                categoryIndexTtlSeconds);
+    }
+
+    /**
+     * Behind the circuit breaker like the displayed pages, but not cached since the index keeps what it loads
+     */
+    @Bean
+    Advisor categoryIndexAdvisor() {
+        return new CircuitBreakerAdvisor(
+                new SpotifyAdvisor(
+                        spotifyResourceHost,
+                        httpTransport(),
+                        responseValidationCache(),
+                        rateLimiter(),
+                        rateLimitMaxRetries,
+                        endpointRetryers(),
+                        EndpointHedging.none(),
+                        metricsRegistry().withPrefix("category-index:"),
+                        userCommandAuthenticationFacade(),
+                        categoryIndexPageSize,
+                        locale),
+                circuitBreakerFailureRatePercent / 100,
+                circuitBreakerWindowSize,
+                circuitBreakerMinimumCalls,
+                circuitBreakerOpenSeconds * 1000,
+                circuitBreakerHalfOpenTrialCalls,
+                circuitBreakerMaxStalePages);
+    }
+
+    @Bean
+    @Primary
     Advisor advisor() {
+        return cachingAdvisor();
+    }
+
+    @Bean
+    CachingAdvisor cachingAdvisor() {
+        return new CachingAdvisor(circuitBreakerAdvisor(), spotifyResourceHost, pageSize, locale,
+                pageCacheTtlSeconds, pageCacheMaxBytes, pageStore());
+    }
+
+    @Bean
+    CircuitBreakerAdvisor circuitBreakerAdvisor() {
+        return new CircuitBreakerAdvisor(
+                spotifyAdvisor(),
+                circuitBreakerFailureRatePercent / 100,
+                circuitBreakerWindowSize,
+                circuitBreakerMinimumCalls,
+                circuitBreakerOpenSeconds * 1000,
+                circuitBreakerHalfOpenTrialCalls,
+                circuitBreakerMaxStalePages);
+    }
+
+    @Bean
+    PageStore pageStore() {
+        if (!diskPageCacheEnabled) {
+            return PageStore.NONE;
+        }
+        try {
+            return new DiskPageStore(
+                    Path.of(diskPageCacheDirectory),
+                    // Stored pages are not revalidated, so they must not be served for longer than cached ones
+                    Math.min(diskPageCacheTtlSeconds, pageCacheTtlSeconds),
+                    diskPageCacheMaxSegmentBytes,
+                    diskPageCacheCompactionIntervalSeconds);
+        } catch (UncheckedIOException e) {
+            // The disk cache is optional, pages are then only cached in memory
+            commandLineView().printMessage("Warning: the disk page cache could not be opened in "
+                    + diskPageCacheDirectory + ", pages will not be kept between runs");
+            return PageStore.NONE;
+        }
+    }
+
+    @Bean
+    SpotifyAdvisor spotifyAdvisor() {
         return new SpotifyAdvisor(
                 spotifyResourceHost,
-                new UserCommandAuthenticationFacade(userCommandAuthentication()),
+                httpTransport(),
+                responseValidationCache(),
+                rateLimiter(),
+                rateLimitMaxRetries,
+                endpointRetryers(),
+                endpointHedging(),
+                metricsRegistry(),
+                userCommandAuthenticationFacade(),
                 pageSize,
                 locale);
     }
 
+    @Bean
+    UserCommandAuthenticationFacade userCommandAuthenticationFacade() {
+        return new UserCommandAuthenticationFacade(userCommandAuthentication());
+    }
+
     @Bean
     AdvisorRunner advisorRunner() {
         return new CommandLineAdvisorRunner(commandLineController());
@@ -5,9 +5,10 @@ import org.springframework.context.annotation.AnnotationConfigApplicationContext
 
 public class Main {
     public static void main(String[] args)  {
-        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(AppConfig.class);
-
-        AdvisorRunner advisorRunner = context.getBean(AdvisorRunner.class);
-        advisorRunner.run();
+        // Closed on exit, so that long-lived resources such as the access code listener are released
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(AppConfig.class)) {
+            AdvisorRunner advisorRunner = context.getBean(AdvisorRunner.class);
+            advisorRunner.run();
+        }
     }
 }
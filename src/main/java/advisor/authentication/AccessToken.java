@@ -0,0 +1,33 @@
+package advisor.authentication;
+
+import advisor.authentication.dto.SpotifyAccessTokenResponse;
+import lombok.Value;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Value
+public class AccessToken {
+
+    String accessToken;
+    String refreshToken;
+    Instant expiresAt;
+
+    /**
+     * @param previousRefreshToken kept when the response carries no new refresh token
+     */
+    static AccessToken from(SpotifyAccessTokenResponse response, String previousRefreshToken, Instant receivedAt) {
+        return new AccessToken(
+                response.getAccessToken(),
+                response.getRefreshToken() != null ? response.getRefreshToken() : previousRefreshToken,
+                receivedAt.plusSeconds(response.getExpiresIn()));
+    }
+
+    boolean isRefreshable() {
+        return refreshToken != null;
+    }
+
+    boolean expiresWithin(Duration margin, Instant now) {
+        return !now.plus(margin).isBefore(expiresAt);
+    }
+}
@@ -1,9 +1,12 @@
 package advisor.authentication;
 
+import advisor.http.ContentEncoding;
 import advisor.model.service.SpotifyAdvisorException;
 import feign.Response;
 import feign.codec.ErrorDecoder;
 
+import java.io.IOException;
+
 public class AccessTokenErrorDecoder implements ErrorDecoder {
 
     @Override
@@ -11,7 +14,11 @@ public class AccessTokenErrorDecoder implements ErrorDecoder {
         StringBuilder message = new StringBuilder("Auth token not retrieved").append(System.lineSeparator());
         message.append("Status code: ").append(response.status()).append(System.lineSeparator());
         if (response.body() != null) {
-            message.append("Response body: ").append(response.body());
+            try {
+                message.append("Response body: ").append(ContentEncoding.decompress(response).body());
+            } catch (IOException e) {
+                message.append("Response body not readable: ").append(e.getMessage());
+            }
         }
         return new SpotifyAdvisorException(message.toString());
     }
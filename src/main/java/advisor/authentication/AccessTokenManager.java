@@ -0,0 +1,227 @@
+package advisor.authentication;
+
+import advisor.authentication.dto.SpotifyAccessTokenResponse;
+import advisor.view.CommandLineView;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the access token valid: it is renewed in the background shortly before it expires, or on demand when
+ * the Web API rejects it. User tokens are renewed with the refresh token grant, app-only tokens by requesting
+ * a new one with the client credentials grant.
+ * Concurrent refreshes of the same token result in a single token request, the other callers getting its result.
+ * A failed background renewal is tried again with a growing backoff as long as the token has not expired.
+ * Every new token is saved to the {@link CredentialStore}, from which the last one can be restored on startup.
+ * Saving is best effort: when it fails, a warning is printed once and the token is only kept in memory.
+ */
+public class AccessTokenManager {
+
+    static final Duration DEFAULT_REFRESH_MARGIN = Duration.ofMinutes(1);
+    static final Duration REFRESH_RETRY_INITIAL_BACKOFF = Duration.ofMillis(500);
+    static final Duration REFRESH_RETRY_MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final Function<AccessToken, Optional<SpotifyAccessTokenResponse>> renewal;
+    private final Duration refreshMargin;
+    private final CredentialStore credentialStore;
+    private final Consumer<String> warningPrinter;
+    private final ScheduledExecutorService refreshExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "access-token-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Not a monitor, so that virtual threads waiting for a refresh do not pin their carrier thread
+    private final Lock refreshLock = new ReentrantLock();
+    private volatile AccessToken accessToken;
+    private ScheduledFuture<?> scheduledRefresh;
+    private boolean saveFailureWarned;
+
+    /**
+     * @param commandLineView where the failure to save a token to the credential store is reported
+     */
+    public AccessTokenManager(
+            SpotifyAccessTokenFetcher spotifyAccessTokenFetcher,
+            Duration refreshMargin,
+            CredentialStore credentialStore,
+            CommandLineView commandLineView) {
+        this(currentToken -> currentToken.isRefreshable()
+                        ? spotifyAccessTokenFetcher.refreshToken(currentToken.getRefreshToken())
+                        : Optional.empty(),
+                refreshMargin, credentialStore, commandLineView::printMessage);
+    }
+
+    private AccessTokenManager(
+            Function<AccessToken, Optional<SpotifyAccessTokenResponse>> renewal,
+            Duration refreshMargin,
+            CredentialStore credentialStore,
+            Consumer<String> warningPrinter) {
+        this.renewal = renewal;
+        this.refreshMargin = refreshMargin;
+        this.credentialStore = credentialStore;
+        this.warningPrinter = warningPrinter;
+    }
+
+    public static AccessTokenManager withClientCredentials(SpotifyAccessTokenFetcher spotifyAccessTokenFetcher) {
+        return new AccessTokenManager(currentToken -> spotifyAccessTokenFetcher.fetchClientCredentialsToken(),
+                DEFAULT_REFRESH_MARGIN, CredentialStore.NONE, warning -> { });
+    }
+
+    /**
+     * Restores the last saved token. An expired one is used as long as it can be refreshed, which happens
+     * right away in the background.
+     *
+     * @return whether a usable token was restored
+     */
+    public boolean restore() {
+        Optional<AccessToken> storedToken = credentialStore.load()
+                .filter(token -> token.isRefreshable() || !token.expiresWithin(Duration.ZERO, Instant.now()));
+        storedToken.ifPresent(token -> {
+            refreshLock.lock();
+            try {
+                schedule(token);
+            } finally {
+                refreshLock.unlock();
+            }
+        });
+        return storedToken.isPresent();
+    }
+
+    public void update(SpotifyAccessTokenResponse response) {
+        refreshLock.lock();
+        try {
+            AccessToken previousToken = accessToken;
+            set(AccessToken.from(response, previousToken == null ? null : previousToken.getRefreshToken(),
+                    Instant.now()));
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    public Optional<AccessToken> getCurrentToken() {
+        return Optional.ofNullable(accessToken);
+    }
+
+    /**
+     * The current access token, refreshed first if it has already expired, e.g. after the computer slept
+     */
+    public String getAccessToken() {
+        AccessToken currentToken = accessToken;
+        if (currentToken == null) {
+            return null;
+        }
+        if (currentToken.expiresWithin(Duration.ZERO, Instant.now())) {
+            return refresh(currentToken.getAccessToken());
+        }
+        return currentToken.getAccessToken();
+    }
+
+    /**
+     * The current access token, requested first when there is none yet. Concurrent callers finding no token
+     * result in a single token request, the other callers getting its result.
+     *
+     * @return null if no token could be obtained
+     */
+    public String getOrRequestAccessToken(Supplier<Optional<SpotifyAccessTokenResponse>> tokenRequest) {
+        if (accessToken == null) {
+            refreshLock.lock();
+            try {
+                if (accessToken == null) {
+                    tokenRequest.get().ifPresent(response -> set(AccessToken.from(response, null, Instant.now())));
+                }
+            } finally {
+                refreshLock.unlock();
+            }
+        }
+        return getAccessToken();
+    }
+
+    /**
+     * @param rejectedAccessToken the token to replace; when it has already been replaced, the current one is returned
+     * without requesting another
+     * @return the refreshed access token, or the rejected one if it could not be refreshed
+     */
+    public String refresh(String rejectedAccessToken) {
+        refreshLock.lock();
+        try {
+            AccessToken currentToken = accessToken;
+            if (currentToken == null) {
+                return null;
+            }
+            if (!currentToken.getAccessToken().equals(rejectedAccessToken)) {
+                return currentToken.getAccessToken();
+            }
+            renewal.apply(currentToken).ifPresent(response ->
+                    set(AccessToken.from(response, currentToken.getRefreshToken(), Instant.now())));
+            return accessToken.getAccessToken();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void set(AccessToken newToken) {
+        schedule(newToken);
+        try {
+            credentialStore.save(newToken);
+        } catch (RuntimeException e) {
+            if (!saveFailureWarned) {
+                saveFailureWarned = true;
+                warningPrinter.accept("Warning: the access token could not be saved, "
+                        + "authorization will be needed again on the next run (" + e.getMessage() + ")");
+            }
+        }
+    }
+
+    private void schedule(AccessToken newToken) {
+        accessToken = newToken;
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+            scheduledRefresh = null;
+        }
+        long lifetimeMillis = Duration.between(Instant.now(), newToken.getExpiresAt()).toMillis();
+        // Tokens living less than the margin are refreshed half way, rather than over and over
+        long refreshDelayMillis = Math.max(lifetimeMillis - refreshMargin.toMillis(), lifetimeMillis / 2);
+        scheduledRefresh = refreshExecutor.schedule(
+                () -> refreshBeforeExpiry(newToken, REFRESH_RETRY_INITIAL_BACKOFF.toMillis()),
+                refreshDelayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs on the refresh executor, where a failure would otherwise go unnoticed until the token expires
+     */
+    private void refreshBeforeExpiry(AccessToken expiringToken, long backoffMillis) {
+        try {
+            refresh(expiringToken.getAccessToken());
+        } catch (RuntimeException e) {
+            // The token is left as it is, and the renewal tried again below
+        }
+        refreshLock.lock();
+        try {
+            if (accessToken != expiringToken) {
+                return;
+            }
+            long lifetimeMillis = Duration.between(Instant.now(), expiringToken.getExpiresAt()).toMillis();
+            // Half of the remaining lifetime at most, so that the last attempt still happens before the expiry
+            long retryDelayMillis = Math.min(backoffMillis, lifetimeMillis / 2);
+            if (retryDelayMillis < REFRESH_RETRY_INITIAL_BACKOFF.toMillis()) {
+                warningPrinter.accept("Warning: the access token could not be renewed before it expires, "
+                        + "it will be renewed again when next used");
+                return;
+            }
+            long nextBackoffMillis = Math.min(backoffMillis * 2, REFRESH_RETRY_MAX_BACKOFF.toMillis());
+            scheduledRefresh = refreshExecutor.schedule(() -> refreshBeforeExpiry(expiringToken, nextBackoffMillis),
+                    retryDelayMillis, TimeUnit.MILLISECONDS);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+}
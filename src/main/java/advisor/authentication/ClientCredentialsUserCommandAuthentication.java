@@ -0,0 +1,58 @@
+package advisor.authentication;
+
+import advisor.authentication.dto.SpotifyAccessTokenResponse;
+import advisor.view.CommandLineView;
+
+import java.util.Optional;
+
+/**
+ * App-only authentication with the client credentials grant, for unattended runs: no browser is involved,
+ * so the token is requested the first time a request needs it, and renewed before it expires.
+ * Checking the authentication requests nothing: it only fails once a token request has been denied,
+ * until the auth command gets a token.
+ * Enough for the browse endpoints, which need no user data.
+ */
+public class ClientCredentialsUserCommandAuthentication implements UserCommandAuthentication {
+
+    private final SpotifyAccessTokenFetcher spotifyAccessTokenFetcher;
+    private final CommandLineView commandLineView;
+    private final AccessTokenManager accessTokenManager;
+    private volatile boolean tokenDenied;
+
+    public ClientCredentialsUserCommandAuthentication(
+            SpotifyAccessTokenFetcher spotifyAccessTokenFetcher,
+            CommandLineView commandLineView) {
+        this.spotifyAccessTokenFetcher = spotifyAccessTokenFetcher;
+        this.commandLineView = commandLineView;
+        this.accessTokenManager = AccessTokenManager.withClientCredentials(spotifyAccessTokenFetcher);
+    }
+
+    @Override
+    public void authenticate() {
+        requestToken().ifPresent(accessTokenManager::update);
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return !tokenDenied;
+    }
+
+    @Override
+    public String getAccessToken() {
+        return accessTokenManager.getOrRequestAccessToken(this::requestToken);
+    }
+
+    @Override
+    public String refreshAccessToken(String rejectedAccessToken) {
+        return accessTokenManager.refresh(rejectedAccessToken);
+    }
+
+    private Optional<SpotifyAccessTokenResponse> requestToken() {
+        Optional<SpotifyAccessTokenResponse> response = spotifyAccessTokenFetcher.fetchClientCredentialsToken();
+        tokenDenied = response.isEmpty();
+        if (tokenDenied) {
+            commandLineView.printMessage("token not received");
+        }
+        return response;
+    }
+}
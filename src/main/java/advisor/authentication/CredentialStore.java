@@ -0,0 +1,21 @@
+package advisor.authentication;
+
+import java.util.Optional;
+
+public interface CredentialStore {
+
+    CredentialStore NONE = new CredentialStore() {
+        @Override
+        public Optional<AccessToken> load() {
+            return Optional.empty();
+        }
+
+        @Override
+        public void save(AccessToken accessToken) {
+        }
+    };
+
+    Optional<AccessToken> load();
+
+    void save(AccessToken accessToken);
+}
@@ -0,0 +1,148 @@
+package advisor.authentication;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Keeps the access and refresh tokens in a file encrypted with AES-GCM, so that a new process can use them
+ * without the browser authorization flow. The key is derived from a passphrase with PBKDF2 and a random salt
+ * stored in the file; the authentication tag detects tampering and wrong passphrases, in which case the file
+ * is ignored.
+ * The file is replaced atomically, and is only readable by its owner where the file system supports it.
+ */
+public class EncryptedFileCredentialStore implements CredentialStore {
+
+    private static final int MAGIC = 0x4D414354;
+    private static final int VERSION = 1;
+    private static final int SALT_BYTES = 16;
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+    private static final int KEY_BITS = 256;
+    // The passphrase defaults to the client secret rather than a human chosen password, so a moderate count
+    // suffices and loading the credentials stays within a few milliseconds of startup
+    private static final int KEY_DERIVATION_ITERATIONS = 10_000;
+    private static final int HEADER_BYTES = 2 * Integer.BYTES + SALT_BYTES + IV_BYTES;
+
+    private final Path file;
+    private final char[] passphrase;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public EncryptedFileCredentialStore(Path file, String passphrase) {
+        this.file = file;
+        this.passphrase = passphrase.toCharArray();
+    }
+
+    @Override
+    public Optional<AccessToken> load() {
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try {
+            ByteBuffer contents = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (contents.remaining() < HEADER_BYTES || contents.getInt() != MAGIC || contents.getInt() != VERSION) {
+                return Optional.empty();
+            }
+            byte[] salt = new byte[SALT_BYTES];
+            byte[] iv = new byte[IV_BYTES];
+            contents.get(salt).get(iv);
+            byte[] encrypted = new byte[contents.remaining()];
+            contents.get(encrypted);
+
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, deriveKey(salt), new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(salt);
+            return Optional.of(decode(cipher.doFinal(encrypted)));
+        } catch (IOException | GeneralSecurityException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void save(AccessToken accessToken) {
+        byte[] salt = new byte[SALT_BYTES];
+        byte[] iv = new byte[IV_BYTES];
+        secureRandom.nextBytes(salt);
+        secureRandom.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, deriveKey(salt), new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(salt);
+            byte[] encrypted = cipher.doFinal(encode(accessToken));
+            byte[] contents = ByteBuffer.allocate(HEADER_BYTES + encrypted.length)
+                    .putInt(MAGIC)
+                    .putInt(VERSION)
+                    .put(salt)
+                    .put(iv)
+                    .put(encrypted)
+                    .array();
+
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temporaryFile = Files.createTempFile(file.toAbsolutePath().getParent(), "credentials", ".tmp");
+            restrictToOwner(temporaryFile);
+            Files.write(temporaryFile, contents);
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private SecretKey deriveKey(byte[] salt) throws GeneralSecurityException {
+        PBEKeySpec keySpec = new PBEKeySpec(passphrase, salt, KEY_DERIVATION_ITERATIONS, KEY_BITS);
+        try {
+            byte[] key = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(keySpec).getEncoded();
+            return new SecretKeySpec(key, "AES");
+        } finally {
+            keySpec.clearPassword();
+        }
+    }
+
+    private static void restrictToOwner(Path path) throws IOException {
+        try {
+            Files.setPosixFilePermissions(path, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException ignored) {
+            // Not a POSIX file system
+        }
+    }
+
+    private static byte[] encode(AccessToken accessToken) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(accessToken.getAccessToken());
+            out.writeBoolean(accessToken.isRefreshable());
+            if (accessToken.isRefreshable()) {
+                out.writeUTF(accessToken.getRefreshToken());
+            }
+            out.writeLong(accessToken.getExpiresAt().getEpochSecond());
+        }
+        return bytes.toByteArray();
+    }
+
+    private static AccessToken decode(byte[] bytes) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            String accessToken = in.readUTF();
+            String refreshToken = in.readBoolean() ? in.readUTF() : null;
+            return new AccessToken(accessToken, refreshToken, Instant.ofEpochSecond(in.readLong()));
+        }
+    }
+}
@@ -1,85 +1,165 @@
 package advisor.authentication;
 
 import advisor.view.CommandLineView;
+import com.sun.net.httpserver.HttpExchange; // NOSONAR
 import com.sun.net.httpserver.HttpServer; // NOSONAR
 import lombok.RequiredArgsConstructor;
+import lombok.Value;
 import org.apache.http.HttpStatus;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
 import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
 
+/**
+ * Receives the access code on the redirect URI. The listener is bound on the first authorization and kept for
+ * the lifetime of the process, so that later attempts neither wait for nor fail on re-binding the port.
+ * Every authorization has its own random {@code state}, which the redirect must carry back: concurrent
+ * authorizations are told apart, and redirects not started by this process are ignored.
+ */
 @RequiredArgsConstructor
-public class SpotifyAccessCodeFetcher {
+public class SpotifyAccessCodeFetcher implements Closeable {
+
+    private static final String CODE_RECEIVED_MESSAGE = "Got the code. Return back to your program.";
+    private static final String CODE_NOT_RECEIVED_MESSAGE = "Not found authorization code. Try again.";
+    private static final int STATE_BYTES = 16;
 
     private final String spotifyAccessHost;
     private final String clientId;
     private final String redirectUri;
     private final CommandLineView commandLineView;
     private final int serverTimeoutSeconds;
-    private String accessCode;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final Map<String, CompletableFuture<Optional<String>>> pendingAuthorizations = new ConcurrentHashMap<>();
+    private final Lock serverLock = new ReentrantLock();
+    private HttpServer server;
 
     public Optional<String> fetchAccessCode() throws IOException, InterruptedException {
-        final String codeReceivedMessage = "Got the code. Return back to your program.";
-        final String codeNotReceivedMessage = "Not found authorization code. Try again.";
-        final ExecutorService executorService = Executors.newSingleThreadExecutor();
-
-        HttpServer server = HttpServer.create();
-        server.bind(new InetSocketAddress(getRedirectUriPort()), 0);
-        server.createContext("/",
-                exchange -> {
-                    Optional<String> theAccessCode = getAccessCode(exchange.getRequestURI().getRawQuery());
-                    String message = theAccessCode.isPresent() ? codeReceivedMessage : codeNotReceivedMessage;
-                    accessCode = theAccessCode.orElse(null);
-                    exchange.sendResponseHeaders(HttpStatus.SC_OK, message.length());
-                    exchange.getResponseBody().write(message.getBytes());
-                    exchange.getResponseBody().close();
-                    if (theAccessCode.isPresent()) {
-                        server.stop(0);
-                        executorService.shutdownNow();
-                    }
-                });
-        server.setExecutor(executorService);
-        server.start();
+        PendingAuthorization authorization = startAuthorization();
         commandLineView.printMessage("use this link to request the access code:");
-        commandLineView.printMessage(buildAccessCodeUrl());
+        commandLineView.printMessage(authorization.getAccessCodeUrl());
         commandLineView.printMessage("waiting for code...");
-        if (!executorService.awaitTermination(serverTimeoutSeconds, TimeUnit.SECONDS)) {
-            // Stop server if the timeout is elapsed, to be able to launch it again next time on the same port
-            server.stop(0);
+        try {
+            return authorization.getAccessCode().get(serverTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return Optional.empty();
+        } finally {
+            pendingAuthorizations.remove(authorization.getState());
         }
+    }
+
+    /**
+     * Registers a new authorization, whose access code is delivered as soon as the redirect carrying its state
+     * arrives. An empty code means the redirect carried none, e.g. the user denied access.
+     */
+    public PendingAuthorization startAuthorization() throws IOException {
+        listen();
+        byte[] stateBytes = new byte[STATE_BYTES];
+        secureRandom.nextBytes(stateBytes);
+        String state = Base64.getUrlEncoder().withoutPadding().encodeToString(stateBytes);
+        CompletableFuture<Optional<String>> accessCode = new CompletableFuture<>();
+        pendingAuthorizations.put(state, accessCode);
+        return new PendingAuthorization(state, buildAccessCodeUrl(state), accessCode);
+    }
 
-        return Optional.ofNullable(accessCode);
+    /**
+     * Stops listening, pending authorizations get no code
+     */
+    @Override
+    public void close() {
+        serverLock.lock();
+        try {
+            if (server != null) {
+                server.stop(0);
+                server = null;
+            }
+        } finally {
+            serverLock.unlock();
+        }
+        pendingAuthorizations.values().forEach(accessCode -> accessCode.complete(Optional.empty()));
+        pendingAuthorizations.clear();
+    }
+
+    private void listen() throws IOException {
+        serverLock.lock();
+        try {
+            if (server == null) {
+                HttpServer newServer = HttpServer.create(new InetSocketAddress(getRedirectUriPort()), 0);
+                newServer.createContext("/", this::handleRedirect);
+                newServer.start();
+                server = newServer;
+            }
+        } finally {
+            serverLock.unlock();
+        }
     }
 
-    private Optional<String> getAccessCode(String query) {
+    private void handleRedirect(HttpExchange exchange) throws IOException {
+        Map<String, String> parameters = getQueryParameters(exchange.getRequestURI().getRawQuery());
+        CompletableFuture<Optional<String>> pendingAuthorization =
+                parameters.containsKey("state") ? pendingAuthorizations.remove(parameters.get("state")) : null;
+        Optional<String> accessCode = pendingAuthorization == null
+                ? Optional.empty()
+                : Optional.ofNullable(parameters.get("code"));
+        if (pendingAuthorization != null) {
+            pendingAuthorization.complete(accessCode);
+        }
+
+        byte[] message = (accessCode.isPresent() ? CODE_RECEIVED_MESSAGE : CODE_NOT_RECEIVED_MESSAGE)
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(HttpStatus.SC_OK, message.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(message);
+        }
+    }
+
+    private Map<String, String> getQueryParameters(String query) {
         if (query == null) {
-            return Optional.empty();
+            return Map.of();
         }
 
         return Arrays.stream(query.split("&"))
-                .map(parameter -> URLDecoder.decode(parameter, StandardCharsets.UTF_8))
-                .map(parameter -> parameter.split("="))
-                .filter(parameter -> parameter.length == 2 && parameter[0].equals("code"))
-                .findFirst()
-                .map(parameter -> parameter[1]);
+                .map(parameter -> parameter.split("=", 2))
+                .filter(parameter -> parameter.length == 2)
+                .collect(Collectors.toMap(
+                        parameter -> URLDecoder.decode(parameter[0], StandardCharsets.UTF_8),
+                        parameter -> URLDecoder.decode(parameter[1], StandardCharsets.UTF_8),
+                        (first, second) -> first));
     }
 
-    private String buildAccessCodeUrl() {
+    private String buildAccessCodeUrl(String state) {
         return String.format("%s?" +
                 "client_id=%s" +
                 "&redirect_uri=%s" +
-                "&response_type=code", spotifyAccessHost + "/authorize", clientId, redirectUri);
+                "&response_type=code" +
+                "&state=%s", spotifyAccessHost + "/authorize", clientId, redirectUri, state);
     }
 
     private int getRedirectUriPort() {
         String[] redirectUriByPortSeparator = redirectUri.split(":");
         return Integer.parseInt(redirectUriByPortSeparator[redirectUriByPortSeparator.length - 1]);
     }
+
+    @Value
+    public static class PendingAuthorization {
+        String state;
+        String accessCodeUrl;
+        CompletableFuture<Optional<String>> accessCode;
+    }
 }
@@ -2,6 +2,8 @@ package advisor.authentication;
 
 import advisor.authentication.dto.SpotifyAccessTokenRequest;
 import advisor.authentication.dto.SpotifyAccessTokenResponse;
+import advisor.authentication.dto.SpotifyClientCredentialsRequest;
+import advisor.authentication.dto.SpotifyRefreshTokenRequest;
 import feign.Headers;
 import feign.Param;
 import feign.RequestLine;
@@ -14,4 +16,19 @@ public interface SpotifyAccessTokenClient {
             "Authorization: Basic {base64EncodedClientData}"})
     SpotifyAccessTokenResponse fetchAccessToken(SpotifyAccessTokenRequest spotifyAccessTokenRequest,
                                                 @Param("base64EncodedClientData") String base64EncodedClientData);
+
+    @RequestLine("POST /api/token")
+    @Headers({
+            "Content-Type: application/x-www-form-urlencoded",
+            "Authorization: Basic {base64EncodedClientData}"})
+    SpotifyAccessTokenResponse refreshAccessToken(SpotifyRefreshTokenRequest spotifyRefreshTokenRequest,
+                                                  @Param("base64EncodedClientData") String base64EncodedClientData);
+
+    @RequestLine("POST /api/token")
+    @Headers({
+            "Content-Type: application/x-www-form-urlencoded",
+            "Authorization: Basic {base64EncodedClientData}"})
+    SpotifyAccessTokenResponse fetchClientCredentialsToken(
+            SpotifyClientCredentialsRequest spotifyClientCredentialsRequest,
+            @Param("base64EncodedClientData") String base64EncodedClientData);
 }
@@ -2,10 +2,15 @@ package advisor.authentication;
 
 import advisor.authentication.dto.SpotifyAccessTokenRequest;
 import advisor.authentication.dto.SpotifyAccessTokenResponse;
+import advisor.authentication.dto.SpotifyClientCredentialsRequest;
+import advisor.authentication.dto.SpotifyRefreshTokenRequest;
+import advisor.http.AcceptEncodingInterceptor;
+import advisor.http.DecompressingDecoder;
+import advisor.http.HttpTransport;
 import advisor.model.service.SpotifyAdvisorException;
 import advisor.view.CommandLineView;
-import com.google.gson.Gson;
 import feign.Feign;
+import feign.RetryableException;
 import feign.form.FormEncoder;
 import feign.gson.GsonDecoder;
 
@@ -21,6 +26,7 @@ public class SpotifyAccessTokenFetcher {
 
     public SpotifyAccessTokenFetcher(
             String spotifyAccessHost,
+            HttpTransport httpTransport,
             String clientId,
             String clientSecret,
             String redirectUri,
@@ -32,24 +38,60 @@ public class SpotifyAccessTokenFetcher {
                 String.join(":", clientId, clientSecret).getBytes());
 
         client = Feign.builder()
+                .client(httpTransport.client())
+                .options(httpTransport.options())
+                .requestInterceptor(new AcceptEncodingInterceptor())
                 .encoder(new FormEncoder())
                 .errorDecoder(new AccessTokenErrorDecoder())
-                .decoder(new GsonDecoder())
+                .decoder(new DecompressingDecoder(new GsonDecoder()))
                 .target(SpotifyAccessTokenClient.class, spotifyAccessHost);
     }
 
     public Optional<String> fetchAccessToken(String accessCode) {
+        return fetchToken(accessCode).map(SpotifyAccessTokenResponse::getAccessToken);
+    }
+
+    /**
+     * Exchanges the access code for an access token, along with its expiry and refresh token
+     */
+    public Optional<SpotifyAccessTokenResponse> fetchToken(String accessCode) {
         commandLineView.printMessage("making http request for access_token...");
         try {
-            SpotifyAccessTokenResponse spotifyAccessTokenResponse = client.fetchAccessToken(
-                    new SpotifyAccessTokenRequest(accessCode, redirectUri), base64EncodedClientData);
-            commandLineView.printMessage("response:");
-            commandLineView.printMessage(new Gson().toJson(spotifyAccessTokenResponse));
-            return Optional.of(spotifyAccessTokenResponse.getAccessToken());
+            // Not printed, the refresh token it holds is kept in the credential store between runs
+            return Optional.of(client.fetchAccessToken(
+                    new SpotifyAccessTokenRequest(accessCode, redirectUri), base64EncodedClientData));
         }
         catch (SpotifyAdvisorException e) {
             commandLineView.printMessage(e.getMessage());
             return Optional.empty();
         }
     }
+
+    /**
+     * Refresh token grant, done in the background so nothing is printed.
+     * The response carries no refresh token when the previous one remains valid.
+     */
+    public Optional<SpotifyAccessTokenResponse> refreshToken(String refreshToken) {
+        try {
+            return Optional.of(client.refreshAccessToken(
+                    new SpotifyRefreshTokenRequest(refreshToken), base64EncodedClientData));
+        }
+        catch (SpotifyAdvisorException | RetryableException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Client credentials grant: an app-only token, with no refresh token, obtained without the user
+     */
+    public Optional<SpotifyAccessTokenResponse> fetchClientCredentialsToken() {
+        try {
+            return Optional.of(client.fetchClientCredentialsToken(
+                    new SpotifyClientCredentialsRequest(), base64EncodedClientData));
+        }
+        catch (SpotifyAdvisorException | RetryableException e) {
+            commandLineView.printMessage(e.getMessage());
+            return Optional.empty();
+        }
+    }
 }
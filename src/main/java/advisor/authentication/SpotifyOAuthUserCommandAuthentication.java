@@ -2,18 +2,31 @@ package advisor.authentication;
 
 import advisor.model.service.SpotifyAdvisorException;
 import advisor.view.CommandLineView;
-import lombok.RequiredArgsConstructor;
 
 import java.io.IOException;
 
-@RequiredArgsConstructor
 public class SpotifyOAuthUserCommandAuthentication implements UserCommandAuthentication {
 
-    private boolean isAuthenticated;
-    private String accessToken;
     private final SpotifyAccessCodeFetcher spotifyAccessCodeFetcher;
     private final SpotifyAccessTokenFetcher spotifyAccessTokenFetcher;
     private final CommandLineView commandLineView;
+    private final AccessTokenManager accessTokenManager;
+
+    /**
+     * Authenticated right away when the credential store holds a token from a previous run
+     */
+    public SpotifyOAuthUserCommandAuthentication(
+            SpotifyAccessCodeFetcher spotifyAccessCodeFetcher,
+            SpotifyAccessTokenFetcher spotifyAccessTokenFetcher,
+            CredentialStore credentialStore,
+            CommandLineView commandLineView) {
+        this.spotifyAccessCodeFetcher = spotifyAccessCodeFetcher;
+        this.spotifyAccessTokenFetcher = spotifyAccessTokenFetcher;
+        this.commandLineView = commandLineView;
+        this.accessTokenManager = new AccessTokenManager(
+                spotifyAccessTokenFetcher, AccessTokenManager.DEFAULT_REFRESH_MARGIN, credentialStore, commandLineView);
+        accessTokenManager.restore();
+    }
 
     @Override
     public void authenticate() {
@@ -33,20 +46,23 @@ public class SpotifyOAuthUserCommandAuthentication implements UserCommandAuthent
     }
 
     private void fetchAccessTokenAndSetAuthenticationState(String accessCode) {
-        spotifyAccessTokenFetcher.fetchAccessToken(accessCode).ifPresentOrElse(
-                token -> {
-                    this.accessToken = token;
-                    isAuthenticated = true; },
+        spotifyAccessTokenFetcher.fetchToken(accessCode).ifPresentOrElse(
+                accessTokenManager::update,
                 () -> commandLineView.printMessage("token not received"));
     }
 
     @Override
     public boolean isAuthenticated() {
-        return isAuthenticated;
+        return accessTokenManager.getCurrentToken().isPresent();
     }
 
     @Override
     public String getAccessToken() {
-        return accessToken;
+        return accessTokenManager.getAccessToken();
+    }
+
+    @Override
+    public String refreshAccessToken(String rejectedAccessToken) {
+        return accessTokenManager.refresh(rejectedAccessToken);
     }
 }
@@ -7,4 +7,13 @@ public interface UserCommandAuthentication {
     boolean isAuthenticated();
 
     String getAccessToken();
+
+    /**
+     * Replaces an access token rejected by the Web API
+     *
+     * @return the new access token, or the rejected one when it cannot be refreshed
+     */
+    default String refreshAccessToken(String rejectedAccessToken) {
+        return getAccessToken();
+    }
 }
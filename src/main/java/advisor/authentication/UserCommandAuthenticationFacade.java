@@ -10,4 +10,8 @@ public class UserCommandAuthenticationFacade {
     public String getAccessToken() {
         return userCommandAuthentication.getAccessToken();
     }
+
+    public String refreshAccessToken(String rejectedAccessToken) {
+        return userCommandAuthentication.refreshAccessToken(rejectedAccessToken);
+    }
 }
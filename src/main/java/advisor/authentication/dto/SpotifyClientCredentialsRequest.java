@@ -0,0 +1,15 @@
+package advisor.authentication.dto;
+
+import feign.form.FormEncoder;
+import feign.form.FormProperty;
+import lombok.Getter;
+
+/**
+ * Fields in this class are not final, so that {@link FormEncoder} can serialize it to application/x-www-form-urlencoded
+ */
+@Getter
+public class SpotifyClientCredentialsRequest {
+
+    @FormProperty("grant_type")
+    private String grantType = "client_credentials";
+}
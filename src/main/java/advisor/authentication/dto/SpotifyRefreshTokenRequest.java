@@ -0,0 +1,21 @@
+package advisor.authentication.dto;
+
+import feign.form.FormEncoder;
+import feign.form.FormProperty;
+import lombok.Getter;
+
+/**
+ * Fields in this class are not final, so that {@link FormEncoder} can serialize it to application/x-www-form-urlencoded
+ */
+@Getter
+public class SpotifyRefreshTokenRequest {
+
+    @FormProperty("grant_type")
+    private String grantType = "refresh_token";
+    @FormProperty("refresh_token")
+    private String refreshToken;
+
+    public SpotifyRefreshTokenRequest(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
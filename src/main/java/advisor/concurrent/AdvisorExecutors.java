@@ -0,0 +1,55 @@
+package advisor.concurrent;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for concurrent Spotify fetches, either on a fixed pool of daemon platform threads or,
+ * when running on a JDK that supports them, on one virtual thread per task.
+ * The project targets Java 11, so virtual threads are looked up reflectively at runtime.
+ */
+public final class AdvisorExecutors {
+
+    public enum ExecutionMode {
+        PLATFORM, VIRTUAL
+    }
+
+    private static final Optional<Method> NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findVirtualThreadPerTaskExecutor();
+
+    private AdvisorExecutors() {
+    }
+
+    public static boolean areVirtualThreadsSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.isPresent();
+    }
+
+    /**
+     * @param platformThreads size of the thread pool, when virtual threads are not requested or not supported
+     */
+    public static ExecutorService newExecutor(ExecutionMode executionMode, int platformThreads, String threadName) {
+        if (executionMode == ExecutionMode.VIRTUAL && areVirtualThreadsSupported()) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.get().invoke(null);
+            } catch (ReflectiveOperationException ignored) {
+                // Fall back to platform threads
+            }
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(platformThreads, runnable -> {
+            Thread thread = new Thread(runnable, threadName + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static Optional<Method> findVirtualThreadPerTaskExecutor() {
+        try {
+            return Optional.of(Executors.class.getMethod("newVirtualThreadPerTaskExecutor"));
+        } catch (NoSuchMethodException e) {
+            return Optional.empty();
+        }
+    }
+}
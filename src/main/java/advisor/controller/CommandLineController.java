@@ -1,12 +1,17 @@
 package advisor.controller;
 
 import advisor.authentication.UserCommandAuthentication;
+import advisor.metrics.MetricsRegistry;
 import advisor.model.*;
 import advisor.model.dto.CommandLinePrintable;
 import advisor.model.service.Advisor;
 import advisor.view.CommandLineView;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public final class CommandLineController {
 
@@ -15,6 +20,8 @@ public final class CommandLineController {
             UserCommand.CATEGORIES.getCommandText(),
             UserCommand.FEATURED_PLAYLISTS.getCommandText(),
             UserCommand.PLAYLISTS.getCommandText()));
+    // A double-quoted argument, which may contain spaces, or a run of non-space characters
+    private static final Pattern ARGUMENT = Pattern.compile("\"([^\"]*)\"|(\\S+)");
 
     private final CommandLineView view;
     private final UserCommandAuthentication userCommandAuthentication;
@@ -24,18 +31,26 @@ public final class CommandLineController {
     private final FeaturedPlaylists featuredPlaylists;
     private final NewReleases newReleases;
     private final PlaylistsByCategory playlistsByCategory;
+    private final ResourceExporter resourceExporter;
+    private final MetricsRegistry metricsRegistry;
 
     public CommandLineController(
             CommandLineView view,
             Advisor advisor,
             UserCommandAuthentication userCommandAuthentication,
-            int pageSize) {
+            int pageSize,
+            PagePrefetcher pagePrefetcher,
+            CategoryIndex categoryIndex,
+            ResourceExporter resourceExporter,
+            MetricsRegistry metricsRegistry) {
         this.view = view;
         this.userCommandAuthentication = userCommandAuthentication;
-        this.categories = new Categories(advisor, pageSize);
-        this.featuredPlaylists = new FeaturedPlaylists(advisor, pageSize);
-        this.newReleases = new NewReleases(advisor, pageSize);
-        this.playlistsByCategory = new PlaylistsByCategory(advisor, pageSize);
+        this.categories = new Categories(categoryIndex, pageSize, pagePrefetcher);
+        this.featuredPlaylists = new FeaturedPlaylists(advisor, pageSize, pagePrefetcher);
+        this.newReleases = new NewReleases(advisor, pageSize, pagePrefetcher);
+        this.playlistsByCategory = new PlaylistsByCategory(advisor, pageSize, pagePrefetcher, categoryIndex);
+        this.resourceExporter = resourceExporter;
+        this.metricsRegistry = metricsRegistry;
     }
 
     public UserCommand processInput() {
@@ -49,19 +64,23 @@ public final class CommandLineController {
         try {
             switch (command) {
                 case NEW_RELEASES:
+                    cancelPrefetch();
                     view.printPage(newReleases.firstPage());
                     pageableSpotifyModel = newReleases;
                     break;
                 case FEATURED_PLAYLISTS:
+                    cancelPrefetch();
                     view.printPage(featuredPlaylists.firstPage());
                     pageableSpotifyModel = featuredPlaylists;
                     break;
                 case CATEGORIES:
+                    cancelPrefetch();
                     view.printPage(categories.firstPage());
                     pageableSpotifyModel = categories;
                     break;
                 case PLAYLISTS:
                     String categoryName = view.getInputCommandOptions();
+                    cancelPrefetch();
                     view.printPage(playlistsByCategory.firstPage(categoryName));
                     pageableSpotifyModel = playlistsByCategory;
                     break;
@@ -81,7 +100,14 @@ public final class CommandLineController {
                     }
                     view.printPage(pageableSpotifyModel.nextPage());
                     break;
+                case EXPORT:
+                    export(view.getInputCommandOptions());
+                    break;
+                case STATS:
+                    view.printStats(metricsRegistry.getEndpoints(), metricsRegistry.getRenderLatencies());
+                    break;
                 case EXIT:
+                    cancelPrefetch();
                     view.printMessage("---GOODBYE!---");
                     break;
                 case AUTH:
@@ -101,6 +127,63 @@ public final class CommandLineController {
         return command;
     }
 
+    /**
+     * @param options the resource (one of the listing commands), the category name for playlists, and the file.
+     *                Arguments are separated by spaces, a file path containing spaces has to be double-quoted
+     */
+    private void export(String options) {
+        List<String> arguments = splitArguments(options);
+        if (arguments.size() < 2) {
+            view.printMessage(String.format(
+                    "Usage: %s <%s> [category name] <file>, double-quoted if its path contains spaces",
+                    UserCommand.EXPORT.getCommandText(), COMMA_SEPARATED_CONTENT_COMMAND_NAMES));
+            return;
+        }
+        UserCommand resource = UserCommand.parse(arguments.get(0));
+        Path file = Path.of(arguments.get(arguments.size() - 1));
+        ResourceExporter.ExportSummary exportSummary;
+        switch (resource) {
+            case NEW_RELEASES:
+                exportSummary = resourceExporter.exportNewReleases(file);
+                break;
+            case FEATURED_PLAYLISTS:
+                exportSummary = resourceExporter.exportFeaturedPlaylists(file);
+                break;
+            case CATEGORIES:
+                exportSummary = resourceExporter.exportCategories(file);
+                break;
+            case PLAYLISTS:
+                exportSummary = resourceExporter.exportCategoryPlaylists(
+                        String.join(" ", arguments.subList(1, arguments.size() - 1)), file);
+                break;
+            default:
+                view.printMessage(String.format("Resources that can be exported: %s",
+                        COMMA_SEPARATED_CONTENT_COMMAND_NAMES));
+                return;
+        }
+        view.printMessage(String.format("Exported %d items (%d pages) to %s in %d ms (%.0f items/s)",
+                exportSummary.getElements(), exportSummary.getPages(), file, exportSummary.getElapsedMillis(),
+                exportSummary.getElementsPerSecond()));
+    }
+
+    private static List<String> splitArguments(String options) {
+        List<String> arguments = new ArrayList<>();
+        if (options == null) {
+            return arguments;
+        }
+        Matcher argument = ARGUMENT.matcher(options);
+        while (argument.find()) {
+            arguments.add(argument.group(1) != null ? argument.group(1) : argument.group(2));
+        }
+        return arguments;
+    }
+
+    private void cancelPrefetch() {
+        if (pageableSpotifyModel != null) {
+            pageableSpotifyModel.cancelPrefetch();
+        }
+    }
+
     private boolean isAuthenticationNeededForUserCommand(UserCommand userCommand) {
         return !userCommandAuthentication.isAuthenticated() && userCommand.needsAuth();
     }
@@ -13,6 +13,8 @@ public enum UserCommand {
     PLAYLISTS("playlists", true),
     PREVIOUS("prev", true),
     NEXT("next", true),
+    EXPORT("export", true),
+    STATS("stats", false),
     EXIT("exit", false),
     AUTH("auth", false),
     NOT_SUPPORTED("", false);
@@ -0,0 +1,12 @@
+package advisor.http;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+
+public class AcceptEncodingInterceptor implements RequestInterceptor {
+
+    @Override
+    public void apply(RequestTemplate template) {
+        template.header(ContentEncoding.ACCEPT_ENCODING_HEADER, ContentEncoding.ACCEPTED_ENCODINGS);
+    }
+}
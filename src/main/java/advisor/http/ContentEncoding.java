@@ -0,0 +1,97 @@
+package advisor.http;
+
+import feign.Response;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compressed transfer of response bodies: the encodings offered in Accept-Encoding and the streaming
+ * decompression of the bodies sent with them, so that the inflated body is never held in memory as a whole.
+ * Bodies are sniffed before being inflated, since some transports (e.g. Apache HttpClient) already
+ * decompress them on their own.
+ */
+public final class ContentEncoding {
+
+    public static final String ACCEPT_ENCODING_HEADER = "Accept-Encoding";
+    public static final String CONTENT_ENCODING_HEADER = "Content-Encoding";
+    public static final String ACCEPTED_ENCODINGS = "gzip, deflate";
+    private static final int GZIP_MAGIC_FIRST_BYTE = 0x1f;
+    private static final int GZIP_MAGIC_SECOND_BYTE = 0x8b;
+    private static final int ZLIB_DEFLATE_METHOD = 8;
+
+    private ContentEncoding() {
+    }
+
+    /**
+     * @return the response with a decompressing body, or the response itself if its body is not compressed
+     */
+    public static Response decompress(Response response) throws IOException {
+        Collection<String> contentEncodings = headerValues(response.headers(), CONTENT_ENCODING_HEADER);
+        if (response.body() == null || contentEncodings.isEmpty()) {
+            return response;
+        }
+        Map<String, Collection<String>> headers = new HashMap<>();
+        response.headers().forEach((name, values) -> {
+            if (!CONTENT_ENCODING_HEADER.equalsIgnoreCase(name) && !"Content-Length".equalsIgnoreCase(name)) {
+                headers.put(name, values);
+            }
+        });
+        return response.toBuilder()
+                .headers(headers)
+                .body(decompress(response.body().asInputStream(), contentEncodings), null)
+                .build();
+    }
+
+    public static InputStream decompress(InputStream body, Collection<String> contentEncodings) throws IOException {
+        String contentEncoding = String.join(",", contentEncodings).toLowerCase(Locale.ROOT);
+        boolean gzip = contentEncoding.contains("gzip");
+        boolean deflate = contentEncoding.contains("deflate");
+        if (!gzip && !deflate) {
+            return body;
+        }
+        BufferedInputStream bufferedBody = new BufferedInputStream(body);
+        bufferedBody.mark(2);
+        int firstByte = bufferedBody.read();
+        int secondByte = bufferedBody.read();
+        bufferedBody.reset();
+        if (firstByte == GZIP_MAGIC_FIRST_BYTE && secondByte == GZIP_MAGIC_SECOND_BYTE) {
+            return new GZIPInputStream(bufferedBody);
+        }
+        if (deflate && isZlibHeader(firstByte, secondByte)) {
+            return new InflaterInputStream(bufferedBody);
+        }
+        if (deflate && firstByte != -1 && !isJsonStart(firstByte)) {
+            // Some servers send raw deflate data without the zlib wrapper
+            return new InflaterInputStream(bufferedBody, new Inflater(true));
+        }
+        return bufferedBody;
+    }
+
+    private static boolean isZlibHeader(int firstByte, int secondByte) {
+        return firstByte != -1 && secondByte != -1
+                && (firstByte & 0x0f) == ZLIB_DEFLATE_METHOD
+                && ((firstByte << 8) | secondByte) % 31 == 0;
+    }
+
+    private static boolean isJsonStart(int firstByte) {
+        return firstByte == '{' || firstByte == '[' || firstByte == '"' || Character.isWhitespace(firstByte);
+    }
+
+    private static Collection<String> headerValues(Map<String, Collection<String>> headers, String name) {
+        return headers.entrySet().stream()
+                .filter(header -> name.equalsIgnoreCase(header.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(List.of());
+    }
+}
@@ -0,0 +1,22 @@
+package advisor.http;
+
+import feign.Response;
+import feign.codec.Decoder;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Feeds the delegate decoder with the decompressing stream of a gzip or deflate encoded body
+ */
+@RequiredArgsConstructor
+public class DecompressingDecoder implements Decoder {
+
+    private final Decoder delegate;
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException {
+        return delegate.decode(ContentEncoding.decompress(response), type);
+    }
+}
@@ -0,0 +1,23 @@
+package advisor.http;
+
+import feign.Client;
+import feign.Request;
+
+/**
+ * Feign's default {@link java.net.HttpURLConnection} based transport, with no control over connection pooling
+ */
+public class DefaultHttpTransport implements HttpTransport {
+
+    private final Client client = new Client.Default(null, null);
+    private final Request.Options options = new Request.Options();
+
+    @Override
+    public Client client() {
+        return client;
+    }
+
+    @Override
+    public Request.Options options() {
+        return options;
+    }
+}
@@ -0,0 +1,215 @@
+package advisor.http;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hedged GET requests: when a request to an endpoint (its resource path, e.g. "categories/{id}/playlists") has not
+ * completed by the 95th percentile of the latencies observed for that endpoint, an identical request is sent and
+ * whichever response arrives first is used, the other request being aborted through its transport, which
+ * releases its connection, or closed if it responded anyway.
+ * Hedges are capped at a fraction of all the requests, so that a slow Web API is not hit twice as hard.
+ */
+public class EndpointHedging {
+
+    static final int LATENCY_WINDOW_SIZE = 256;
+
+    private final ExecutorService executorService;
+    private final double maxHedgedFraction;
+    private final int minSamples;
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hedgedRequests = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+
+    /**
+     * @param maxHedgedFraction at most this fraction of the requests is hedged, e.g. 0.05
+     * @param minSamples latencies observed for an endpoint before its requests are hedged
+     */
+    public EndpointHedging(ExecutorService executorService, double maxHedgedFraction, int minSamples) {
+        this.executorService = executorService;
+        this.maxHedgedFraction = maxHedgedFraction;
+        this.minSamples = Math.min(minSamples, LATENCY_WINDOW_SIZE);
+    }
+
+    public static EndpointHedging none() {
+        return new EndpointHedging(null, 0, 0);
+    }
+
+    public Client decorate(Client delegate) {
+        if (executorService == null) {
+            return delegate;
+        }
+        return new HedgingClient(delegate);
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getHedgedRequests() {
+        return hedgedRequests.sum();
+    }
+
+    /**
+     * Hedged requests whose second request responded first
+     */
+    public long getHedgeWins() {
+        return hedgeWins.sum();
+    }
+
+    private boolean tryHedge() {
+        if (hedgedRequests.sum() + 1 > maxHedgedFraction * requests.sum()) {
+            return false;
+        }
+        hedgedRequests.increment();
+        return true;
+    }
+
+    private class HedgingClient implements Client {
+
+        private final Client delegate;
+
+        HedgingClient(Client delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Response execute(Request request, Request.Options options) throws IOException {
+            if (request.httpMethod() != Request.HttpMethod.GET) {
+                return delegate.execute(request, options);
+            }
+            requests.increment();
+            LatencyWindow latencyWindow = latencies.computeIfAbsent(
+                    ResourcePaths.of(request), key -> new LatencyWindow());
+            long hedgeDelayNanos = latencyWindow.percentile95Nanos();
+            if (hedgeDelayNanos == 0) {
+                return timed(request, options, latencyWindow);
+            }
+
+            ExecutorCompletionService<Response> attempts = new ExecutorCompletionService<>(executorService);
+            AtomicBoolean settled = new AtomicBoolean();
+            RequestAbortion primaryAbortion = new RequestAbortion();
+            RequestAbortion hedgeAbortion = new RequestAbortion();
+            Future<Response> primary = attempts.submit(() -> primaryAbortion.run(
+                    () -> attempt(request, options, latencyWindow, settled)));
+            Future<Response> hedge = null;
+            try {
+                Future<Response> completed = attempts.poll(hedgeDelayNanos, TimeUnit.NANOSECONDS);
+                if (completed == null && tryHedge()) {
+                    hedge = attempts.submit(() -> hedgeAbortion.run(
+                            () -> attempt(request, options, latencyWindow, settled)));
+                }
+                if (completed == null) {
+                    completed = attempts.take();
+                }
+                try {
+                    Response response = completed.get();
+                    if (completed == hedge) {
+                        hedgeWins.increment();
+                        primaryAbortion.abort();
+                    } else {
+                        hedgeAbortion.abort();
+                    }
+                    return response;
+                } catch (ExecutionException failed) {
+                    if (hedge == null) {
+                        throw failed;
+                    }
+                    // The other request may still succeed
+                    return attempts.take().get();
+                }
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IOException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for " + request.url());
+            } finally {
+                // A request still waiting, e.g. for a rate limiter permit, is interrupted instead
+                primary.cancel(true);
+                if (hedge != null) {
+                    hedge.cancel(true);
+                }
+            }
+        }
+
+        private Response timed(Request request, Request.Options options, LatencyWindow latencyWindow)
+                throws IOException {
+            long startedAt = System.nanoTime();
+            Response response = delegate.execute(request, options);
+            latencyWindow.record(System.nanoTime() - startedAt);
+            return response;
+        }
+
+        /**
+         * Only the first response is kept, one arriving after it is closed to release its connection
+         */
+        private Response attempt(
+                Request request, Request.Options options, LatencyWindow latencyWindow, AtomicBoolean settled)
+                throws IOException {
+            Response response = timed(request, options, latencyWindow);
+            if (!settled.compareAndSet(false, true)) {
+                response.close();
+                throw new CancellationException("Hedged request lost");
+            }
+            return response;
+        }
+    }
+
+    /**
+     * Latencies of the last {@value #LATENCY_WINDOW_SIZE} responses, whose 95th percentile is recomputed
+     * every few samples rather than on every request
+     */
+    private class LatencyWindow {
+
+        private static final int RECOMPUTE_INTERVAL = 16;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final long[] latencyNanos = new long[LATENCY_WINDOW_SIZE];
+        private long samples;
+        private volatile long percentile95Nanos;
+
+        void record(long nanos) {
+            lock.lock();
+            try {
+                latencyNanos[(int) (samples++ % LATENCY_WINDOW_SIZE)] = nanos;
+                if (samples >= minSamples && samples % RECOMPUTE_INTERVAL == 0 || samples == minSamples) {
+                    long[] sorted = Arrays.copyOf(latencyNanos, (int) Math.min(samples, LATENCY_WINDOW_SIZE));
+                    Arrays.sort(sorted);
+                    percentile95Nanos = sorted[(int) Math.ceil(sorted.length * 0.95) - 1];
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 0 until enough latencies have been observed
+         */
+        long percentile95Nanos() {
+            return percentile95Nanos;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package advisor.http;
+
+import feign.RetryableException;
+import feign.Retryer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Feign retryers following the retry policy of the endpoint a request was sent to, named by its
+ * {@link ResourcePaths resource path} (e.g. "new-releases", "categories/{id}/playlists") like its metrics and hedging,
+ * or the default one. They count the retries per endpoint and the requests that failed after exhausting their attempts.
+ * Feign retries connection errors and the responses that {@code ErrorDecoder}s turn into {@link RetryableException}.
+ */
+public class EndpointRetryers {
+
+    private final RetryPolicy defaultPolicy;
+    private final Map<String, RetryPolicy> endpointPolicies;
+    private final Map<String, LongAdder> retries = new ConcurrentHashMap<>();
+    private final LongAdder exhaustedRetries = new LongAdder();
+
+    public EndpointRetryers(RetryPolicy defaultPolicy, Map<String, RetryPolicy> endpointPolicies) {
+        this.defaultPolicy = defaultPolicy;
+        this.endpointPolicies = Map.copyOf(endpointPolicies);
+    }
+
+    public static EndpointRetryers none() {
+        return new EndpointRetryers(RetryPolicy.NO_RETRIES, Map.of());
+    }
+
+    /**
+     * The endpoint of a request is only known from its failure, so a single retryer serves every endpoint of a client
+     */
+    public Retryer retryer() {
+        return new BackoffRetryer();
+    }
+
+    public long getRetries(String endpoint) {
+        LongAdder endpointRetries = retries.get(endpoint);
+        return endpointRetries == null ? 0 : endpointRetries.sum();
+    }
+
+    public long getTotalRetries() {
+        return retries.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    public long getExhaustedRetries() {
+        return exhaustedRetries.sum();
+    }
+
+    private class BackoffRetryer implements Retryer {
+
+        private int attempt = 1;
+
+        @Override
+        public void continueOrPropagate(RetryableException e) {
+            if (RequestAbortion.isCurrentAborted()) {
+                throw e;
+            }
+            String endpoint = e.request() == null ? null : ResourcePaths.of(e.request());
+            RetryPolicy policy = endpoint == null
+                    ? defaultPolicy
+                    : endpointPolicies.getOrDefault(endpoint, defaultPolicy);
+            if (attempt >= policy.getMaxAttempts()) {
+                if (policy.getMaxAttempts() > 1) {
+                    exhaustedRetries.increment();
+                }
+                throw e;
+            }
+            long backoffMillis = policy.backoffMillis(attempt);
+            if (e.retryAfter() != null) {
+                backoffMillis = Math.max(backoffMillis, e.retryAfter().getTime() - System.currentTimeMillis());
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(backoffMillis);
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+                throw e;
+            }
+            attempt++;
+            if (endpoint != null) {
+                retries.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+            }
+        }
+
+        @Override
+        public Retryer clone() {
+            // Feign clones the retryer for every request, so attempts are counted per request
+            return new BackoffRetryer();
+        }
+    }
+}
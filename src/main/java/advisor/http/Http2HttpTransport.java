@@ -0,0 +1,115 @@
+package advisor.http;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transport based on the JDK's {@link HttpClient}, which negotiates HTTP/2 and multiplexes
+ * concurrent requests to the same host over a single connection.
+ * A request aborted with {@link RequestAbortion} is cancelled through HttpClient, which resets its stream.
+ */
+public class Http2HttpTransport implements HttpTransport {
+
+    // Headers that HttpClient sets on its own and does not allow to be set on a request
+    private static final Set<String> RESTRICTED_HEADERS = Set.of(
+            "connection", "content-length", "date", "expect", "from", "host", "upgrade", "via", "warning");
+    private final HttpClient httpClient;
+    private final Client client;
+    private final Request.Options options;
+
+    public Http2HttpTransport(int connectTimeoutMillis, int readTimeoutMillis) {
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        client = this::execute;
+        options = new Request.Options(
+                connectTimeoutMillis, TimeUnit.MILLISECONDS,
+                readTimeoutMillis, TimeUnit.MILLISECONDS,
+                true);
+    }
+
+    @Override
+    public Client client() {
+        return client;
+    }
+
+    @Override
+    public Request.Options options() {
+        return options;
+    }
+
+    public HttpClient httpClient() {
+        return httpClient;
+    }
+
+    private Response execute(Request request, Request.Options requestOptions) throws IOException {
+        CompletableFuture<HttpResponse<InputStream>> sentRequest =
+                httpClient.sendAsync(toHttpRequest(request, requestOptions), BodyHandlers.ofInputStream());
+        RequestAbortion.onAbort(() -> sentRequest.cancel(true));
+        HttpResponse<InputStream> httpResponse;
+        try {
+            httpResponse = sentRequest.get();
+        } catch (InterruptedException e) {
+            sentRequest.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (CancellationException e) {
+            throw new InterruptedIOException("Request aborted: " + request.url());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+
+        Map<String, Collection<String>> headers = new HashMap<>();
+        httpResponse.headers().map().forEach(headers::put);
+        OptionalLong contentLength = httpResponse.headers().firstValueAsLong("Content-Length");
+        return Response.builder()
+                .status(httpResponse.statusCode())
+                .request(request)
+                .headers(headers)
+                .body(httpResponse.body(), contentLength.isPresent() && contentLength.getAsLong() <= Integer.MAX_VALUE
+                        ? (int) contentLength.getAsLong() : null)
+                .build();
+    }
+
+    private static HttpRequest toHttpRequest(Request request, Request.Options requestOptions) {
+        HttpRequest.Builder httpRequestBuilder = HttpRequest.newBuilder()
+                .uri(URI.create(request.url()))
+                .timeout(Duration.ofMillis(requestOptions.readTimeoutMillis()))
+                .method(request.httpMethod().name(), request.body() == null
+                        ? BodyPublishers.noBody()
+                        : BodyPublishers.ofByteArray(request.body()));
+        request.headers().forEach((name, values) -> {
+            if (!RESTRICTED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                values.forEach(value -> httpRequestBuilder.header(name, value));
+            }
+        });
+        return httpRequestBuilder.build();
+    }
+}
@@ -0,0 +1,11 @@
+package advisor.http;
+
+import feign.Client;
+import feign.Request;
+
+public interface HttpTransport {
+
+    Client client();
+
+    Request.Options options();
+}
@@ -0,0 +1,36 @@
+package advisor.http;
+
+import advisor.metrics.MetricsRegistry;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+
+/**
+ * Records every request sent to an endpoint, the time until its response headers arrive, and whether it failed,
+ * i.e. no response or an error one (4xx or 5xx). The endpoint is the resource path of the request.
+ */
+@RequiredArgsConstructor
+public class MeteredClient implements Client {
+
+    private static final int FIRST_ERROR_STATUS = 400;
+    private final Client delegate;
+    private final MetricsRegistry metricsRegistry;
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        long startedAt = System.nanoTime();
+        boolean failed = true;
+        try {
+            Response response = delegate.execute(request, options);
+            failed = response.status() >= FIRST_ERROR_STATUS;
+            return response;
+        } finally {
+            // A hedged request aborted because the other one responded first did not fail
+            metricsRegistry.endpoint(ResourcePaths.of(request))
+                    .recordRequest(System.nanoTime() - startedAt, failed && !RequestAbortion.isCurrentAborted());
+        }
+    }
+}
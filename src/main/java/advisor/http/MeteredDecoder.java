@@ -0,0 +1,78 @@
+package advisor.http;
+
+import advisor.metrics.MetricsRegistry;
+import feign.Response;
+import feign.codec.Decoder;
+import lombok.RequiredArgsConstructor;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Records the time spent decoding the responses of an endpoint, and the bytes of their bodies read as received,
+ * i.e. still compressed when the delegate decompresses them. The endpoint is the resource path of the request.
+ */
+@RequiredArgsConstructor
+public class MeteredDecoder implements Decoder {
+
+    private final Decoder delegate;
+    private final MetricsRegistry metricsRegistry;
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException {
+        if (response.body() == null) {
+            return delegate.decode(response, type);
+        }
+        CountingInputStream body = new CountingInputStream(response.body().asInputStream());
+        long startedAt = System.nanoTime();
+        try {
+            return delegate.decode(response.toBuilder().body(body, response.body().length()).build(), type);
+        } finally {
+            metricsRegistry.endpoint(ResourcePaths.of(response.request())).recordDecode(System.nanoTime() - startedAt, body.count);
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read != -1) {
+                count++;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        /**
+         * Counted bytes could be read again otherwise
+         */
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package advisor.http;
+
+import feign.Client;
+import feign.Request;
+import feign.httpclient.ApacheHttpClient;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.params.HttpParams;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.ssl.SSLContexts;
+
+import javax.net.ssl.SSLContext;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keep-alive transport backed by a pool of Apache HttpClient connections.
+ * A single {@link SSLContext} is shared by all pooled connections, so TLS sessions are resumed
+ * instead of doing a full handshake for each new connection.
+ * A request aborted with {@link RequestAbortion} is aborted through HttpClient, which closes its connection.
+ */
+public class PooledHttpTransport implements HttpTransport, Closeable {
+
+    private static final int TLS_SESSION_TIMEOUT_SECONDS = 3600;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final Client client;
+    private final Request.Options options;
+
+    public PooledHttpTransport(
+            int maxConnections,
+            int maxConnectionsPerRoute,
+            int connectTimeoutMillis,
+            int readTimeoutMillis,
+            int idleConnectionEvictionSeconds) {
+        SSLContext sslContext = SSLContexts.createSystemDefault();
+        sslContext.getClientSessionContext().setSessionTimeout(TLS_SESSION_TIMEOUT_SECONDS);
+
+        connectionManager = new PoolingHttpClientConnectionManager(
+                RegistryBuilder.<ConnectionSocketFactory>create()
+                        .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                        .register("https", new SSLConnectionSocketFactory(sslContext))
+                        .build());
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+
+        httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                // Connections are not bound to a user token, so any pooled TLS connection can be reused
+                .disableConnectionState()
+                .disableCookieManagement()
+                .evictExpiredConnections()
+                .evictIdleConnections(idleConnectionEvictionSeconds, TimeUnit.SECONDS)
+                .build();
+        client = new ApacheHttpClient(new AbortableHttpClient(httpClient));
+        options = new Request.Options(
+                connectTimeoutMillis, TimeUnit.MILLISECONDS,
+                readTimeoutMillis, TimeUnit.MILLISECONDS,
+                true);
+    }
+
+    @Override
+    public Client client() {
+        return client;
+    }
+
+    @Override
+    public Request.Options options() {
+        return options;
+    }
+
+    public PoolStats getPoolStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+    }
+
+    /**
+     * Feign's client builds the requests it sends, they are only reachable from the HttpClient executing them
+     */
+    @SuppressWarnings("deprecation")
+    private static class AbortableHttpClient extends CloseableHttpClient {
+
+        private final CloseableHttpClient delegate;
+
+        AbortableHttpClient(CloseableHttpClient delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        protected CloseableHttpResponse doExecute(HttpHost target, HttpRequest request, HttpContext context)
+                throws IOException {
+            if (request instanceof HttpUriRequest) {
+                RequestAbortion.onAbort(((HttpUriRequest) request)::abort);
+            }
+            return delegate.execute(target, request, context);
+        }
+
+        @Override
+        public HttpParams getParams() {
+            return delegate.getParams();
+        }
+
+        @Override
+        public org.apache.http.conn.ClientConnectionManager getConnectionManager() {
+            return delegate.getConnectionManager();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
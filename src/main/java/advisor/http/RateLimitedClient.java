@@ -0,0 +1,59 @@
+package advisor.http;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Sends requests only when the {@link RateLimiter} allows it. A 429 Too Many Requests response pauses every
+ * request for the time given in its Retry-After header, and the request is sent again afterwards,
+ * up to {@code maxRateLimitedRetries} times, after which the 429 response is returned to the caller.
+ */
+@RequiredArgsConstructor
+public class RateLimitedClient implements Client {
+
+    public static final int TOO_MANY_REQUESTS = 429;
+    public static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+    private final Client delegate;
+    private final RateLimiter rateLimiter;
+    private final int maxRateLimitedRetries;
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        for (int retries = 0; ; retries++) {
+            // An aborted prefetch or hedged request must not take a permit from the requests still needed
+            if (RequestAbortion.isCurrentAborted()) {
+                throw new InterruptedIOException("Request aborted before being sent");
+            }
+            try {
+                rateLimiter.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the rate limiter");
+            }
+            Response response = delegate.execute(request, options);
+            if (response.status() != TOO_MANY_REQUESTS || retries >= maxRateLimitedRetries) {
+                return response;
+            }
+            rateLimiter.pauseFor(retryAfter(response));
+            response.close();
+        }
+    }
+
+    public static Duration retryAfter(Response response) {
+        return response.headers().entrySet().stream()
+                .filter(header -> "Retry-After".equalsIgnoreCase(header.getKey()))
+                .map(Map.Entry::getValue)
+                .flatMap(Collection::stream)
+                .findFirst()
+                .flatMap(RateLimiter::parseRetryAfter)
+                .orElse(DEFAULT_RETRY_AFTER);
+    }
+}
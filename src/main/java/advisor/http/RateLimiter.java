@@ -0,0 +1,119 @@
+package advisor.http;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token bucket shared by every request to the Spotify Web API: requests are let through at a sustained rate,
+ * with bursts of up to {@code burst} requests, and all of them are held back while the API has asked us to
+ * pause with a 429 Too Many Requests response.
+ * Permits are reserved rather than polled (the bucket keeps the theoretical arrival time of the next request),
+ * so waiting requests are resumed in order and both blocking and asynchronous callers can use it.
+ */
+public class RateLimiter {
+
+    private static final RateLimiter UNLIMITED = new RateLimiter(0, 1);
+    private final long intervalNanos;
+    private final long burstToleranceNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long theoreticalArrivalNanos = System.nanoTime();
+    private long pausedUntilNanos = System.nanoTime();
+    private final LongAdder delayedRequests = new LongAdder();
+    private final LongAdder rateLimitedResponses = new LongAdder();
+
+    /**
+     * @param requestsPerSecond 0 for no limit, other than the pauses asked by the API
+     */
+    public RateLimiter(double requestsPerSecond, int burst) {
+        this.intervalNanos = requestsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond) : 0;
+        this.burstToleranceNanos = intervalNanos * Math.max(0, burst - 1);
+    }
+
+    public static RateLimiter unlimited() {
+        return UNLIMITED;
+    }
+
+    /**
+     * Reserves the next permit
+     *
+     * @return how long the caller must wait before sending its request, in nanoseconds
+     */
+    public long reserve() {
+        if (this == UNLIMITED) {
+            return 0;
+        }
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            long earliest = Math.max(now, pausedUntilNanos);
+            theoreticalArrivalNanos = Math.max(theoreticalArrivalNanos, earliest);
+            long allowedAt = Math.max(earliest, theoreticalArrivalNanos - burstToleranceNanos);
+            theoreticalArrivalNanos += intervalNanos;
+            long waitNanos = allowedAt - now;
+            if (waitNanos > 0) {
+                delayedRequests.increment();
+            }
+            return Math.max(0, waitNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void acquire() throws InterruptedException {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Holds back every request that reserves a permit from now on, until the pause has elapsed
+     */
+    public void pauseFor(Duration pause) {
+        if (this == UNLIMITED) {
+            return;
+        }
+        rateLimitedResponses.increment();
+        lock.lock();
+        try {
+            pausedUntilNanos = Math.max(pausedUntilNanos, System.nanoTime() + pause.toNanos());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getDelayedRequests() {
+        return delayedRequests.sum();
+    }
+
+    public long getRateLimitedResponses() {
+        return rateLimitedResponses.sum();
+    }
+
+    /**
+     * @param retryAfter the value of a Retry-After header: either delay seconds or an HTTP date
+     */
+    public static Optional<Duration> parseRetryAfter(String retryAfter) {
+        if (retryAfter == null || retryAfter.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(retryAfter.trim()))));
+        } catch (NumberFormatException ignored) {
+            // Not delay seconds, it may be an HTTP date
+        }
+        try {
+            Duration untilDate = Duration.between(ZonedDateTime.now(),
+                    ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+            return Optional.of(untilDate.isNegative() ? Duration.ZERO : untilDate);
+        } catch (DateTimeParseException ignored) {
+            return Optional.empty();
+        }
+    }
+}
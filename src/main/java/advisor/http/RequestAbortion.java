@@ -0,0 +1,88 @@
+package advisor.http;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Aborts a request being sent on another thread through its transport, which closes its connection: interrupting
+ * the sending thread is not enough, since a blocking socket read ignores interrupts.
+ * Transports register how to abort the request they send on a thread running {@link #run}.
+ */
+public final class RequestAbortion {
+
+    private static final ThreadLocal<RequestAbortion> CURRENT = new ThreadLocal<>();
+    private final AtomicReference<Runnable> abortAction = new AtomicReference<>();
+    private volatile boolean aborted;
+
+    @FunctionalInterface
+    public interface Call<T> {
+        T call() throws IOException;
+    }
+
+    /**
+     * Sends the requests of the call so that they can be aborted with {@link #abort()}
+     */
+    public <T> T run(Call<T> call) throws IOException {
+        CURRENT.set(this);
+        try {
+            return call.call();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Like {@link CompletableFuture#supplyAsync(Supplier, Executor)}, but cancelling the returned future also aborts
+     * the request the supplier is sending, instead of leaving it to hold its connection until it completes
+     */
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier, Executor executor) {
+        RequestAbortion requestAbortion = new RequestAbortion();
+        CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> {
+            try {
+                return requestAbortion.run(supplier::get);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+        future.whenComplete((result, failure) -> {
+            if (future.isCancelled()) {
+                requestAbortion.abort();
+            }
+        });
+        return future;
+    }
+
+    public void abort() {
+        aborted = true;
+        Runnable action = abortAction.getAndSet(null);
+        if (action != null) {
+            action.run();
+        }
+    }
+
+    /**
+     * Called by a transport before sending a request; the action is run at once if the request was already aborted
+     */
+    static void onAbort(Runnable action) {
+        RequestAbortion current = CURRENT.get();
+        if (current == null) {
+            return;
+        }
+        current.abortAction.set(action);
+        if (current.aborted && current.abortAction.compareAndSet(action, null)) {
+            action.run();
+        }
+    }
+
+    /**
+     * Whether the request sent on the current thread has been aborted, so that its failure is not an error
+     */
+    static boolean isCurrentAborted() {
+        RequestAbortion current = CURRENT.get();
+        return current != null && current.aborted;
+    }
+}
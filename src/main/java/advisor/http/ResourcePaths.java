@@ -0,0 +1,35 @@
+package advisor.http;
+
+import feign.Request;
+
+import java.net.URI;
+
+/**
+ * Names the endpoint a request is sent to after the path of its resource, without the API version and prefix,
+ * and with the ids replaced so that, e.g., the playlists of every category share the endpoint
+ * "categories/{id}/playlists"
+ */
+public final class ResourcePaths {
+
+    private static final String BROWSE_PATH_PREFIX = "/v1/browse/";
+    private static final String API_PATH_PREFIX = "/v1/";
+    private static final String ID = "{id}";
+
+    private ResourcePaths() {
+    }
+
+    public static String of(Request request) {
+        String path = URI.create(request.url()).getRawPath();
+        if (path.startsWith(BROWSE_PATH_PREFIX)) {
+            path = path.substring(BROWSE_PATH_PREFIX.length());
+        } else if (path.startsWith(API_PATH_PREFIX)) {
+            path = path.substring(API_PATH_PREFIX.length());
+        }
+        // Resources are collections followed by the id of one of their elements, e.g. categories/toplists
+        String[] segments = path.split("/");
+        for (int index = 1; index < segments.length; index += 2) {
+            segments[index] = ID;
+        }
+        return String.join("/", segments);
+    }
+}
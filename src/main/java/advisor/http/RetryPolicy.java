@@ -0,0 +1,31 @@
+package advisor.http;
+
+import lombok.Value;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Capped exponential backoff with jitter: before retry n the wait is drawn between half and all of
+ * {@code min(maxBackoffMillis, initialBackoffMillis * 2^(n-1))}, so that clients failing together
+ * do not retry together.
+ */
+@Value
+public class RetryPolicy {
+
+    public static final RetryPolicy NO_RETRIES = new RetryPolicy(1, 0, 0);
+
+    int maxAttempts;
+    long initialBackoffMillis;
+    long maxBackoffMillis;
+
+    public RetryPolicy withMaxAttempts(int maxAttempts) {
+        return new RetryPolicy(maxAttempts, initialBackoffMillis, maxBackoffMillis);
+    }
+
+    long backoffMillis(int retry) {
+        long exponentialBackoff = initialBackoffMillis << Math.min(retry - 1, 30);
+        long cappedBackoff = Math.min(maxBackoffMillis, exponentialBackoff < 0 ? maxBackoffMillis : exponentialBackoff);
+        long halfBackoff = cappedBackoff / 2;
+        return halfBackoff + ThreadLocalRandom.current().nextLong(cappedBackoff - halfBackoff + 1);
+    }
+}
@@ -0,0 +1,55 @@
+package advisor.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Requests sent to an endpoint of the Web API (e.g. "new-releases", "categories/{id}/playlists"), and the time
+ * spent on their responses: waiting for them and decoding them
+ */
+public class EndpointMetrics {
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LatencyHistogram requestLatency = new LatencyHistogram();
+    private final LatencyHistogram decodeLatency = new LatencyHistogram();
+
+    /**
+     * @param failed whether no response was received, or an error one
+     */
+    public void recordRequest(long nanos, boolean failed) {
+        requests.increment();
+        if (failed) {
+            errors.increment();
+        }
+        requestLatency.record(nanos);
+    }
+
+    /**
+     * @param bodyBytes bytes of the response body read, as received
+     */
+    public void recordDecode(long nanos, long bodyBytes) {
+        bytes.add(bodyBytes);
+        decodeLatency.record(nanos);
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    public LatencyHistogram.Snapshot getRequestLatency() {
+        return requestLatency.snapshot();
+    }
+
+    public LatencyHistogram.Snapshot getDecodeLatency() {
+        return decodeLatency.snapshot();
+    }
+}
@@ -0,0 +1,93 @@
+package advisor.metrics;
+
+import lombok.Value;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Log-linear histogram of durations in nanoseconds: every power of two is split into {@value #SUB_BUCKETS}
+ * linear buckets, so that any recorded value is reported within 12.5% of its actual value, with a fixed
+ * footprint of a few kilobytes whatever the number of values recorded.
+ * Recording is lock-free, a snapshot taken while values are recorded may miss some of them.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Values below SUB_BUCKETS have a bucket each, then SUB_BUCKETS buckets per power of two up to 2^63
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts.incrementAndGet(bucketIndex(value));
+        max.accumulate(value);
+    }
+
+    public Snapshot snapshot() {
+        long[] snapshotCounts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshotCounts[i] = counts.get(i);
+            count += snapshotCounts[i];
+        }
+        long maxNanos = max.get();
+        return new Snapshot(
+                count,
+                percentile(snapshotCounts, count, 0.5, maxNanos),
+                percentile(snapshotCounts, count, 0.9, maxNanos),
+                percentile(snapshotCounts, count, 0.99, maxNanos),
+                maxNanos);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * @return the largest value falling in the bucket
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lowerBound = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+
+    /**
+     * The upper bound of the bucket holding the value of the given rank, never above the largest value recorded
+     */
+    private static long percentile(long[] counts, long count, double quantile, long maxNanos) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * count);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    @Value
+    public static class Snapshot {
+        long count;
+        long p50Nanos;
+        long p90Nanos;
+        long p99Nanos;
+        long maxNanos;
+    }
+}
@@ -0,0 +1,62 @@
+package advisor.metrics;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Metrics of every endpoint of the Web API, keyed by resource path (e.g. "categories/{id}/playlists") and created
+ * on first use, and the time spent printing pages, keyed by the type of their elements: pages are printed
+ * without knowing the endpoint they come from, and playlists come from two of them.
+ * A registry with a prefix shares the metrics of the registry it was created from, its endpoints being prefixed,
+ * so that, e.g., the requests of an export are told apart from the ones of the displayed pages.
+ */
+public class MetricsRegistry {
+
+    private final Map<String, EndpointMetrics> endpoints;
+    private final Map<String, LatencyHistogram> renderLatencies;
+    private final String prefix;
+
+    public MetricsRegistry() {
+        this(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), "");
+    }
+
+    private MetricsRegistry(
+            Map<String, EndpointMetrics> endpoints, Map<String, LatencyHistogram> renderLatencies, String prefix) {
+        this.endpoints = endpoints;
+        this.renderLatencies = renderLatencies;
+        this.prefix = prefix;
+    }
+
+    /**
+     * @param prefix prepended to the endpoints of the returned registry, e.g. "export:"
+     */
+    public MetricsRegistry withPrefix(String prefix) {
+        return new MetricsRegistry(endpoints, renderLatencies, this.prefix + prefix);
+    }
+
+    public EndpointMetrics endpoint(String endpoint) {
+        return endpoints.computeIfAbsent(prefix + endpoint, key -> new EndpointMetrics());
+    }
+
+    public void recordRender(Class<?> elementType, long nanos) {
+        renderLatencies.computeIfAbsent(elementType.getSimpleName(), key -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * @return the metrics by endpoint, sorted by endpoint
+     */
+    public SortedMap<String, EndpointMetrics> getEndpoints() {
+        return new TreeMap<>(endpoints);
+    }
+
+    /**
+     * @return the latencies of printing pages by simple name of their element type, sorted by name
+     */
+    public SortedMap<String, LatencyHistogram.Snapshot> getRenderLatencies() {
+        SortedMap<String, LatencyHistogram.Snapshot> snapshots = new TreeMap<>();
+        renderLatencies.forEach((elementType, latency) -> snapshots.put(elementType, latency.snapshot()));
+        return snapshots;
+    }
+}
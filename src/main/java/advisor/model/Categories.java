@@ -6,24 +6,32 @@ import advisor.model.service.Advisor;
 
 public class Categories extends SpotifyResourceCollection implements PageableSpotifyModel<Category> {
 
-    private final Advisor advisor;
+    private final SpotifyResourcePageFetcher<Integer, Page<Category>> categoriesFetcher;
 
-    public Categories(Advisor advisor, int pageSize) {
-        super(pageSize);
-        this.advisor = advisor;
+    public Categories(Advisor advisor, int pageSize, PagePrefetcher pagePrefetcher) {
+        super(pageSize, pagePrefetcher);
+        this.categoriesFetcher = advisor::getCategories;
+    }
+
+    /**
+     * Pages are served from the category index, which is shared with {@link PlaylistsByCategory}
+     */
+    public Categories(CategoryIndex categoryIndex, int pageSize, PagePrefetcher pagePrefetcher) {
+        super(pageSize, pagePrefetcher);
+        this.categoriesFetcher = categoryIndex::getPage;
     }
 
     public Page<Category> firstPage() {
-        return firstPage(advisor::getCategories);
+        return firstPage(categoriesFetcher);
     }
 
     @Override
     public Page<Category> nextPage() {
-        return nextPage(advisor::getCategories);
+        return nextPage(categoriesFetcher);
     }
 
     @Override
     public Page<Category> previousPage() {
-        return previousPage(advisor::getCategories);
+        return previousPage(categoriesFetcher);
     }
 }
@@ -0,0 +1,154 @@
+package advisor.model;
+
+import advisor.model.dto.Category;
+import advisor.model.dto.Page;
+import advisor.model.service.Advisor;
+import lombok.Value;
+
+import java.io.Closeable;
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Every category, loaded once in parallel pages of the largest size the advisor is configured with
+ * (the first page tells how many there are), along with a map from normalized category name to category,
+ * so that looking up a category by name neither needs a round trip nor misses categories beyond the first page.
+ * Pages of the display size are sliced from the loaded categories.
+ * The index is refreshed in the background every TTL; if a refresh fails, or returns stale pages,
+ * the previous index is kept.
+ */
+public class CategoryIndex implements Closeable {
+
+    private final Advisor advisor;
+    private final int loadPageSize;
+    private final int pageSize;
+    private final Executor pageLoadExecutor;
+    private final ScheduledExecutorService refreshExecutor;
+    private final long ttlSeconds;
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    /**
+     * @param advisor          advisor returning pages of {@code loadPageSize} categories
+     * @param pageSize         number of categories of the pages returned by {@link #getPage(int)}
+     * @param pageLoadExecutor shut down when the index is closed, if it is an {@link ExecutorService}
+     * @param ttlSeconds       0 to never refresh the index
+     */
+    public CategoryIndex(
+            Advisor advisor, int loadPageSize, int pageSize, Executor pageLoadExecutor, long ttlSeconds) {
+        this.advisor = advisor;
+        this.loadPageSize = loadPageSize;
+        this.pageSize = pageSize;
+        this.pageLoadExecutor = pageLoadExecutor;
+        this.ttlSeconds = ttlSeconds;
+        this.refreshExecutor = ttlSeconds > 0 ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "category-index-refresh");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    public Optional<Category> findByName(String categoryName) {
+        return Optional.ofNullable(loadedSnapshot().getCategoriesByName().get(normalize(categoryName)));
+    }
+
+    /**
+     * @return the page of {@code pageSize} categories sliced from the index, empty past the last category
+     */
+    public Page<Category> getPage(int pageNumber) {
+        Snapshot currentSnapshot = loadedSnapshot();
+        List<Category> categories = currentSnapshot.getCategories();
+        int fromIndex = Math.min(Math.max(0, (pageNumber - 1) * pageSize), categories.size());
+        int toIndex = Math.min(fromIndex + pageSize, categories.size());
+        return new Page<>(categories.subList(fromIndex, toIndex), currentSnapshot.getTotal(), pageNumber);
+    }
+
+    @Override
+    public void close() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+        }
+        if (pageLoadExecutor instanceof ExecutorService) {
+            ((ExecutorService) pageLoadExecutor).shutdownNow();
+        }
+    }
+
+    private Snapshot loadedSnapshot() {
+        Snapshot currentSnapshot = snapshot;
+        if (currentSnapshot != null) {
+            return currentSnapshot;
+        }
+        // A single load for all the callers that find the index empty
+        loadLock.lock();
+        try {
+            if (snapshot != null) {
+                return snapshot;
+            }
+            Snapshot loadedSnapshot = load();
+            // Stale pages are served for this call only, the next one tries to load fresh pages again
+            if (loadedSnapshot.isStale()) {
+                return loadedSnapshot;
+            }
+            snapshot = loadedSnapshot;
+            if (refreshExecutor != null) {
+                refreshExecutor.scheduleWithFixedDelay(this::refresh, ttlSeconds, ttlSeconds, TimeUnit.SECONDS);
+            }
+            return snapshot;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private void refresh() {
+        try {
+            Snapshot refreshedSnapshot = load();
+            if (!refreshedSnapshot.isStale()) {
+                snapshot = refreshedSnapshot;
+            }
+        } catch (RuntimeException ignored) {
+            // The previous index is kept until the next refresh
+        }
+    }
+
+    private Snapshot load() {
+        Page<Category> firstPage = advisor.getCategories(1);
+        int pageCount = Math.max(1, (firstPage.getTotal() + loadPageSize - 1) / loadPageSize);
+        List<CompletableFuture<Page<Category>>> otherPages = new ArrayList<>();
+        for (int pageNumber = 2; pageNumber <= pageCount; pageNumber++) {
+            int requestedPageNumber = pageNumber;
+            otherPages.add(CompletableFuture.supplyAsync(
+                    () -> advisor.getCategories(requestedPageNumber), pageLoadExecutor));
+        }
+
+        List<Page<Category>> pages = new ArrayList<>(pageCount);
+        pages.add(firstPage);
+        try {
+            otherPages.forEach(otherPage -> pages.add(otherPage.join()));
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+        List<Category> categories = pages.stream()
+                .flatMap(page -> page.getElements().stream())
+                .collect(Collectors.toUnmodifiableList());
+        Map<String, Category> categoriesByName = categories.stream()
+                .collect(Collectors.toMap(category -> normalize(category.getName()), category -> category,
+                        (firstCategory, duplicateCategory) -> firstCategory));
+        boolean stale = pages.stream().anyMatch(Page::isStale);
+        return new Snapshot(categories, firstPage.getTotal(), categoriesByName, stale);
+    }
+
+    private static String normalize(String categoryName) {
+        return Normalizer.normalize(categoryName.strip(), Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    @Value
+    private static class Snapshot {
+        List<Category> categories;
+        int total;
+        Map<String, Category> categoriesByName;
+        boolean stale;
+    }
+}
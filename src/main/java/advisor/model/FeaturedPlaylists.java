@@ -8,8 +8,8 @@ public class FeaturedPlaylists extends SpotifyResourceCollection implements Page
 
     private final Advisor advisor;
 
-    public FeaturedPlaylists(Advisor advisor, int pageSize) {
-        super(pageSize);
+    public FeaturedPlaylists(Advisor advisor, int pageSize, PagePrefetcher pagePrefetcher) {
+        super(pageSize, pagePrefetcher);
         this.advisor = advisor;
     }
 
@@ -8,8 +8,8 @@ public class NewReleases extends SpotifyResourceCollection implements PageableSp
 
     private final Advisor advisor;
 
-    public NewReleases(Advisor advisor, int pageSize) {
-        super(pageSize);
+    public NewReleases(Advisor advisor, int pageSize, PagePrefetcher pagePrefetcher) {
+        super(pageSize, pagePrefetcher);
         this.advisor = advisor;
     }
 
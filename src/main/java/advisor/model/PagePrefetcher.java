@@ -0,0 +1,100 @@
+package advisor.model;
+
+import advisor.concurrent.AdvisorExecutors;
+import advisor.concurrent.AdvisorExecutors.ExecutionMode;
+import advisor.http.RequestAbortion;
+import lombok.RequiredArgsConstructor;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Fetches in the background the pages a user is likely to request next: up to {@code depth} pages after the
+ * current one and, optionally, the previous one. A depth of 0 disables prefetching.
+ * Prefetched pages are served for {@code ttlSeconds} at most, like cached ones.
+ */
+public class PagePrefetcher implements Closeable {
+
+    private final ExecutorService executorService;
+    private final int depth;
+    private final boolean prefetchPreviousPage;
+    private final long ttlMillis;
+
+    public PagePrefetcher(
+            ExecutionMode executionMode, int threads, int depth, boolean prefetchPreviousPage, long ttlSeconds) {
+        this.executorService = depth > 0
+                ? AdvisorExecutors.newExecutor(executionMode, threads, "page-prefetcher")
+                : null;
+        this.depth = depth;
+        this.prefetchPreviousPage = prefetchPreviousPage;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    public static PagePrefetcher disabled() {
+        return new PagePrefetcher(ExecutionMode.PLATFORM, 0, 0, false, 0);
+    }
+
+    /**
+     * @return page numbers to prefetch around the current page, without overshooting the total of resources
+     */
+    List<Integer> pagesToPrefetch(int currentPageNumber, Integer totalResources, int pageSize) {
+        List<Integer> pageNumbers = new ArrayList<>();
+        if (executorService == null || totalResources == null) {
+            return pageNumbers;
+        }
+        for (int pageNumber = currentPageNumber + 1;
+             pageNumber <= currentPageNumber + depth && (pageNumber - 1) * pageSize < totalResources;
+             pageNumber++) {
+            pageNumbers.add(pageNumber);
+        }
+        if (prefetchPreviousPage && currentPageNumber > 1) {
+            pageNumbers.add(currentPageNumber - 1);
+        }
+        return pageNumbers;
+    }
+
+    <T> PrefetchedPage<T> prefetch(Supplier<T> pageSupplier) {
+        return new PrefetchedPage<>(RequestAbortion.supplyAsync(pageSupplier, executorService),
+                System.currentTimeMillis() + ttlMillis);
+    }
+
+    /**
+     * @return a page fetched in the foreground, kept so that it is not fetched again while it is fresh
+     */
+    <T> PrefetchedPage<T> fetched(T page) {
+        return new PrefetchedPage<>(CompletableFuture.completedFuture(page), System.currentTimeMillis() + ttlMillis);
+    }
+
+    @Override
+    public void close() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+        }
+    }
+
+    @RequiredArgsConstructor
+    static final class PrefetchedPage<T> {
+
+        private final CompletableFuture<T> page;
+        private final long expiresAt;
+
+        T join() {
+            return page.join();
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+
+        /**
+         * Aborts the request of a page still being fetched, so that it does not hold a connection for nothing
+         */
+        void cancel() {
+            page.cancel(true);
+        }
+    }
+}
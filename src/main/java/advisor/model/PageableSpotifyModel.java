@@ -7,4 +7,5 @@ public interface PageableSpotifyModel<T extends CommandLinePrintable> {
 
     Page<T> nextPage();
     Page<T> previousPage();
+    void cancelPrefetch();
 }
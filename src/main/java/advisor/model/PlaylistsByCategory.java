@@ -8,42 +8,38 @@ import advisor.model.service.Advisor;
 public class PlaylistsByCategory extends SpotifyResourceCollection implements PageableSpotifyModel<Playlist> {
 
     private final Advisor advisor;
+    private final CategoryIndex categoryIndex;
     private Category category;
 
-    public PlaylistsByCategory(Advisor advisor, int pageSize) {
-        super(pageSize);
+    public PlaylistsByCategory(
+            Advisor advisor, int pageSize, PagePrefetcher pagePrefetcher, CategoryIndex categoryIndex) {
+        super(pageSize, pagePrefetcher);
         this.advisor = advisor;
+        this.categoryIndex = categoryIndex;
     }
 
     public Page<Playlist> firstPage(String categoryName) {
-        category = advisor.getCategories().getElements().stream()
-                .filter(cat -> cat.getName().equals(categoryName))
-                .findFirst()
+        category = categoryIndex.findByName(categoryName)
                 .orElseThrow(() -> new AdvisorException("Unknown category name."));
-        Page<Playlist> firstPage = advisor.getCategoryPlaylists(category, 1);
-        pageNumber = 1;
-        totalResources = firstPage.getTotal();
-        return firstPage;
+        return firstPage(categoryPlaylistsFetcher());
     }
 
     @Override
     public Page<Playlist> nextPage() {
         ensureCategoryHasBeenSet();
-        ensureNextPage(pageNumber);
-        Page<Playlist> nextPage = advisor.getCategoryPlaylists(category, pageNumber + 1);
-        totalResources = nextPage.getTotal();
-        pageNumber++;
-        return nextPage;
+        return nextPage(categoryPlaylistsFetcher());
     }
 
     @Override
     public Page<Playlist> previousPage() {
         ensureCategoryHasBeenSet();
-        ensurePreviousPage(pageNumber);
-        Page<Playlist> previousPage = advisor.getCategoryPlaylists(category, pageNumber - 1);
-        totalResources = previousPage.getTotal();
-        pageNumber--;
-        return previousPage;
+        return previousPage(categoryPlaylistsFetcher());
+    }
+
+    private SpotifyResourcePageFetcher<Integer, Page<Playlist>> categoryPlaylistsFetcher() {
+        // Prefetched pages must keep the category they were requested for
+        Category currentCategory = category;
+        return pageNumber -> advisor.getCategoryPlaylists(currentCategory, pageNumber);
     }
 
     private void ensureCategoryHasBeenSet() {
@@ -0,0 +1,139 @@
+package advisor.model;
+
+import advisor.http.RequestAbortion;
+import advisor.model.dto.*;
+import advisor.model.service.Advisor;
+import lombok.Value;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Writes every element of a resource to a file. The first page tells the total, then the remaining pages
+ * are fetched concurrently, at most {@code concurrency} at a time, and written in order as soon as
+ * every page before them has been written, so that only that window of pages is held in memory.
+ * Pages are written to a temporary file next to the target one, which only replaces it once every page is written,
+ * so that a failed export leaves no partial file behind.
+ * The advisor should use the maximum page size allowed by Spotify (50), to minimize the number of requests.
+ */
+public class ResourceExporter {
+
+    private final Advisor advisor;
+    private final int pageSize;
+    private final CategoryIndex categoryIndex;
+    private final Executor executor;
+    private final int concurrency;
+
+    public ResourceExporter(
+            Advisor advisor, int pageSize, CategoryIndex categoryIndex, Executor executor, int concurrency) {
+        this.advisor = advisor;
+        this.pageSize = pageSize;
+        this.categoryIndex = categoryIndex;
+        this.executor = executor;
+        this.concurrency = concurrency;
+    }
+
+    public ExportSummary exportNewReleases(Path file) {
+        return export(advisor::getNewReleases, file);
+    }
+
+    public ExportSummary exportFeaturedPlaylists(Path file) {
+        return export(advisor::getFeaturedPlaylists, file);
+    }
+
+    public ExportSummary exportCategories(Path file) {
+        return export(advisor::getCategories, file);
+    }
+
+    public ExportSummary exportCategoryPlaylists(String categoryName, Path file) {
+        Category category = categoryIndex.findByName(categoryName)
+                .orElseThrow(() -> new AdvisorException("Unknown category name."));
+        return export(pageNumber -> advisor.getCategoryPlaylists(category, pageNumber), file);
+    }
+
+    private <T extends CommandLinePrintable> ExportSummary export(
+            SpotifyResourcePageFetcher<Integer, Page<T>> resourcePageFetcher, Path file) {
+        long startedAt = System.nanoTime();
+        Page<T> firstPage = resourcePageFetcher.getResourcePage(1);
+        int pageCount = Math.max(1, (firstPage.getTotal() + pageSize - 1) / pageSize);
+
+        Deque<CompletableFuture<Page<T>>> pendingPages = new ArrayDeque<>();
+        int nextPageNumber = 2;
+        int exportedElements = 0;
+        Path partialFile = null;
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            partialFile = Files.createTempFile(directory, file.getFileName().toString() + ".", ".part");
+            try (BufferedWriter writer = Files.newBufferedWriter(partialFile, StandardCharsets.UTF_8)) {
+                exportedElements += write(firstPage, writer);
+                while (nextPageNumber <= pageCount || !pendingPages.isEmpty()) {
+                    while (nextPageNumber <= pageCount && pendingPages.size() < concurrency) {
+                        int requestedPageNumber = nextPageNumber++;
+                        pendingPages.add(RequestAbortion.supplyAsync(
+                                () -> resourcePageFetcher.getResourcePage(requestedPageNumber), executor));
+                    }
+                    exportedElements += write(pendingPages.remove().join(), writer);
+                }
+            }
+            moveIntoPlace(partialFile, file);
+            partialFile = null;
+        } catch (IOException e) {
+            throw new AdvisorException("Export failed: " + e.getMessage());
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        } finally {
+            // Empty once every page has been written, otherwise the requests still in flight are aborted
+            pendingPages.forEach(pendingPage -> pendingPage.cancel(true));
+            deletePartialFile(partialFile);
+        }
+        return new ExportSummary(exportedElements, pageCount, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private static void moveIntoPlace(Path partialFile, Path file) throws IOException {
+        try {
+            Files.move(partialFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(partialFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deletePartialFile(Path partialFile) {
+        if (partialFile == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(partialFile);
+        } catch (IOException ignored) {
+            // Left behind with its .part suffix
+        }
+    }
+
+    private static int write(Page<? extends CommandLinePrintable> page, BufferedWriter writer) throws IOException {
+        for (CommandLinePrintable element : page.getElements()) {
+            writer.write(element.commandLineStringRepresentation());
+            writer.newLine();
+        }
+        return page.getElements().size();
+    }
+
+    @Value
+    public static class ExportSummary {
+        int elements;
+        int pages;
+        long elapsedMillis;
+
+        public double getElementsPerSecond() {
+            return elements * 1000.0 / Math.max(1, elapsedMillis);
+        }
+    }
+}
@@ -1,37 +1,57 @@
 package advisor.model;
 
+import advisor.model.PagePrefetcher.PrefetchedPage;
 import advisor.model.dto.CommandLinePrintable;
 import advisor.model.dto.Page;
-import lombok.RequiredArgsConstructor;
 
-@RequiredArgsConstructor
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 public abstract class SpotifyResourceCollection {
 
     private final int pageSize;
+    private final PagePrefetcher pagePrefetcher;
+    private final Map<Integer, PrefetchedPage<? extends Page<?>>> prefetchedPages = new HashMap<>();
+    private PrefetchedPage<? extends Page<?>> displayedPage;
     protected int pageNumber;
     protected Integer totalResources;
 
+    protected SpotifyResourceCollection(int pageSize, PagePrefetcher pagePrefetcher) {
+        this.pageSize = pageSize;
+        this.pagePrefetcher = pagePrefetcher;
+    }
+
     protected <T extends CommandLinePrintable> Page<T> firstPage(SpotifyResourcePageFetcher<Integer, Page<T>> resourcePageFetcher) {
+        cancelPrefetch();
         Page<T> firstPage = resourcePageFetcher.getResourcePage(1);
         pageNumber = 1;
+        displayedPage = pagePrefetcher.fetched(firstPage);
         totalResources = firstPage.getTotal();
+        prefetchAroundCurrentPage(resourcePageFetcher);
         return firstPage;
     }
 
     protected <T extends CommandLinePrintable> Page<T> nextPage(SpotifyResourcePageFetcher<Integer, Page<T>> resourcePageFetcher) {
         ensureNextPage(pageNumber);
-        Page<T> nextPage = resourcePageFetcher.getResourcePage(pageNumber + 1);
-        totalResources = nextPage.getTotal();
+        PrefetchedPage<Page<T>> nextPage = getPage(pageNumber + 1, resourcePageFetcher);
+        totalResources = nextPage.join().getTotal();
+        keepDisplayedPage();
         pageNumber++;
-        return nextPage;
+        displayedPage = nextPage;
+        prefetchAroundCurrentPage(resourcePageFetcher);
+        return nextPage.join();
     }
 
     protected <T extends CommandLinePrintable> Page<T> previousPage(SpotifyResourcePageFetcher<Integer, Page<T>> resourcePageFetcher) {
         ensurePreviousPage(pageNumber);
-        Page<T> previousPage = resourcePageFetcher.getResourcePage(pageNumber - 1);
-        totalResources = previousPage.getTotal();
+        PrefetchedPage<Page<T>> previousPage = getPage(pageNumber - 1, resourcePageFetcher);
+        totalResources = previousPage.join().getTotal();
+        keepDisplayedPage();
         pageNumber--;
-        return previousPage;
+        displayedPage = previousPage;
+        prefetchAroundCurrentPage(resourcePageFetcher);
+        return previousPage.join();
     }
 
     protected void ensureNextPage(int currentPageNumber) {
@@ -45,6 +65,55 @@ public abstract class SpotifyResourceCollection {
             throw new AdvisorException("No previous pages");
         }
     }
+
+    public void cancelPrefetch() {
+        prefetchedPages.values().forEach(PrefetchedPage::cancel);
+        prefetchedPages.clear();
+        displayedPage = null;
+    }
+
+    /**
+     * The page being left is not fetched again if it is within the prefetch window of the next current page,
+     * e.g. as its previous page
+     */
+    private void keepDisplayedPage() {
+        if (displayedPage != null && !displayedPage.isExpired()) {
+            prefetchedPages.putIfAbsent(pageNumber, displayedPage);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends CommandLinePrintable> PrefetchedPage<Page<T>> getPage(
+            int requestedPageNumber, SpotifyResourcePageFetcher<Integer, Page<T>> resourcePageFetcher) {
+        PrefetchedPage<? extends Page<?>> prefetchedPage = prefetchedPages.remove(requestedPageNumber);
+        if (prefetchedPage != null && !prefetchedPage.isExpired()) {
+            try {
+                prefetchedPage.join();
+                return (PrefetchedPage<Page<T>>) (PrefetchedPage<?>) prefetchedPage;
+            } catch (RuntimeException ignored) {
+                // A failed prefetch is retried in the foreground, so that its error reaches the user
+            }
+        }
+        if (prefetchedPage != null) {
+            prefetchedPage.cancel();
+        }
+        return pagePrefetcher.fetched(resourcePageFetcher.getResourcePage(requestedPageNumber));
+    }
+
+    private <T extends CommandLinePrintable> void prefetchAroundCurrentPage(
+            SpotifyResourcePageFetcher<Integer, Page<T>> resourcePageFetcher) {
+        List<Integer> pageNumbersToPrefetch = pagePrefetcher.pagesToPrefetch(pageNumber, totalResources, pageSize);
+        prefetchedPages.entrySet().removeIf(prefetchedPage -> {
+            boolean dropped = !pageNumbersToPrefetch.contains(prefetchedPage.getKey())
+                    || prefetchedPage.getValue().isExpired();
+            if (dropped) {
+                prefetchedPage.getValue().cancel();
+            }
+            return dropped;
+        });
+        pageNumbersToPrefetch.forEach(pageNumberToPrefetch -> prefetchedPages.computeIfAbsent(pageNumberToPrefetch,
+                pageNumberKey -> pagePrefetcher.prefetch(() -> resourcePageFetcher.getResourcePage(pageNumberKey))));
+    }
 }
 
 @FunctionalInterface
@@ -0,0 +1,48 @@
+package advisor.model.deserializer;
+
+import advisor.model.dto.Artist;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+import static advisor.model.deserializer.SpotifyJsonReaders.nextNullableString;
+
+/**
+ * Stateless, so a single instance is shared by every release of every page
+ */
+public class ArtistTypeAdapter extends SpotifyObjectTypeAdapter<Artist> {
+
+    private static final String NAME = "name";
+
+    @Override
+    public String fields() {
+        return NAME;
+    }
+
+    @Override
+    public Artist read(JsonReader in) throws IOException {
+        String name = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            if (NAME.equals(in.nextName())) {
+                name = nextNullableString(in);
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return new Artist(name);
+    }
+
+    @Override
+    public void write(JsonWriter out, Artist artist) throws IOException {
+        if (artist == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name(NAME).value(artist.getName());
+        out.endObject();
+    }
+}
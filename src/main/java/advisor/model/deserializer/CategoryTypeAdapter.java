@@ -0,0 +1,54 @@
+package advisor.model.deserializer;
+
+import advisor.model.dto.Category;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+import static advisor.model.deserializer.SpotifyJsonReaders.nextNullableString;
+
+public class CategoryTypeAdapter extends SpotifyObjectTypeAdapter<Category> {
+
+    private static final String NAME = "name";
+    private static final String ID = "id";
+
+    @Override
+    public String fields() {
+        return String.join(",", NAME, ID);
+    }
+
+    @Override
+    public Category read(JsonReader in) throws IOException {
+        String name = null;
+        String id = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case NAME:
+                    name = nextNullableString(in);
+                    break;
+                case ID:
+                    id = nextNullableString(in);
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return new Category(name, id);
+    }
+
+    @Override
+    public void write(JsonWriter out, Category category) throws IOException {
+        if (category == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name(NAME).value(category.getName());
+        out.name(ID).value(category.getId());
+        out.endObject();
+    }
+}
@@ -0,0 +1,103 @@
+package advisor.model.deserializer;
+
+import advisor.model.dto.CommandLinePrintable;
+import advisor.model.dto.Page;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the paging object under the entity key straight from the token stream, without building a JSON tree,
+ * and skips every field other than items and total. A response without the entity key, e.g. an error body sent
+ * with a 200 status, is rejected with a {@link JsonParseException}.
+ * Page number is not part of Spotify's response, so decoded pages have page number 0.
+ * The caller sets the requested page number with {@link Page#withPageNumber(int)}.
+ */
+@RequiredArgsConstructor
+public class PageTypeAdapter<T extends CommandLinePrintable> extends SpotifyObjectTypeAdapter<Page<T>> {
+
+    private static final String ITEMS = "items";
+    private static final String TOTAL = "total";
+    private final String entityKey;
+    private final SpotifyObjectTypeAdapter<T> elementTypeAdapter;
+
+    @Override
+    public String fields() {
+        return entityKey + "(" + ITEMS + "(" + elementTypeAdapter.fields() + ")," + TOTAL + ")";
+    }
+
+    @Override
+    public Page<T> read(JsonReader in) throws IOException {
+        Page<T> page = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            if (entityKey.equals(in.nextName())) {
+                page = readPagingObject(in);
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        if (page == null) {
+            throw new JsonParseException("No " + entityKey + " in the response");
+        }
+        return page;
+    }
+
+    @Override
+    public void write(JsonWriter out, Page<T> page) throws IOException {
+        if (page == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name(entityKey).beginObject();
+        out.name(ITEMS).beginArray();
+        for (T element : page.getElements()) {
+            elementTypeAdapter.write(out, element);
+        }
+        out.endArray();
+        out.name(TOTAL).value(page.getTotal());
+        out.endObject();
+        out.endObject();
+    }
+
+    private Page<T> readPagingObject(JsonReader in) throws IOException {
+        List<T> elements = new ArrayList<>();
+        int total = 0;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case ITEMS:
+                    readElements(in, elements);
+                    break;
+                case TOTAL:
+                    total = in.nextInt();
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return new Page<>(elements, total, 0);
+    }
+
+    private void readElements(JsonReader in, List<T> elements) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return;
+        }
+        in.beginArray();
+        while (in.hasNext()) {
+            elements.add(elementTypeAdapter.read(in));
+        }
+        in.endArray();
+    }
+}
@@ -0,0 +1,52 @@
+package advisor.model.deserializer;
+
+import advisor.model.dto.Playlist;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+import static advisor.model.deserializer.SpotifyJsonReaders.*;
+
+public class PlaylistTypeAdapter extends SpotifyObjectTypeAdapter<Playlist> {
+
+    private static final String NAME = "name";
+
+    @Override
+    public String fields() {
+        return String.join(",", NAME, SPOTIFY_LINK_FIELDS);
+    }
+
+    @Override
+    public Playlist read(JsonReader in) throws IOException {
+        Playlist.PlaylistBuilder playlist = Playlist.builder();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case NAME:
+                    playlist.title(nextNullableString(in));
+                    break;
+                case EXTERNAL_URLS:
+                    playlist.link(nextSpotifyLink(in));
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return playlist.build();
+    }
+
+    @Override
+    public void write(JsonWriter out, Playlist playlist) throws IOException {
+        if (playlist == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name(NAME).value(playlist.getTitle());
+        writeSpotifyLink(out, playlist.getLink());
+        out.endObject();
+    }
+}
@@ -0,0 +1,93 @@
+package advisor.model.deserializer;
+
+import advisor.model.dto.Artist;
+import advisor.model.dto.Release;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static advisor.model.deserializer.SpotifyJsonReaders.*;
+
+public class ReleaseTypeAdapter extends SpotifyObjectTypeAdapter<Release> {
+
+    private static final String NAME = "name";
+    private static final String ARTISTS = "artists";
+    private final SpotifyObjectTypeAdapter<Artist> artistTypeAdapter;
+
+    public ReleaseTypeAdapter() {
+        this(new ArtistTypeAdapter());
+    }
+
+    public ReleaseTypeAdapter(SpotifyObjectTypeAdapter<Artist> artistTypeAdapter) {
+        this.artistTypeAdapter = artistTypeAdapter;
+    }
+
+    @Override
+    public String fields() {
+        return String.join(",", NAME, SPOTIFY_LINK_FIELDS, ARTISTS + "(" + artistTypeAdapter.fields() + ")");
+    }
+
+    @Override
+    public Release read(JsonReader in) throws IOException {
+        Release.ReleaseBuilder release = Release.builder();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case NAME:
+                    release.title(nextNullableString(in));
+                    break;
+                case EXTERNAL_URLS:
+                    release.link(nextSpotifyLink(in));
+                    break;
+                case ARTISTS:
+                    release.artists(readArtists(in));
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return release.build();
+    }
+
+    private List<Artist> readArtists(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<Artist> artists = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            artists.add(artistTypeAdapter.read(in));
+        }
+        in.endArray();
+        return artists;
+    }
+
+    @Override
+    public void write(JsonWriter out, Release release) throws IOException {
+        if (release == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name(NAME).value(release.getTitle());
+        writeSpotifyLink(out, release.getLink());
+        out.name(ARTISTS);
+        if (release.getArtists() == null) {
+            out.nullValue();
+        } else {
+            out.beginArray();
+            for (Artist artist : release.getArtists()) {
+                artistTypeAdapter.write(out, artist);
+            }
+            out.endArray();
+        }
+        out.endObject();
+    }
+}
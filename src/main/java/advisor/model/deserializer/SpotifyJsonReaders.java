@@ -0,0 +1,63 @@
+package advisor.model.deserializer;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Reading and writing helpers shared by the streaming type adapters of the Spotify Web API objects
+ */
+final class SpotifyJsonReaders {
+
+    static final String EXTERNAL_URLS = "external_urls";
+    static final String SPOTIFY = "spotify";
+    static final String SPOTIFY_LINK_FIELDS = EXTERNAL_URLS + "(" + SPOTIFY + ")";
+
+    private SpotifyJsonReaders() {
+    }
+
+    static String nextNullableString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    /**
+     * @return the "spotify" URL of an external_urls object
+     */
+    static String nextSpotifyLink(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        String link = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            if (SPOTIFY.equals(in.nextName())) {
+                link = nextNullableString(in);
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return link;
+    }
+
+    /**
+     * Writes the link as the "spotify" URL of an external_urls object
+     */
+    static void writeSpotifyLink(JsonWriter out, String link) throws IOException {
+        out.name(EXTERNAL_URLS);
+        if (link == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name(SPOTIFY).value(link);
+        out.endObject();
+    }
+}
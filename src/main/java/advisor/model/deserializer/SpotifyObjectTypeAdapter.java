@@ -0,0 +1,14 @@
+package advisor.model.deserializer;
+
+import com.google.gson.TypeAdapter;
+
+/**
+ * Streaming reader of a Spotify Web API object, which also describes the fields it reads
+ * in the syntax of the Web API fields query parameter, e.g. {@code name,external_urls(spotify)},
+ * so that only those are requested.
+ * Objects are written with those fields only, in the shape they are read.
+ */
+public abstract class SpotifyObjectTypeAdapter<T> extends TypeAdapter<T> {
+
+    public abstract String fields();
+}
@@ -1,13 +1,26 @@
 package advisor.model.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Value;
+import lombok.With;
 
 import java.util.List;
 
 @Value
+@AllArgsConstructor
 public class Page<T extends CommandLinePrintable> {
 
     List<T> elements;
     int total;
+    @With
     int pageNumber;
+    /**
+     * Last known good page, served because the Web API is currently unavailable
+     */
+    @With
+    boolean stale;
+
+    public Page(List<T> elements, int total, int pageNumber) {
+        this(elements, total, pageNumber, false);
+    }
 }
@@ -0,0 +1,21 @@
+package advisor.model.service;
+
+import advisor.model.dto.Category;
+import advisor.model.dto.Page;
+import advisor.model.dto.Playlist;
+import advisor.model.dto.Release;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncAdvisor {
+
+    CompletableFuture<Page<Category>> getCategories(int pageNumber);
+
+    CompletableFuture<Page<Category>> getCategories();
+
+    CompletableFuture<Page<Release>> getNewReleases(int pageNumber);
+
+    CompletableFuture<Page<Playlist>> getCategoryPlaylists(Category category, int pageNumber);
+
+    CompletableFuture<Page<Playlist>> getFeaturedPlaylists(int pageNumber);
+}
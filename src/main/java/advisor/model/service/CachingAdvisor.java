@@ -0,0 +1,229 @@
+package advisor.model.service;
+
+import advisor.model.dto.*;
+import advisor.model.service.PageStore.StoredPage;
+import lombok.Value;
+
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory cache of the pages returned by another {@link Advisor}, so that paging back and forth
+ * does not hit the network for pages that have just been displayed.
+ * Pages expire after a TTL, and the least recently used ones are evicted when the estimated retained bytes
+ * exceed the configured maximum.
+ * On a miss, the {@link PageStore} (e.g. a {@link DiskPageStore} that survives restarts) is consulted
+ * before going to the delegate. Its pages are keyed by resource host and page size too, since both may change
+ * between runs, and are copied into memory until their own expiry.
+ * The store is best effort: when it cannot be read or written (e.g. a full disk), the page is fetched or only
+ * kept in memory, and the failure is counted.
+ */
+public class CachingAdvisor implements Advisor {
+
+    // Rough JVM footprint of a cached Page (key, entry, Page, list) and of each of its elements
+    private static final int PAGE_OVERHEAD_BYTES = 200;
+    private static final int ELEMENT_OVERHEAD_BYTES = 100;
+    private final Advisor delegate;
+    private final String resourceHost;
+    private final int pageSize;
+    private final String locale;
+    private final long ttlMillis;
+    private final long maxRetainedBytes;
+    private final PageStore pageStore;
+    private final Map<PageKey, CachedPage> pages = new LinkedHashMap<>(16, 0.75f, true);
+    // Not a monitor, so that virtual threads waiting for it do not pin their carrier thread
+    private final Lock lock = new ReentrantLock();
+    private long retainedBytes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder storeHits = new LongAdder();
+    private final LongAdder storeFailures = new LongAdder();
+
+    /**
+     * @param resourceHost host of the Web API the delegate gets its pages from
+     * @param pageSize elements per page of the delegate
+     */
+    public CachingAdvisor(
+            Advisor delegate,
+            String resourceHost,
+            int pageSize,
+            String locale,
+            long ttlSeconds,
+            long maxRetainedBytes,
+            PageStore pageStore) {
+        this.delegate = delegate;
+        this.resourceHost = resourceHost;
+        this.pageSize = pageSize;
+        this.locale = locale;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxRetainedBytes = maxRetainedBytes;
+        this.pageStore = pageStore;
+    }
+
+    @Override
+    public Page<Category> getCategories(int pageNumber) {
+        return getPage(new PageKey("categories", null, pageNumber, locale),
+                () -> delegate.getCategories(pageNumber));
+    }
+
+    @Override
+    public Page<Category> getCategories() {
+        return getPage(new PageKey("categories", null, 0, locale), delegate::getCategories);
+    }
+
+    @Override
+    public Page<Release> getNewReleases(int pageNumber) {
+        return getPage(new PageKey("new-releases", null, pageNumber, locale),
+                () -> delegate.getNewReleases(pageNumber));
+    }
+
+    @Override
+    public Page<Playlist> getCategoryPlaylists(Category category, int pageNumber) {
+        return getPage(new PageKey("category-playlists", category.getId(), pageNumber, locale),
+                () -> delegate.getCategoryPlaylists(category, pageNumber));
+    }
+
+    @Override
+    public Page<Playlist> getFeaturedPlaylists(int pageNumber) {
+        return getPage(new PageKey("featured-playlists", null, pageNumber, locale),
+                () -> delegate.getFeaturedPlaylists(pageNumber));
+    }
+
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long requestCount = hitCount + misses.sum();
+        return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+    }
+
+    public long getStoreHits() {
+        return storeHits.sum();
+    }
+
+    public long getStoreFailures() {
+        return storeFailures.sum();
+    }
+
+    public long getRetainedBytes() {
+        lock.lock();
+        try {
+            return retainedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends CommandLinePrintable> Page<T> getPage(PageKey pageKey, Supplier<Page<T>> pageFetcher) {
+        lock.lock();
+        try {
+            CachedPage cachedPage = pages.get(pageKey);
+            if (cachedPage != null && System.currentTimeMillis() < cachedPage.getExpiresAt()) {
+                hits.increment();
+                return (Page<T>) cachedPage.getPage();
+            }
+            if (cachedPage != null) {
+                remove(pageKey);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        misses.increment();
+        // Fetched without holding the lock, so that concurrent requests for other pages are not blocked
+        String storeKey = storeKey(pageKey);
+        Optional<StoredPage<T>> storedPage = getStoredPage(storeKey);
+        if (storedPage.isPresent()) {
+            storeHits.increment();
+            put(pageKey, storedPage.get().getPage(),
+                    Math.min(storedPage.get().getExpiresAt(), System.currentTimeMillis() + ttlMillis));
+            return storedPage.get().getPage();
+        }
+        Page<T> page = pageFetcher.get();
+        // Stale pages must not outlive the outage they were served for
+        if (!page.isStale()) {
+            put(pageKey, page, System.currentTimeMillis() + ttlMillis);
+            storePage(storeKey, page);
+        }
+        return page;
+    }
+
+    private <T extends CommandLinePrintable> Optional<StoredPage<T>> getStoredPage(String storeKey) {
+        try {
+            return pageStore.get(storeKey);
+        } catch (UncheckedIOException e) {
+            storeFailures.increment();
+            return Optional.empty();
+        }
+    }
+
+    private void storePage(String storeKey, Page<?> page) {
+        try {
+            pageStore.put(storeKey, page);
+        } catch (UncheckedIOException e) {
+            storeFailures.increment();
+        }
+    }
+
+    private String storeKey(PageKey pageKey) {
+        return String.join("/", resourceHost, String.valueOf(pageSize), pageKey.getMethod(),
+                String.valueOf(pageKey.getCategoryId()), String.valueOf(pageKey.getPageNumber()), pageKey.getLocale());
+    }
+
+    private void put(PageKey pageKey, Page<?> page, long expiresAt) {
+        long estimatedBytes = estimateRetainedBytes(page);
+        if (estimatedBytes > maxRetainedBytes) {
+            return;
+        }
+        lock.lock();
+        try {
+            remove(pageKey);
+            pages.put(pageKey, new CachedPage(page, estimatedBytes, expiresAt));
+            retainedBytes += estimatedBytes;
+
+            Iterator<CachedPage> leastRecentlyUsedPages = pages.values().iterator();
+            while (retainedBytes > maxRetainedBytes && leastRecentlyUsedPages.hasNext()) {
+                retainedBytes -= leastRecentlyUsedPages.next().getEstimatedBytes();
+                leastRecentlyUsedPages.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(PageKey pageKey) {
+        CachedPage removedPage = pages.remove(pageKey);
+        if (removedPage != null) {
+            retainedBytes -= removedPage.getEstimatedBytes();
+        }
+    }
+
+    private static long estimateRetainedBytes(Page<?> page) {
+        long estimatedBytes = PAGE_OVERHEAD_BYTES;
+        for (CommandLinePrintable element : page.getElements()) {
+            estimatedBytes += ELEMENT_OVERHEAD_BYTES + 2L * element.commandLineStringRepresentation().length();
+        }
+        return estimatedBytes;
+    }
+
+    @Value
+    private static class PageKey {
+        String method;
+        String categoryId;
+        int pageNumber;
+        String locale;
+    }
+
+    @Value
+    private static class CachedPage {
+        Page<?> page;
+        long estimatedBytes;
+        long expiresAt;
+    }
+}
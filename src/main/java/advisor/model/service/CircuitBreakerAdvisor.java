@@ -0,0 +1,279 @@
+package advisor.model.service;
+
+import advisor.model.AdvisorException;
+import advisor.model.dto.*;
+import lombok.Value;
+
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Stops calling another {@link Advisor} while it is failing, so that commands do not block until a timeout
+ * during an upstream incident.
+ * The circuit opens when the failure rate of the last calls reaches the configured threshold. While open,
+ * the last known good page for the same request is served, marked as stale, or a {@link CircuitOpenException}
+ * is thrown if there is none. Once the open duration has elapsed, a few trial calls are let through:
+ * the circuit closes if they succeed and opens again if any of them fails.
+ * Only errors of a transient nature count as failures, i.e. retryable {@link ResourceException}s and I/O errors:
+ * e.g. a category that does not exist does not, and neither does an unexpected exception, such as a bug
+ * in decoding, which says nothing about the availability of the Web API.
+ */
+public class CircuitBreakerAdvisor implements Advisor {
+
+    public enum State {CLOSED, OPEN, HALF_OPEN}
+
+    private final Advisor delegate;
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final long openDurationNanos;
+    private final int halfOpenTrialCalls;
+    private final int maxStalePages;
+    // Outcomes of the last calls in a ring buffer, true for failures
+    private final boolean[] outcomes;
+    private final Map<PageKey, Page<?>> lastGoodPages = new LinkedHashMap<>(16, 0.75f, true);
+    private final Lock lock = new ReentrantLock();
+    private State state = State.CLOSED;
+    private int nextSlot;
+    private int recordedCalls;
+    private int failedCalls;
+    private long openedAt;
+    private int permittedTrialCalls;
+    private int succeededTrialCalls;
+    private final LongAdder staleResponses = new LongAdder();
+    private final LongAdder rejectedCalls = new LongAdder();
+
+    /**
+     * @param failureRateThreshold fraction of failed calls among the last {@code windowSize} ones opening the circuit
+     * @param minimumCalls calls recorded before the failure rate is considered
+     * @param maxStalePages last known good pages kept, the least recently used ones are evicted
+     */
+    public CircuitBreakerAdvisor(
+            Advisor delegate,
+            double failureRateThreshold,
+            int windowSize,
+            int minimumCalls,
+            long openDurationMillis,
+            int halfOpenTrialCalls,
+            int maxStalePages) {
+        this.delegate = delegate;
+        this.failureRateThreshold = failureRateThreshold;
+        this.outcomes = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.openDurationNanos = openDurationMillis * 1_000_000;
+        this.halfOpenTrialCalls = halfOpenTrialCalls;
+        this.maxStalePages = maxStalePages;
+    }
+
+    @Override
+    public Page<Category> getCategories(int pageNumber) {
+        return call(new PageKey("categories", null, pageNumber), () -> delegate.getCategories(pageNumber));
+    }
+
+    @Override
+    public Page<Category> getCategories() {
+        return call(new PageKey("categories", null, 0), delegate::getCategories);
+    }
+
+    @Override
+    public Page<Release> getNewReleases(int pageNumber) {
+        return call(new PageKey("new-releases", null, pageNumber), () -> delegate.getNewReleases(pageNumber));
+    }
+
+    @Override
+    public Page<Playlist> getCategoryPlaylists(Category category, int pageNumber) {
+        return call(new PageKey("category-playlists", category.getId(), pageNumber),
+                () -> delegate.getCategoryPlaylists(category, pageNumber));
+    }
+
+    @Override
+    public Page<Playlist> getFeaturedPlaylists(int pageNumber) {
+        return call(new PageKey("featured-playlists", null, pageNumber),
+                () -> delegate.getFeaturedPlaylists(pageNumber));
+    }
+
+    public State getState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getStaleResponses() {
+        return staleResponses.sum();
+    }
+
+    /**
+     * Calls not sent to the delegate because the circuit was open, with no stale page to serve
+     */
+    public long getRejectedCalls() {
+        return rejectedCalls.sum();
+    }
+
+    private <T extends CommandLinePrintable> Page<T> call(PageKey pageKey, Supplier<Page<T>> pageFetcher) {
+        boolean trialCall;
+        lock.lock();
+        try {
+            if (state == State.OPEN && System.nanoTime() - openedAt >= openDurationNanos) {
+                state = State.HALF_OPEN;
+                permittedTrialCalls = 0;
+                succeededTrialCalls = 0;
+            }
+            trialCall = state == State.HALF_OPEN && permittedTrialCalls < halfOpenTrialCalls;
+            if (state == State.OPEN || state == State.HALF_OPEN && !trialCall) {
+                return lastGoodPage(pageKey);
+            }
+            if (trialCall) {
+                permittedTrialCalls++;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        Page<T> page;
+        try {
+            page = pageFetcher.get();
+        } catch (ResourceException e) {
+            if (!e.isRetryable()) {
+                recordSuccess(trialCall);
+                throw e;
+            }
+            return lastGoodPageAfterFailure(pageKey, trialCall, e);
+        } catch (UncheckedIOException e) {
+            return lastGoodPageAfterFailure(pageKey, trialCall, e);
+        } catch (RuntimeException e) {
+            releaseTrialCall(trialCall);
+            throw e;
+        }
+        lock.lock();
+        try {
+            lastGoodPages.put(pageKey, page);
+            if (lastGoodPages.size() > maxStalePages) {
+                lastGoodPages.remove(lastGoodPages.keySet().iterator().next());
+            }
+        } finally {
+            lock.unlock();
+        }
+        recordSuccess(trialCall);
+        return page;
+    }
+
+    private <T extends CommandLinePrintable> Page<T> lastGoodPageAfterFailure(
+            PageKey pageKey, boolean trialCall, RuntimeException failure) {
+        lock.lock();
+        try {
+            recordFailure(trialCall);
+            // The call that opened the circuit gets a stale page too, when there is one
+            if (state == State.CLOSED || !lastGoodPages.containsKey(pageKey)) {
+                throw failure;
+            }
+            return lastGoodPage(pageKey);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends CommandLinePrintable> Page<T> lastGoodPage(PageKey pageKey) {
+        Page<T> lastGoodPage = (Page<T>) lastGoodPages.get(pageKey);
+        if (lastGoodPage == null) {
+            rejectedCalls.increment();
+            throw new CircuitOpenException();
+        }
+        staleResponses.increment();
+        return lastGoodPage.withStale(true);
+    }
+
+    private void recordSuccess(boolean trialCall) {
+        lock.lock();
+        try {
+            if (trialCall) {
+                if (state == State.HALF_OPEN && ++succeededTrialCalls == halfOpenTrialCalls) {
+                    close();
+                }
+                return;
+            }
+            record(false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A call that neither succeeded nor failed gives its trial permit back
+     */
+    private void releaseTrialCall(boolean trialCall) {
+        if (!trialCall) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                permittedTrialCalls--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recordFailure(boolean trialCall) {
+        if (trialCall) {
+            if (state == State.HALF_OPEN) {
+                open();
+            }
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && recordedCalls >= minimumCalls
+                && (double) failedCalls / recordedCalls >= failureRateThreshold) {
+            open();
+        }
+    }
+
+    private void record(boolean failed) {
+        if (recordedCalls == outcomes.length && outcomes[nextSlot]) {
+            failedCalls--;
+        }
+        outcomes[nextSlot] = failed;
+        if (failed) {
+            failedCalls++;
+        }
+        nextSlot = (nextSlot + 1) % outcomes.length;
+        recordedCalls = Math.min(recordedCalls + 1, outcomes.length);
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        recordedCalls = 0;
+        failedCalls = 0;
+        nextSlot = 0;
+    }
+
+    /**
+     * Thrown instead of calling the Web API while it is known to be unavailable
+     */
+    public static class CircuitOpenException extends AdvisorException {
+
+        public CircuitOpenException() {
+            super("Spotify is currently unavailable, please try again later");
+        }
+    }
+
+    @Value
+    private static class PageKey {
+        String method;
+        String categoryId;
+        int pageNumber;
+    }
+}
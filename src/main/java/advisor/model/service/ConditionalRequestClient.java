@@ -0,0 +1,112 @@
+package advisor.model.service;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.apache.http.HttpStatus.SC_NOT_MODIFIED;
+import static org.apache.http.HttpStatus.SC_OK;
+
+/**
+ * Serves still fresh responses without going to the network, and revalidates stale ones with If-None-Match.
+ * In both cases the body is not transferred nor decoded again: the response body is a {@link ReusedBody}
+ * holding the previously decoded one, which {@link ConditionalResponseDecoder} returns as is.
+ * It travels with the response, so it cannot be lost if its cache entry is evicted in between.
+ */
+@RequiredArgsConstructor
+class ConditionalRequestClient implements Client {
+
+    private final Client delegate;
+    private final ResponseValidationCache cache;
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        if (request.httpMethod() != Request.HttpMethod.GET) {
+            return delegate.execute(request, options);
+        }
+
+        Optional<ResponseValidationCache.Entry> entry = cache.get(request.url());
+        if (entry.isPresent() && entry.get().isFresh()) {
+            cache.recordHit();
+            return reusedEntryResponse(request, entry.get());
+        }
+        if (entry.isEmpty() || entry.get().getEtag() == null) {
+            cache.recordMiss();
+            return delegate.execute(request, options);
+        }
+
+        Response response = delegate.execute(withIfNoneMatch(request, entry.get().getEtag()), options);
+        if (response.status() != SC_NOT_MODIFIED) {
+            cache.recordMiss();
+            return response;
+        }
+        response.close();
+        cache.recordRevalidation();
+        cache.refresh(request.url(), entry.get(), response.headers());
+        return reusedEntryResponse(request, entry.get());
+    }
+
+    private Response reusedEntryResponse(Request request, ResponseValidationCache.Entry entry) {
+        return Response.builder()
+                .status(SC_OK)
+                .request(request)
+                .headers(Map.of())
+                .body(new ReusedBody(entry.getDecodedBody()))
+                .build();
+    }
+
+    private static Request withIfNoneMatch(Request request, String etag) {
+        Map<String, Collection<String>> headers = new HashMap<>(request.headers());
+        headers.put("If-None-Match", new ArrayList<>(List.of(etag)));
+        return Request.create(request.httpMethod(), request.url(), headers,
+                request.body(), request.charset(), request.requestTemplate());
+    }
+
+    /**
+     * Empty body of a response served from the cache, holding the body decoded from the cached response
+     */
+    @RequiredArgsConstructor
+    static final class ReusedBody implements Response.Body {
+
+        @Getter
+        private final Object decodedBody;
+
+        @Override
+        public Integer length() {
+            return 0;
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return true;
+        }
+
+        @Override
+        public InputStream asInputStream() {
+            return InputStream.nullInputStream();
+        }
+
+        @Override
+        public Reader asReader(Charset charset) {
+            return Reader.nullReader();
+        }
+
+        @Override
+        public void close() {
+            // Nothing to release
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package advisor.model.service;
+
+import feign.Response;
+import feign.codec.Decoder;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+@RequiredArgsConstructor
+class ConditionalResponseDecoder implements Decoder {
+
+    private final Decoder delegate;
+    private final ResponseValidationCache cache;
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException {
+        if (response.body() instanceof ConditionalRequestClient.ReusedBody) {
+            return ((ConditionalRequestClient.ReusedBody) response.body()).getDecodedBody();
+        }
+
+        Object decodedBody = delegate.decode(response, type);
+        cache.store(response.request().url(), response.headers(), decodedBody);
+        return decodedBody;
+    }
+}
@@ -0,0 +1,355 @@
+package advisor.model.service;
+
+import advisor.model.dto.CommandLinePrintable;
+import advisor.model.dto.Page;
+import lombok.Value;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Page store persisted in append-only, memory-mapped segment files, so that pages survive restarts.
+ * <p>
+ * Each record has a fixed size header (magic number, key length, payload length, expiry timestamp and
+ * CRC32 checksum) followed by the key and the {@link PageCodec} encoded page. On startup all segments are
+ * mapped and scanned to rebuild the in-memory index; records from later segments win. Records with a wrong
+ * checksum (e.g. partially written before a crash) end the scan of their segment.
+ * The segments are compacted on startup and then periodically in the background, keeping only the latest
+ * non-expired record of each key, so that they do not pile up over many short runs.
+ */
+public class DiskPageStore implements PageStore, Closeable {
+
+    private static final int MAGIC = 0x50414745;
+    private static final int HEADER_BYTES = 24;
+    private static final String SEGMENT_PREFIX = "pages-";
+    private static final String SEGMENT_SUFFIX = ".segment";
+    // Every run appends to a new segment, so segments are merged once there are more than these
+    static final int MAX_SEGMENTS = 8;
+    private final Path directory;
+    private final long ttlMillis;
+    private final long maxSegmentBytes;
+    private final Map<String, RecordLocation> index = new ConcurrentHashMap<>();
+    private final Map<Integer, Segment> segments = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ScheduledExecutorService compactionExecutor;
+    private Segment activeSegment;
+
+    public DiskPageStore(Path directory, long ttlSeconds, long maxSegmentBytes, long compactionIntervalSeconds) {
+        this.directory = directory;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxSegmentBytes = maxSegmentBytes;
+        try {
+            Files.createDirectories(directory);
+            loadSegments();
+            compact();
+            if (activeSegment == null) {
+                activeSegment = openSegment(nextSegmentId());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        compactionExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "disk-page-store-compaction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        compactionExecutor.scheduleWithFixedDelay(this::compact,
+                compactionIntervalSeconds, compactionIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public <T extends CommandLinePrintable> Optional<StoredPage<T>> get(String key) {
+        RecordLocation location = index.get(key);
+        if (location == null || location.getExpiresAt() <= System.currentTimeMillis()) {
+            return Optional.empty();
+        }
+        Segment segment = segments.get(location.getSegmentId());
+        if (segment == null) {
+            // Compacted away after the index lookup
+            return get(key);
+        }
+        try {
+            return readPayload(segment.read(location.getOffset(), location.getLength()))
+                    .map(payload -> new StoredPage<>(PageCodec.<T>decode(payload), location.getExpiresAt()));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void put(String key, Page<?> page) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] payload = PageCodec.encode(page);
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + keyBytes.length + payload.length)
+                .putInt(MAGIC)
+                .putInt(keyBytes.length)
+                .putInt(payload.length)
+                .putLong(expiresAt)
+                .putInt(checksum(keyBytes, expiresAt, payload))
+                .put(keyBytes)
+                .put(payload);
+        record.flip();
+
+        writeLock.lock();
+        try {
+            if (activeSegment.size() >= maxSegmentBytes) {
+                activeSegment = openSegment(nextSegmentId());
+            }
+            long offset = activeSegment.append(record);
+            index.put(key, new RecordLocation(activeSegment.getId(), offset, record.capacity(), expiresAt));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Rewrites the latest non-expired record of every key into new segments, and deletes the previous ones.
+     * Skipped while at least half of the stored bytes are still live, unless there are too many segments.
+     */
+    void compact() {
+        writeLock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            Map<String, RecordLocation> liveRecords = new HashMap<>(index);
+            long liveBytes = liveRecords.values().stream().mapToLong(RecordLocation::getLength).sum();
+            boolean anyExpired = liveRecords.values().stream().anyMatch(location -> location.getExpiresAt() <= now);
+            long storedBytes = 0;
+            for (Segment segment : segments.values()) {
+                storedBytes += segment.size();
+            }
+            if (!anyExpired && liveBytes * 2 >= storedBytes && segments.size() <= MAX_SEGMENTS) {
+                return;
+            }
+
+            Set<Integer> previousSegmentIds = new HashSet<>(segments.keySet());
+            activeSegment = openSegment(nextSegmentId());
+            for (Map.Entry<String, RecordLocation> entry : liveRecords.entrySet()) {
+                RecordLocation location = entry.getValue();
+                if (location.getExpiresAt() <= now) {
+                    index.remove(entry.getKey());
+                    continue;
+                }
+                ByteBuffer record = segments.get(location.getSegmentId())
+                        .read(location.getOffset(), location.getLength());
+                if (activeSegment.size() >= maxSegmentBytes) {
+                    activeSegment = openSegment(nextSegmentId());
+                }
+                long offset = activeSegment.append(record);
+                index.put(entry.getKey(), new RecordLocation(activeSegment.getId(), offset,
+                        location.getLength(), location.getExpiresAt()));
+            }
+            for (Integer segmentId : previousSegmentIds) {
+                segments.remove(segmentId).delete();
+            }
+        } catch (IOException e) {
+            // Previous segments are kept, so that no page is lost. Compaction will be retried on the next run
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        compactionExecutor.shutdownNow();
+        writeLock.lock();
+        try {
+            for (Segment segment : segments.values()) {
+                segment.close();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void loadSegments() throws IOException {
+        List<Path> segmentFiles;
+        try (Stream<Path> files = Files.list(directory)) {
+            segmentFiles = files
+                    .filter(file -> file.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted(Comparator.comparingInt(DiskPageStore::segmentId))
+                    .collect(Collectors.toList());
+        }
+        long now = System.currentTimeMillis();
+        for (Path segmentFile : segmentFiles) {
+            // Left by runs that stored no page
+            if (Files.size(segmentFile) == 0) {
+                Files.delete(segmentFile);
+                continue;
+            }
+            Segment segment = openSegment(segmentId(segmentFile));
+            ByteBuffer mapped = segment.read(0, (int) segment.size());
+            while (mapped.remaining() >= HEADER_BYTES) {
+                int offset = mapped.position();
+                Optional<String> key = readKey(mapped);
+                if (key.isEmpty()) {
+                    break;
+                }
+                int length = mapped.position() - offset;
+                long expiresAt = mapped.getLong(offset + 12);
+                if (expiresAt > now) {
+                    index.put(key.get(), new RecordLocation(segment.getId(), offset, length, expiresAt));
+                } else {
+                    index.remove(key.get());
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the record at the buffer's position, leaving the position right after it
+     *
+     * @return the key of the record, or empty if the record is not valid
+     */
+    private static Optional<String> readKey(ByteBuffer buffer) {
+        if (buffer.getInt() != MAGIC) {
+            return Optional.empty();
+        }
+        int keyLength = buffer.getInt();
+        int payloadLength = buffer.getInt();
+        long expiresAt = buffer.getLong();
+        int checksum = buffer.getInt();
+        if (keyLength < 0 || payloadLength < 0 || keyLength + (long) payloadLength > buffer.remaining()) {
+            return Optional.empty();
+        }
+        byte[] keyBytes = new byte[keyLength];
+        byte[] payload = new byte[payloadLength];
+        buffer.get(keyBytes).get(payload);
+        if (checksum(keyBytes, expiresAt, payload) != checksum) {
+            return Optional.empty();
+        }
+        return Optional.of(new String(keyBytes, StandardCharsets.UTF_8));
+    }
+
+    private static Optional<byte[]> readPayload(ByteBuffer record) {
+        record.mark();
+        if (readKey(record).isEmpty()) {
+            return Optional.empty();
+        }
+        record.reset();
+        int keyLength = record.getInt(4);
+        byte[] payload = new byte[record.getInt(8)];
+        record.position(record.position() + HEADER_BYTES + keyLength);
+        record.get(payload);
+        return Optional.of(payload);
+    }
+
+    private static int checksum(byte[] keyBytes, long expiresAt, byte[] payload) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(keyBytes);
+        crc32.update(ByteBuffer.allocate(Long.BYTES).putLong(0, expiresAt));
+        crc32.update(payload);
+        return (int) crc32.getValue();
+    }
+
+    private Segment openSegment(int segmentId) throws IOException {
+        Path file = directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, segmentId, SEGMENT_SUFFIX));
+        Segment segment = new Segment(segmentId, file, FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE));
+        segments.put(segmentId, segment);
+        return segment;
+    }
+
+    private int nextSegmentId() {
+        return segments.keySet().stream().mapToInt(Integer::intValue).max().orElse(0) + 1;
+    }
+
+    private static int segmentId(Path segmentFile) {
+        String fileName = segmentFile.getFileName().toString();
+        return Integer.parseInt(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    @Value
+    private static class RecordLocation {
+        int segmentId;
+        long offset;
+        int length;
+        long expiresAt;
+    }
+
+    private static class Segment {
+
+        private final int id;
+        private final Path file;
+        private final FileChannel channel;
+        private final ReentrantLock remapLock = new ReentrantLock();
+        private volatile MappedByteBuffer mapped;
+
+        Segment(int id, Path file, FileChannel channel) throws IOException {
+            this.id = id;
+            this.file = file;
+            this.channel = channel;
+            this.mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        int getId() {
+            return id;
+        }
+
+        long size() throws IOException {
+            return channel.size();
+        }
+
+        long append(ByteBuffer record) throws IOException {
+            long offset = channel.size();
+            ByteBuffer source = record.duplicate();
+            long position = offset;
+            while (source.hasRemaining()) {
+                position += channel.write(source, position);
+            }
+            return offset;
+        }
+
+        /**
+         * @return a buffer over the given range of the segment, positioned at its start
+         */
+        ByteBuffer read(long offset, int length) throws IOException {
+            MappedByteBuffer currentMapping = mapped;
+            if (offset + length > currentMapping.capacity()) {
+                // The segment has grown since it was mapped
+                // Remapping is I/O, which would pin a virtual thread inside a synchronized block
+                remapLock.lock();
+                try {
+                    if (offset + length > mapped.capacity()) {
+                        mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                    }
+                    currentMapping = mapped;
+                } finally {
+                    remapLock.unlock();
+                }
+            }
+            ByteBuffer range = currentMapping.duplicate();
+            range.position((int) offset).limit((int) (offset + length));
+            return range.slice();
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+
+        void delete() throws IOException {
+            channel.close();
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package advisor.model.service;
+
+import advisor.model.dto.*;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary encoding of pages: an element type tag, page number, total and the elements' fields,
+ * with strings in modified UTF-8.
+ */
+final class PageCodec {
+
+    private static final byte EMPTY = 0;
+    private static final byte CATEGORY = 1;
+    private static final byte PLAYLIST = 2;
+    private static final byte RELEASE = 3;
+
+    private PageCodec() {
+    }
+
+    static byte[] encode(Page<?> page) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            List<? extends CommandLinePrintable> elements = page.getElements();
+            out.writeByte(elements.isEmpty() ? EMPTY : typeTag(elements.get(0)));
+            out.writeInt(page.getPageNumber());
+            out.writeInt(page.getTotal());
+            out.writeInt(elements.size());
+            for (CommandLinePrintable element : elements) {
+                writeElement(out, element);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T extends CommandLinePrintable> Page<T> decode(byte[] encodedPage) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(encodedPage))) {
+            byte typeTag = in.readByte();
+            int pageNumber = in.readInt();
+            int total = in.readInt();
+            int size = in.readInt();
+            List<T> elements = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                elements.add((T) readElement(in, typeTag));
+            }
+            return new Page<>(elements, total, pageNumber);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte typeTag(CommandLinePrintable element) {
+        if (element instanceof Category) {
+            return CATEGORY;
+        }
+        if (element instanceof Playlist) {
+            return PLAYLIST;
+        }
+        if (element instanceof Release) {
+            return RELEASE;
+        }
+        throw new IllegalArgumentException("Unsupported page element: " + element.getClass());
+    }
+
+    private static void writeElement(DataOutputStream out, CommandLinePrintable element) throws IOException {
+        if (element instanceof Category) {
+            writeCategory(out, (Category) element);
+        } else if (element instanceof Playlist) {
+            Playlist playlist = (Playlist) element;
+            writeString(out, playlist.getTitle());
+            writeString(out, playlist.getLink());
+            out.writeBoolean(playlist.getCategory() != null);
+            if (playlist.getCategory() != null) {
+                writeCategory(out, playlist.getCategory());
+            }
+        } else {
+            Release release = (Release) element;
+            writeString(out, release.getTitle());
+            writeString(out, release.getLink());
+            out.writeInt(release.getArtists().size());
+            for (Artist artist : release.getArtists()) {
+                writeString(out, artist.getName());
+            }
+        }
+    }
+
+    private static CommandLinePrintable readElement(DataInputStream in, byte typeTag) throws IOException {
+        switch (typeTag) {
+            case CATEGORY:
+                return readCategory(in);
+            case PLAYLIST:
+                return Playlist.builder()
+                        .title(readString(in))
+                        .link(readString(in))
+                        .category(in.readBoolean() ? readCategory(in) : null)
+                        .build();
+            case RELEASE:
+                String title = readString(in);
+                String link = readString(in);
+                int artistsSize = in.readInt();
+                List<Artist> artists = new ArrayList<>(artistsSize);
+                for (int i = 0; i < artistsSize; i++) {
+                    artists.add(new Artist(readString(in)));
+                }
+                return Release.builder()
+                        .title(title)
+                        .link(link)
+                        .artists(artists)
+                        .build();
+            default:
+                throw new IOException("Unknown page element type: " + typeTag);
+        }
+    }
+
+    private static void writeCategory(DataOutputStream out, Category category) throws IOException {
+        writeString(out, category.getName());
+        writeString(out, category.getId());
+    }
+
+    private static Category readCategory(DataInputStream in) throws IOException {
+        return new Category(readString(in), readString(in));
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
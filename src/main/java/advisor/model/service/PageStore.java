@@ -0,0 +1,31 @@
+package advisor.model.service;
+
+import advisor.model.dto.CommandLinePrintable;
+import advisor.model.dto.Page;
+import lombok.Value;
+
+import java.util.Optional;
+
+public interface PageStore {
+
+    PageStore NONE = new PageStore() {
+        @Override
+        public <T extends CommandLinePrintable> Optional<StoredPage<T>> get(String key) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void put(String key, Page<?> page) {
+        }
+    };
+
+    <T extends CommandLinePrintable> Optional<StoredPage<T>> get(String key);
+
+    void put(String key, Page<?> page);
+
+    @Value
+    class StoredPage<T extends CommandLinePrintable> {
+        Page<T> page;
+        long expiresAt;
+    }
+}
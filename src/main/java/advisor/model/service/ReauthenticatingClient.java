@@ -0,0 +1,61 @@
+package advisor.model.service;
+
+import advisor.authentication.UserCommandAuthenticationFacade;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends a request once more with a refreshed access token when the Web API rejects its token with a 401,
+ * so that an expired token does not surface as a failed command
+ */
+@RequiredArgsConstructor
+class ReauthenticatingClient implements Client {
+
+    static final int UNAUTHORIZED = 401;
+    static final String AUTHORIZATION_HEADER = "Authorization";
+    static final String BEARER_PREFIX = "Bearer ";
+
+    private final Client delegate;
+    private final UserCommandAuthenticationFacade userCommandAuthenticationFacade;
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        Response response = delegate.execute(request, options);
+        if (response.status() != UNAUTHORIZED) {
+            return response;
+        }
+        String rejectedAccessToken = bearerToken(request);
+        if (rejectedAccessToken == null) {
+            return response;
+        }
+        String refreshedAccessToken = userCommandAuthenticationFacade.refreshAccessToken(rejectedAccessToken);
+        if (refreshedAccessToken == null || refreshedAccessToken.equals(rejectedAccessToken)) {
+            return response;
+        }
+        response.close();
+
+        Map<String, Collection<String>> headers = new LinkedHashMap<>(request.headers());
+        headers.keySet().removeIf(AUTHORIZATION_HEADER::equalsIgnoreCase);
+        headers.put(AUTHORIZATION_HEADER, List.of(BEARER_PREFIX + refreshedAccessToken));
+        return delegate.execute(Request.create(request.httpMethod(), request.url(), headers,
+                request.body(), request.charset(), request.requestTemplate()), options);
+    }
+
+    private static String bearerToken(Request request) {
+        return request.headers().entrySet().stream()
+                .filter(header -> AUTHORIZATION_HEADER.equalsIgnoreCase(header.getKey()))
+                .flatMap(header -> header.getValue().stream())
+                .filter(value -> value.startsWith(BEARER_PREFIX))
+                .map(value -> value.substring(BEARER_PREFIX.length()))
+                .findFirst()
+                .orElse(null);
+    }
+}
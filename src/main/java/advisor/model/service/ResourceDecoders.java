@@ -0,0 +1,70 @@
+package advisor.model.service;
+
+import advisor.model.deserializer.*;
+import advisor.model.dto.*;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import lombok.Value;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds the Gson decoder for each (entity key, entity type) only once, since it is thread-safe and expensive to create.
+ * Pages and their elements are read with streaming type adapters, so no intermediate JSON tree is built.
+ */
+class ResourceDecoders {
+
+    private static final Map<Class<?>, SpotifyObjectTypeAdapter<?>> ELEMENT_TYPE_ADAPTERS = Map.of(
+            Category.class, new CategoryTypeAdapter(),
+            Playlist.class, new PlaylistTypeAdapter(),
+            Release.class, new ReleaseTypeAdapter());
+    private final Map<ResourceKey, Gson> decoders = new ConcurrentHashMap<>();
+    private final Map<ResourceKey, String> fields = new ConcurrentHashMap<>();
+
+    <T extends CommandLinePrintable> Gson getGson(String entityKey, Class<T> type) {
+        return decoders.computeIfAbsent(new ResourceKey(entityKey, type), ResourceDecoders::buildGson);
+    }
+
+    /**
+     * Only the playlist resources honour the fields query parameter, the others return whole objects regardless,
+     * so it is not sent to them
+     *
+     * @return the fields query parameter that restricts the response to the fields read by the page decoder,
+     * or null if the resource does not honour it
+     */
+    <T extends CommandLinePrintable> String getFields(String entityKey, Class<T> type) {
+        if (!SpotifyResources.PLAYLISTS_ENTITY_KEY.equals(entityKey)) {
+            return null;
+        }
+        return fields.computeIfAbsent(new ResourceKey(entityKey, type),
+                resourceKey -> pageTypeAdapter(entityKey, type).fields());
+    }
+
+    static <T extends CommandLinePrintable> PageTypeAdapter<T> pageTypeAdapter(String entityKey, Class<T> type) {
+        return new PageTypeAdapter<>(entityKey, elementTypeAdapter(type));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> SpotifyObjectTypeAdapter<T> elementTypeAdapter(Class<T> type) {
+        SpotifyObjectTypeAdapter<?> typeAdapter = ELEMENT_TYPE_ADAPTERS.get(type);
+        if (typeAdapter == null) {
+            throw new IllegalArgumentException("No type adapter for " + type.getName());
+        }
+        return (SpotifyObjectTypeAdapter<T>) typeAdapter;
+    }
+
+    private static Gson buildGson(ResourceKey resourceKey) {
+        // A hierarchy adapter, since pages are requested as parameterized types such as Page<Category>
+        return new GsonBuilder()
+                .registerTypeHierarchyAdapter(Page.class,
+                        pageTypeAdapter(resourceKey.getEntityKey(), resourceKey.getType()))
+                .create();
+    }
+
+    @Value
+    private static class ResourceKey {
+        String entityKey;
+        Class<? extends CommandLinePrintable> type;
+    }
+}
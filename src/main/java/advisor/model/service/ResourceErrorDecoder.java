@@ -1,18 +1,53 @@
 package advisor.model.service;
 
-import advisor.model.AdvisorException;
+import advisor.http.ContentEncoding;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import feign.Response;
+import feign.RetryableException;
 import feign.codec.ErrorDecoder;
 
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Turns error responses into a {@link ResourceException} with their status code. Those worth retrying
+ * (request timeout, server errors of a transient nature) are wrapped in a {@link RetryableException},
+ * for the Feign retryer to send the request again.
+ * 429 Too Many Requests is not among them: {@link advisor.http.RateLimitedClient} has already waited for
+ * and re-sent those, retrying them again would multiply the requests sent while rate limited.
+ */
 public class ResourceErrorDecoder implements ErrorDecoder {
 
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(408, 500, 502, 503, 504);
+
     @Override
     public Exception decode(String methodKey, Response response) {
+        ResourceException resourceException;
+        try {
+            resourceException = new ResourceException(
+                    errorMessage(String.valueOf(ContentEncoding.decompress(response).body())),
+                    response.status(),
+                    isRetryable(response.status()));
+        } catch (IOException e) {
+            resourceException = new ResourceException(e.getMessage(), response.status(),
+                    isRetryable(response.status()));
+        }
+        if (!resourceException.isRetryable()) {
+            return resourceException;
+        }
+        return new RetryableException(response.status(), resourceException.getMessage(),
+                response.request().httpMethod(), resourceException, null, response.request());
+    }
+
+    static boolean isRetryable(int status) {
+        return RETRYABLE_STATUSES.contains(status);
+    }
+
+    static String errorMessage(String responseBody) {
         StringBuilder errorMessage = new StringBuilder();
         try {
-            JsonObject jsonObject = JsonParser.parseString(response.body().toString()).getAsJsonObject();
+            JsonObject jsonObject = JsonParser.parseString(responseBody).getAsJsonObject();
             if (jsonObject.keySet().contains("error")) {
                 JsonObject errorObject = jsonObject.get("error").getAsJsonObject();
                 if (errorObject.keySet().contains("message")) {
@@ -20,8 +55,8 @@ public class ResourceErrorDecoder implements ErrorDecoder {
                 }
             }
         } catch (Exception ignored) {
-            errorMessage.append(response.body());
+            errorMessage.append(responseBody);
         }
-        return new AdvisorException(errorMessage.toString());
+        return errorMessage.toString();
     }
 }
@@ -0,0 +1,27 @@
+package advisor.model.service;
+
+import advisor.model.AdvisorException;
+
+/**
+ * Failed Web API request, with the HTTP status of the response (0 if none was received)
+ * and whether sending the request again may succeed
+ */
+public class ResourceException extends AdvisorException {
+
+    private final int status;
+    private final boolean retryable;
+
+    public ResourceException(String errorMessage, int status, boolean retryable) {
+        super(errorMessage);
+        this.status = status;
+        this.retryable = retryable;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public boolean isRetryable() {
+        return retryable;
+    }
+}
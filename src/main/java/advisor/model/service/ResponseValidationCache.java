@@ -0,0 +1,143 @@
+package advisor.model.service;
+
+import lombok.Value;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the validators (ETag and Cache-Control freshness) of previous responses, along with their decoded body,
+ * keyed by request URL, i.e. by resource path, limit, offset, country and locale.
+ * Shared by {@link ConditionalRequestClient}, which sends If-None-Match and turns 304 responses into cache hits
+ * carrying the decoded body, and {@link ConditionalResponseDecoder}, which stores decoded bodies and returns
+ * the ones of those hits.
+ */
+public class ResponseValidationCache {
+
+    private static final String NO_STORE = "no-store";
+    private static final String NO_CACHE = "no-cache";
+    private static final String MAX_AGE = "max-age=";
+
+    private final Map<String, Entry> entries;
+    // Not a monitor, so that virtual threads waiting for it do not pin their carrier thread
+    private final Lock lock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ResponseValidationCache(int maxEntries) {
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getRevalidations() {
+        return revalidations.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    Optional<Entry> get(String url) {
+        lock.lock();
+        try {
+            return Optional.ofNullable(entries.get(url));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void store(String url, Map<String, Collection<String>> headers, Object decodedBody) {
+        String cacheControl = firstHeaderValue(headers, "Cache-Control");
+        if (cacheControl != null && cacheControl.contains(NO_STORE)) {
+            return;
+        }
+        String etag = firstHeaderValue(headers, "ETag");
+        long freshUntil = freshUntil(cacheControl);
+        if (etag == null && freshUntil <= System.currentTimeMillis()) {
+            return;
+        }
+        lock.lock();
+        try {
+            entries.put(url, new Entry(etag, freshUntil, decodedBody));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A 304 response may carry updated freshness information for the stored entry
+     */
+    void refresh(String url, Entry entry, Map<String, Collection<String>> headers) {
+        Entry refreshedEntry = new Entry(entry.getEtag(), freshUntil(firstHeaderValue(headers, "Cache-Control")),
+                entry.getDecodedBody());
+        lock.lock();
+        try {
+            entries.put(url, refreshedEntry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void recordHit() {
+        hits.increment();
+    }
+
+    void recordRevalidation() {
+        revalidations.increment();
+    }
+
+    void recordMiss() {
+        misses.increment();
+    }
+
+    private static long freshUntil(String cacheControl) {
+        long now = System.currentTimeMillis();
+        if (cacheControl == null || cacheControl.contains(NO_CACHE)) {
+            return now;
+        }
+        for (String directive : cacheControl.split(",")) {
+            String trimmedDirective = directive.trim();
+            if (trimmedDirective.startsWith(MAX_AGE)) {
+                try {
+                    return now + Long.parseLong(trimmedDirective.substring(MAX_AGE.length())) * 1000;
+                } catch (NumberFormatException ignored) {
+                    return now;
+                }
+            }
+        }
+        return now;
+    }
+
+    private static String firstHeaderValue(Map<String, Collection<String>> headers, String name) {
+        return headers.entrySet().stream()
+                .filter(header -> header.getKey() != null && header.getKey().equalsIgnoreCase(name))
+                .flatMap(header -> header.getValue().stream())
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Value
+    static class Entry {
+        String etag;
+        long freshUntil;
+        Object decodedBody;
+
+        boolean isFresh() {
+            return System.currentTimeMillis() < freshUntil;
+        }
+    }
+}
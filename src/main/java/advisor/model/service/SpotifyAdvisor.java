@@ -1,27 +1,47 @@
 package advisor.model.service;
 
 import advisor.authentication.UserCommandAuthenticationFacade;
-import advisor.model.deserializer.PageDeserializer;
-import advisor.model.deserializer.PlaylistDeserializer;
-import advisor.model.deserializer.ReleaseDeserializer;
+import advisor.http.EndpointHedging;
+import advisor.http.EndpointRetryers;
+import advisor.http.HttpTransport;
+import advisor.http.RateLimiter;
+import advisor.metrics.MetricsRegistry;
 import advisor.model.dto.*;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import feign.Feign;
-import feign.gson.GsonDecoder;
-import lombok.RequiredArgsConstructor;
+import feign.RetryableException;
+import feign.codec.DecodeException;
 
 import java.util.Locale;
 
-@RequiredArgsConstructor
+import static advisor.model.service.SpotifyResources.*;
+
 public class SpotifyAdvisor implements Advisor {
 
-    private static final String CATEGORIES_RESOURCE_PATH = "categories";
-    private static final String CATEGORIES_ENTITY_KEY = "categories";
-    private final String spotifyResourceHost;
+    private final SpotifyAdvisorClientRegistry clientRegistry;
     private final UserCommandAuthenticationFacade userCommandAuthenticationFacade;
     private final int pageSize;
     private final String locale;
+    private final String country;
+
+    public SpotifyAdvisor(
+            String spotifyResourceHost,
+            HttpTransport httpTransport,
+            ResponseValidationCache responseValidationCache,
+            RateLimiter rateLimiter,
+            int maxRateLimitedRetries,
+            EndpointRetryers endpointRetryers,
+            EndpointHedging endpointHedging,
+            MetricsRegistry metricsRegistry,
+            UserCommandAuthenticationFacade userCommandAuthenticationFacade,
+            int pageSize,
+            String locale) {
+        this.clientRegistry = new SpotifyAdvisorClientRegistry(spotifyResourceHost, httpTransport,
+                responseValidationCache, rateLimiter, maxRateLimitedRetries, endpointRetryers, endpointHedging,
+                metricsRegistry, userCommandAuthenticationFacade);
+        this.userCommandAuthenticationFacade = userCommandAuthenticationFacade;
+        this.pageSize = pageSize;
+        this.locale = locale;
+        this.country = Locale.forLanguageTag(locale).getCountry();
+    }
 
     @Override
     public Page<Category> getCategories(int pageNumber) {
@@ -38,22 +58,22 @@ public class SpotifyAdvisor implements Advisor {
     @Override
     public Page<Release> getNewReleases(int pageNumber) {
         return getResourcePage(
-                "new-releases", pageNumber,
-                "albums", Release.class);
+                NEW_RELEASES_RESOURCE_PATH, pageNumber,
+                NEW_RELEASES_ENTITY_KEY, Release.class);
     }
 
     @Override
     public Page<Playlist> getCategoryPlaylists(Category category, int pageNumber) {
         return getResourcePage(
-                "categories/" + category.getId() + "/playlists", pageNumber,
-                "playlists", Playlist.class);
+                categoryPlaylistsResourcePath(category), pageNumber,
+                PLAYLISTS_ENTITY_KEY, Playlist.class);
     }
 
     @Override
     public Page<Playlist> getFeaturedPlaylists(int pageNumber) {
         return getResourcePage(
-                "featured-playlists", pageNumber,
-                "playlists", Playlist.class);
+                FEATURED_PLAYLISTS_RESOURCE_PATH, pageNumber,
+                PLAYLISTS_ENTITY_KEY, Playlist.class);
     }
 
     private <T extends CommandLinePrintable> Page<T> getResourcePage(
@@ -62,29 +82,30 @@ public class SpotifyAdvisor implements Advisor {
             String entityKey,
             Class<T> type) {
 
-        final Gson gson = new GsonBuilder()
-                .registerTypeAdapter(Release.class, new ReleaseDeserializer())
-                .registerTypeAdapter(Playlist.class, new PlaylistDeserializer())
-                .registerTypeAdapter(Page.class,
-                        new PageDeserializer<>(entityKey, type, pageNumber == null ? 0 : pageNumber))
-                .create();
-
-        final SpotifyAdvisorClient spotifyAdvisorClient = Feign.builder()
-                .decoder(new GsonDecoder(gson))
-                .errorDecoder(new ResourceErrorDecoder())
-                .target(SpotifyAdvisorClient.class, spotifyResourceHost);
-
-        final String country = Locale.forLanguageTag(locale).getCountry();
+        final SpotifyAdvisorClient spotifyAdvisorClient = clientRegistry.getClient(entityKey, type);
+        final String fields = clientRegistry.getFields(entityKey, type);
 
-        if (pageNumber == null) {
-            return spotifyAdvisorClient.resourcePage(
-                    resourcePath, userCommandAuthenticationFacade.getAccessToken(),
-                    country, locale);
+        try {
+            if (pageNumber == null) {
+                return spotifyAdvisorClient.resourcePage(
+                        resourcePath, userCommandAuthenticationFacade.getAccessToken(),
+                        country, locale, fields);
+            }
+            Page<T> page = spotifyAdvisorClient.resourcePage(
+                    resourcePath,
+                    userCommandAuthenticationFacade.getAccessToken(),
+                    pageSize, (pageNumber - 1) * pageSize,
+                    country, locale, fields);
+            return page.withPageNumber(pageNumber);
+        } catch (DecodeException e) {
+            // e.g. a response without the requested entity
+            throw new ResourceException(e.getMessage(), e.status(), false);
+        } catch (RetryableException e) {
+            // Thrown once the retries are exhausted, either for an error response or for an I/O error
+            if (e.getCause() instanceof ResourceException) {
+                throw (ResourceException) e.getCause();
+            }
+            throw new ResourceException(e.getMessage(), e.status(), true);
         }
-        return spotifyAdvisorClient.resourcePage(
-                resourcePath,
-                userCommandAuthenticationFacade.getAccessToken(),
-                pageSize, (pageNumber - 1) * pageSize,
-                country, locale);
     }
 }
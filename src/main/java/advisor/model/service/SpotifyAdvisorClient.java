@@ -6,10 +6,13 @@ import feign.Headers;
 import feign.Param;
 import feign.RequestLine;
 
+/**
+ * A null fields parameter is left out of the request
+ */
 public interface SpotifyAdvisorClient {
 
     @RequestLine("GET /v1/browse/{resourcePath}?limit={limit}&offset={offset}" +
-            "&country={country}&locale={locale}")
+            "&country={country}&locale={locale}&fields={fields}")
     @Headers({
             "Accept: application/json",
             "Content-Type: application/json",
@@ -20,9 +23,10 @@ public interface SpotifyAdvisorClient {
             @Param("limit") int limit,
             @Param("offset") int offset,
             @Param("country") String country,
-            @Param("locale") String locale);
+            @Param("locale") String locale,
+            @Param("fields") String fields);
 
-    @RequestLine("GET /v1/browse/{resourcePath}?country={country}&locale={locale}")
+    @RequestLine("GET /v1/browse/{resourcePath}?country={country}&locale={locale}&fields={fields}")
     @Headers({
             "Accept: application/json",
             "Content-Type: application/json",
@@ -31,5 +35,6 @@ public interface SpotifyAdvisorClient {
             @Param("resourcePath") String resourcePath,
             @Param("accessToken") String accessToken,
             @Param("country") String country,
-            @Param("locale") String locale);
+            @Param("locale") String locale,
+            @Param("fields") String fields);
 }
@@ -0,0 +1,76 @@
+package advisor.model.service;
+
+import advisor.authentication.UserCommandAuthenticationFacade;
+import advisor.http.AcceptEncodingInterceptor;
+import advisor.http.DecompressingDecoder;
+import advisor.http.EndpointHedging;
+import advisor.http.EndpointRetryers;
+import advisor.http.HttpTransport;
+import advisor.http.MeteredClient;
+import advisor.http.MeteredDecoder;
+import advisor.http.RateLimitedClient;
+import advisor.http.RateLimiter;
+import advisor.metrics.MetricsRegistry;
+import advisor.model.dto.CommandLinePrintable;
+import feign.Feign;
+import feign.gson.GsonDecoder;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds the Feign client for each (entity key, entity type) only once, since it is thread-safe and expensive to create
+ */
+@RequiredArgsConstructor
+class SpotifyAdvisorClientRegistry {
+
+    private final String spotifyResourceHost;
+    private final HttpTransport httpTransport;
+    private final ResponseValidationCache responseValidationCache;
+    private final RateLimiter rateLimiter;
+    private final int maxRateLimitedRetries;
+    private final EndpointRetryers endpointRetryers;
+    private final EndpointHedging endpointHedging;
+    private final MetricsRegistry metricsRegistry;
+    private final UserCommandAuthenticationFacade userCommandAuthenticationFacade;
+    private final ResourceDecoders resourceDecoders = new ResourceDecoders();
+    private final Map<ResourceKey, SpotifyAdvisorClient> clients = new ConcurrentHashMap<>();
+
+    <T extends CommandLinePrintable> SpotifyAdvisorClient getClient(String entityKey, Class<T> type) {
+        return clients.computeIfAbsent(new ResourceKey(entityKey, type),
+                resourceKey -> buildClient(entityKey, type));
+    }
+
+    <T extends CommandLinePrintable> String getFields(String entityKey, Class<T> type) {
+        return resourceDecoders.getFields(entityKey, type);
+    }
+
+    private <T extends CommandLinePrintable> SpotifyAdvisorClient buildClient(String entityKey, Class<T> type) {
+        return Feign.builder()
+                // Responses served from the validation cache do not use up rate limiter permits, hedges do.
+                // Every request sent is metered, retries and hedges included, but not the rate limiter waits
+                .client(new ReauthenticatingClient(new ConditionalRequestClient(
+                        endpointHedging.decorate(
+                                new RateLimitedClient(new MeteredClient(httpTransport.client(), metricsRegistry),
+                                        rateLimiter, maxRateLimitedRetries)),
+                        responseValidationCache), userCommandAuthenticationFacade))
+                .options(httpTransport.options())
+                .requestInterceptor(new AcceptEncodingInterceptor())
+                .decoder(new ConditionalResponseDecoder(
+                        new MeteredDecoder(
+                                new DecompressingDecoder(new GsonDecoder(resourceDecoders.getGson(entityKey, type))),
+                                metricsRegistry),
+                        responseValidationCache))
+                .retryer(endpointRetryers.retryer())
+                .errorDecoder(new ResourceErrorDecoder())
+                .target(SpotifyAdvisorClient.class, spotifyResourceHost);
+    }
+
+    @Value
+    private static class ResourceKey {
+        String entityKey;
+        Class<? extends CommandLinePrintable> type;
+    }
+}
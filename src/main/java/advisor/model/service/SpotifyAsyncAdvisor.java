@@ -0,0 +1,200 @@
+package advisor.model.service;
+
+import advisor.authentication.UserCommandAuthenticationFacade;
+import advisor.http.ContentEncoding;
+import advisor.http.RateLimitedClient;
+import advisor.http.RateLimiter;
+import advisor.model.dto.*;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static advisor.model.service.SpotifyResources.*;
+
+/**
+ * {@link AsyncAdvisor} on top of the non-blocking {@link HttpClient#sendAsync}: no thread is held
+ * while a request is in flight, and responses are decoded on completion.
+ * Not wired into the application yet: it only rate-limits its requests, without the retries, metrics,
+ * conditional requests and circuit breaker of the {@link SpotifyAdvisor} chain.
+ */
+public class SpotifyAsyncAdvisor implements AsyncAdvisor {
+
+    private final String spotifyResourceHost;
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final UserCommandAuthenticationFacade userCommandAuthenticationFacade;
+    private final int pageSize;
+    private final String locale;
+    private final String country;
+    private final RateLimiter rateLimiter;
+    private final int maxRateLimitedRetries;
+    private final ResourceDecoders resourceDecoders = new ResourceDecoders();
+
+    public SpotifyAsyncAdvisor(
+            String spotifyResourceHost,
+            HttpClient httpClient,
+            Duration requestTimeout,
+            RateLimiter rateLimiter,
+            int maxRateLimitedRetries,
+            UserCommandAuthenticationFacade userCommandAuthenticationFacade,
+            int pageSize,
+            String locale) {
+        this.spotifyResourceHost = spotifyResourceHost;
+        this.httpClient = httpClient;
+        this.requestTimeout = requestTimeout;
+        this.rateLimiter = rateLimiter;
+        this.maxRateLimitedRetries = maxRateLimitedRetries;
+        this.userCommandAuthenticationFacade = userCommandAuthenticationFacade;
+        this.pageSize = pageSize;
+        this.locale = locale;
+        this.country = Locale.forLanguageTag(locale).getCountry();
+    }
+
+    @Override
+    public CompletableFuture<Page<Category>> getCategories(int pageNumber) {
+        return getResourcePage(CATEGORIES_RESOURCE_PATH, pageNumber,
+                CATEGORIES_ENTITY_KEY, Category.class);
+    }
+
+    @Override
+    public CompletableFuture<Page<Category>> getCategories() {
+        return getResourcePage(CATEGORIES_RESOURCE_PATH, null,
+                CATEGORIES_ENTITY_KEY, Category.class);
+    }
+
+    @Override
+    public CompletableFuture<Page<Release>> getNewReleases(int pageNumber) {
+        return getResourcePage(NEW_RELEASES_RESOURCE_PATH, pageNumber,
+                NEW_RELEASES_ENTITY_KEY, Release.class);
+    }
+
+    @Override
+    public CompletableFuture<Page<Playlist>> getCategoryPlaylists(Category category, int pageNumber) {
+        return getResourcePage(categoryPlaylistsResourcePath(category), pageNumber,
+                PLAYLISTS_ENTITY_KEY, Playlist.class);
+    }
+
+    @Override
+    public CompletableFuture<Page<Playlist>> getFeaturedPlaylists(int pageNumber) {
+        return getResourcePage(FEATURED_PLAYLISTS_RESOURCE_PATH, pageNumber,
+                PLAYLISTS_ENTITY_KEY, Playlist.class);
+    }
+
+    private <T extends CommandLinePrintable> CompletableFuture<Page<T>> getResourcePage(
+            String resourcePath,
+            Integer pageNumber,
+            String entityKey,
+            Class<T> type) {
+
+        final Gson gson = resourceDecoders.getGson(entityKey, type);
+        final URI uri = buildResourceUri(resourcePath, pageNumber, resourceDecoders.getFields(entityKey, type));
+        final String accessToken = userCommandAuthenticationFacade.getAccessToken();
+
+        return sendRateLimited(buildRequest(uri, accessToken), 0)
+                .thenCompose(response -> reauthenticateIfRejected(response, uri, accessToken))
+                .thenApply(response -> decodePage(response, gson, pageNumber));
+    }
+
+    private HttpRequest buildRequest(URI uri, String accessToken) {
+        return HttpRequest.newBuilder()
+                .uri(uri)
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .header(ContentEncoding.ACCEPT_ENCODING_HEADER, ContentEncoding.ACCEPTED_ENCODINGS)
+                .header("Content-Type", "application/json")
+                .header(ReauthenticatingClient.AUTHORIZATION_HEADER, ReauthenticatingClient.BEARER_PREFIX + accessToken)
+                .GET()
+                .build();
+    }
+
+    /**
+     * Same policy as {@link ReauthenticatingClient}: sent once more with a refreshed access token on a 401
+     */
+    private CompletableFuture<HttpResponse<byte[]>> reauthenticateIfRejected(
+            HttpResponse<byte[]> response, URI uri, String rejectedAccessToken) {
+        if (response.statusCode() != ReauthenticatingClient.UNAUTHORIZED) {
+            return CompletableFuture.completedFuture(response);
+        }
+        String refreshedAccessToken = userCommandAuthenticationFacade.refreshAccessToken(rejectedAccessToken);
+        if (refreshedAccessToken == null || refreshedAccessToken.equals(rejectedAccessToken)) {
+            return CompletableFuture.completedFuture(response);
+        }
+        return sendRateLimited(buildRequest(uri, refreshedAccessToken), 0);
+    }
+
+    /**
+     * Same policy as {@link RateLimitedClient}, waiting for permits and pauses on a delayed executor
+     * instead of holding a thread
+     */
+    private CompletableFuture<HttpResponse<byte[]>> sendRateLimited(HttpRequest request, int retries) {
+        long waitNanos = rateLimiter.reserve();
+        CompletableFuture<HttpResponse<byte[]>> response = waitNanos == 0
+                ? httpClient.sendAsync(request, BodyHandlers.ofByteArray())
+                : CompletableFuture.supplyAsync(() -> request,
+                        CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS))
+                .thenCompose(permittedRequest -> httpClient.sendAsync(permittedRequest, BodyHandlers.ofByteArray()));
+        return response.thenCompose(receivedResponse -> {
+            if (receivedResponse.statusCode() != RateLimitedClient.TOO_MANY_REQUESTS
+                    || retries >= maxRateLimitedRetries) {
+                return CompletableFuture.completedFuture(receivedResponse);
+            }
+            rateLimiter.pauseFor(receivedResponse.headers().firstValue("Retry-After")
+                    .flatMap(RateLimiter::parseRetryAfter)
+                    .orElse(RateLimitedClient.DEFAULT_RETRY_AFTER));
+            return sendRateLimited(request, retries + 1);
+        });
+    }
+
+    private URI buildResourceUri(String resourcePath, Integer pageNumber, String fields) {
+        StringBuilder uri = new StringBuilder(spotifyResourceHost)
+                .append("/v1/browse/").append(resourcePath)
+                .append("?country=").append(URLEncoder.encode(country, StandardCharsets.UTF_8))
+                .append("&locale=").append(URLEncoder.encode(locale, StandardCharsets.UTF_8));
+        if (fields != null) {
+            uri.append("&fields=").append(URLEncoder.encode(fields, StandardCharsets.UTF_8));
+        }
+        if (pageNumber != null) {
+            uri.append("&limit=").append(pageSize)
+                    .append("&offset=").append((pageNumber - 1) * pageSize);
+        }
+        return URI.create(uri.toString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends CommandLinePrintable> Page<T> decodePage(
+            HttpResponse<byte[]> response, Gson gson, Integer pageNumber) {
+        // Only the compressed body is held in memory, it is inflated while being read
+        try (Reader body = new InputStreamReader(ContentEncoding.decompress(
+                new ByteArrayInputStream(response.body()),
+                response.headers().allValues(ContentEncoding.CONTENT_ENCODING_HEADER)), StandardCharsets.UTF_8)) {
+            if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                StringWriter errorBody = new StringWriter();
+                body.transferTo(errorBody);
+                throw new ResourceException(ResourceErrorDecoder.errorMessage(errorBody.toString()),
+                        response.statusCode(), ResourceErrorDecoder.isRetryable(response.statusCode()));
+            }
+            Page<T> page = gson.fromJson(body, Page.class);
+            return pageNumber == null ? page : page.withPageNumber(pageNumber);
+        } catch (JsonParseException e) {
+            throw new ResourceException(e.getMessage(), response.statusCode(), false);
+        } catch (IOException e) {
+            throw new SpotifyAdvisorException(e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package advisor.model.service;
+
+import advisor.model.dto.Category;
+
+/**
+ * Paths of the browse resources of the Spotify Web API, and the keys of their entities in the responses
+ */
+final class SpotifyResources {
+
+    static final String CATEGORIES_RESOURCE_PATH = "categories";
+    static final String CATEGORIES_ENTITY_KEY = "categories";
+    static final String NEW_RELEASES_RESOURCE_PATH = "new-releases";
+    static final String NEW_RELEASES_ENTITY_KEY = "albums";
+    static final String FEATURED_PLAYLISTS_RESOURCE_PATH = "featured-playlists";
+    static final String PLAYLISTS_ENTITY_KEY = "playlists";
+
+    private SpotifyResources() {
+    }
+
+    static String categoryPlaylistsResourcePath(Category category) {
+        return "categories/" + category.getId() + "/playlists";
+    }
+}
@@ -1,6 +1,9 @@
 package advisor.view;
 
 import advisor.controller.UserCommand;
+import advisor.metrics.EndpointMetrics;
+import advisor.metrics.LatencyHistogram;
+import advisor.metrics.MetricsRegistry;
 import advisor.model.dto.CommandLinePrintable;
 import advisor.model.dto.Page;
 import lombok.RequiredArgsConstructor;
@@ -10,6 +13,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
+import java.util.SortedMap;
 
 @RequiredArgsConstructor
 public class CommandLineView {
@@ -17,6 +21,7 @@ public class CommandLineView {
     private final Scanner scanner;
     private final PrintStream out;
     private final int pageSize;
+    private final MetricsRegistry metricsRegistry;
     private String userCommandOptions;
 
     public UserCommand getUserInputCommand() {
@@ -34,13 +39,59 @@ public class CommandLineView {
     }
 
     public <T extends CommandLinePrintable> void printPage(Page<T> page) {
+        long startedAt = System.nanoTime();
         page.getElements().forEach(element -> out.println(element.commandLineStringRepresentation()));
         out.println(String.format("---PAGE %d OF %d---",
                 page.getPageNumber(),
                 (int) Math.ceil((double) page.getTotal() / pageSize)));
+        if (page.isStale()) {
+            out.println("---STALE: SPOTIFY IS UNAVAILABLE, SHOWING THE LAST KNOWN PAGE---");
+        }
+        if (!page.getElements().isEmpty()) {
+            metricsRegistry.recordRender(page.getElements().get(0).getClass(), System.nanoTime() - startedAt);
+        }
+    }
+
+    public void printStats(
+            SortedMap<String, EndpointMetrics> endpoints,
+            SortedMap<String, LatencyHistogram.Snapshot> renderLatencies) {
+        if (endpoints.isEmpty() && renderLatencies.isEmpty()) {
+            out.println("No requests sent yet");
+            return;
+        }
+        endpoints.forEach((endpoint, endpointMetrics) -> {
+            out.println(String.format("%s: %d requests, %d errors, %.1f KB received",
+                    endpoint,
+                    endpointMetrics.getRequests(),
+                    endpointMetrics.getErrors(),
+                    endpointMetrics.getBytes() / 1024.0));
+            printLatency("request", endpointMetrics.getRequestLatency());
+            printLatency("decode", endpointMetrics.getDecodeLatency());
+        });
+        renderLatencies.forEach((elementType, renderLatency) -> {
+            out.println(String.format("%s pages: %d printed", elementType, renderLatency.getCount()));
+            printLatency("render", renderLatency);
+        });
     }
 
     public void printMessage(String message) {
         out.println(message);
     }
+
+    private void printLatency(String name, LatencyHistogram.Snapshot latency) {
+        if (latency.getCount() == 0) {
+            return;
+        }
+        out.println(String.format("  %-7s p50 %s, p90 %s, p99 %s, max %s (%d)",
+                name,
+                formatMillis(latency.getP50Nanos()),
+                formatMillis(latency.getP90Nanos()),
+                formatMillis(latency.getP99Nanos()),
+                formatMillis(latency.getMaxNanos()),
+                latency.getCount()));
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format("%.2f ms", nanos / 1_000_000.0);
+    }
 }
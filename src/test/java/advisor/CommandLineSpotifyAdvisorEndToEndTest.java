@@ -15,6 +15,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 
 import java.io.ByteArrayOutputStream;
@@ -37,6 +38,9 @@ import static org.springframework.test.annotation.DirtiesContext.ClassMode.AFTER
 
 @SpringJUnitConfig(classes = {AppConfig.class, TestConfig.class})
 @PropertySource("application.properties")
+// Nothing is kept in the home directory: every test authorizes the app and fetches its pages from the Web API,
+// instead of restoring the tokens or serving the pages stored by earlier runs
+@TestPropertySource(properties = {"disk-page-cache.enabled=false", "credential-store.enabled=false"})
 @DirtiesContext(classMode = AFTER_EACH_TEST_METHOD)
 final class CommandLineSpotifyAdvisorEndToEndTest {
 
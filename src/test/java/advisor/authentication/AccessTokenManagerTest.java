@@ -0,0 +1,128 @@
+package advisor.authentication;
+
+import advisor.authentication.dto.SpotifyAccessTokenResponse;
+import advisor.view.CommandLineView;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+final class AccessTokenManagerTest {
+
+    private static final String ACCESS_TOKEN = "myAccessToken";
+    private static final String REFRESHED_ACCESS_TOKEN = "myRefreshedAccessToken";
+    private static final String REFRESH_TOKEN = "myRefreshToken";
+
+    @Mock
+    private SpotifyAccessTokenFetcher spotifyAccessTokenFetcher;
+
+    @Mock
+    private CommandLineView commandLineView;
+
+    @Test
+    void givenTokenAboutToExpire_whenWaitingForTheRefreshMargin_thenTokenIsRefreshedInTheBackground() {
+        // GIVEN
+        when(spotifyAccessTokenFetcher.refreshToken(REFRESH_TOKEN))
+                .thenReturn(Optional.of(tokenResponse(REFRESHED_ACCESS_TOKEN, 3600, null)));
+        AccessTokenManager accessTokenManager = new AccessTokenManager(
+                spotifyAccessTokenFetcher, Duration.ofSeconds(1), CredentialStore.NONE, commandLineView);
+
+        // WHEN
+        accessTokenManager.update(tokenResponse(ACCESS_TOKEN, 2, REFRESH_TOKEN));
+
+        // THEN
+        verify(spotifyAccessTokenFetcher, timeout(3000)).refreshToken(REFRESH_TOKEN);
+        assertThat(accessTokenManager.getAccessToken()).isEqualTo(REFRESHED_ACCESS_TOKEN);
+        assertThat(accessTokenManager.getCurrentToken().orElseThrow().getRefreshToken()).isEqualTo(REFRESH_TOKEN);
+    }
+
+    @Test
+    void givenBackgroundRefreshFails_whenWaitingBeforeTheExpiry_thenItIsTriedAgainUntilTheTokenIsRefreshed() {
+        // GIVEN
+        when(spotifyAccessTokenFetcher.refreshToken(REFRESH_TOKEN))
+                .thenThrow(new IllegalStateException("Connection reset"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(tokenResponse(REFRESHED_ACCESS_TOKEN, 3600, null)));
+        AccessTokenManager accessTokenManager = new AccessTokenManager(
+                spotifyAccessTokenFetcher, Duration.ofSeconds(3), CredentialStore.NONE, commandLineView);
+
+        // WHEN
+        accessTokenManager.update(tokenResponse(ACCESS_TOKEN, 4, REFRESH_TOKEN));
+
+        // THEN
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(accessTokenManager.getCurrentToken().orElseThrow().getAccessToken())
+                        .isEqualTo(REFRESHED_ACCESS_TOKEN));
+        verify(spotifyAccessTokenFetcher, times(3)).refreshToken(REFRESH_TOKEN);
+        verifyNoInteractions(commandLineView);
+    }
+
+    @Test
+    void givenExpiredToken_whenGettingAccessToken_thenItIsRefreshedFirst() {
+        // GIVEN
+        when(spotifyAccessTokenFetcher.refreshToken(REFRESH_TOKEN))
+                .thenReturn(Optional.of(tokenResponse(REFRESHED_ACCESS_TOKEN, 3600, "myNewRefreshToken")));
+        AccessTokenManager accessTokenManager = new AccessTokenManager(
+                spotifyAccessTokenFetcher, Duration.ZERO, CredentialStore.NONE, commandLineView);
+        accessTokenManager.update(tokenResponse(ACCESS_TOKEN, 0, REFRESH_TOKEN));
+
+        // WHEN
+        String accessToken = accessTokenManager.getAccessToken();
+
+        // THEN
+        assertThat(accessToken).isEqualTo(REFRESHED_ACCESS_TOKEN);
+        assertThat(accessTokenManager.getCurrentToken().orElseThrow().getRefreshToken()).isEqualTo("myNewRefreshToken");
+    }
+
+    @Test
+    void givenConcurrentRefreshesOfTheSameRejectedToken_whenRefreshing_thenOnlyOneTokenRequestIsMade() {
+        // GIVEN
+        when(spotifyAccessTokenFetcher.refreshToken(REFRESH_TOKEN)).thenAnswer(invocation -> {
+            TimeUnit.MILLISECONDS.sleep(200);
+            return Optional.of(tokenResponse(REFRESHED_ACCESS_TOKEN, 3600, null));
+        });
+        AccessTokenManager accessTokenManager = new AccessTokenManager(spotifyAccessTokenFetcher,
+                AccessTokenManager.DEFAULT_REFRESH_MARGIN, CredentialStore.NONE, commandLineView);
+        accessTokenManager.update(tokenResponse(ACCESS_TOKEN, 3600, REFRESH_TOKEN));
+
+        // WHEN
+        CompletableFuture<String> firstRefresh =
+                CompletableFuture.supplyAsync(() -> accessTokenManager.refresh(ACCESS_TOKEN));
+        CompletableFuture<String> secondRefresh =
+                CompletableFuture.supplyAsync(() -> accessTokenManager.refresh(ACCESS_TOKEN));
+
+        // THEN
+        assertThat(firstRefresh.join()).isEqualTo(REFRESHED_ACCESS_TOKEN);
+        assertThat(secondRefresh.join()).isEqualTo(REFRESHED_ACCESS_TOKEN);
+        verify(spotifyAccessTokenFetcher, times(1)).refreshToken(REFRESH_TOKEN);
+    }
+
+    @Test
+    void givenRefreshFails_whenRefreshing_thenRejectedTokenIsReturned() {
+        // GIVEN
+        when(spotifyAccessTokenFetcher.refreshToken(REFRESH_TOKEN)).thenReturn(Optional.empty());
+        AccessTokenManager accessTokenManager = new AccessTokenManager(spotifyAccessTokenFetcher,
+                AccessTokenManager.DEFAULT_REFRESH_MARGIN, CredentialStore.NONE, commandLineView);
+        accessTokenManager.update(tokenResponse(ACCESS_TOKEN, 3600, REFRESH_TOKEN));
+
+        // WHEN
+        String accessToken = accessTokenManager.refresh(ACCESS_TOKEN);
+
+        // THEN
+        assertThat(accessToken).isEqualTo(ACCESS_TOKEN);
+    }
+
+    private static SpotifyAccessTokenResponse tokenResponse(String accessToken, int expiresIn, String refreshToken) {
+        return new SpotifyAccessTokenResponse(accessToken, expiresIn, "Bearer", refreshToken, "");
+    }
+}
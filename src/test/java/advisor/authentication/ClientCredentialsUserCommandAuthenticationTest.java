@@ -0,0 +1,108 @@
+package advisor.authentication;
+
+import advisor.authentication.dto.SpotifyAccessTokenResponse;
+import advisor.metrics.MetricsRegistry;
+import advisor.view.CommandLineView;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+final class ClientCredentialsUserCommandAuthenticationTest {
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private final CommandLineView commandLineView =
+            new CommandLineView(new Scanner(System.in), new PrintStream(output), 5, new MetricsRegistry());
+
+    @Mock
+    private SpotifyAccessTokenFetcher spotifyAccessTokenFetcher;
+
+    @Test
+    void givenNoTokenYet_whenCheckingAuthentication_thenAuthenticatedWithoutRequestingToken() {
+        // GIVEN
+        ClientCredentialsUserCommandAuthentication authentication =
+                new ClientCredentialsUserCommandAuthentication(spotifyAccessTokenFetcher, commandLineView);
+
+        // WHEN
+        boolean authenticated = authentication.isAuthenticated();
+
+        // THEN
+        assertThat(authenticated).isTrue();
+        verifyNoInteractions(spotifyAccessTokenFetcher);
+    }
+
+    @Test
+    void givenNoTokenYet_whenGettingAccessTokenConcurrently_thenTokenIsRequestedOnce() {
+        // GIVEN
+        when(spotifyAccessTokenFetcher.fetchClientCredentialsToken())
+                .thenReturn(Optional.of(tokenResponse("myAppAccessToken", 3600)));
+        ClientCredentialsUserCommandAuthentication authentication =
+                new ClientCredentialsUserCommandAuthentication(spotifyAccessTokenFetcher, commandLineView);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+        // WHEN
+        List<String> accessTokens = IntStream.range(0, 4)
+                .mapToObj(call -> CompletableFuture.supplyAsync(authentication::getAccessToken, executorService))
+                .collect(Collectors.toList()).stream()
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList());
+        executorService.shutdown();
+
+        // THEN
+        assertThat(accessTokens).containsOnly("myAppAccessToken");
+        verify(spotifyAccessTokenFetcher, times(1)).fetchClientCredentialsToken();
+    }
+
+    @Test
+    void givenExpiredToken_whenGettingAccessToken_thenNewTokenIsRequested() {
+        // GIVEN
+        when(spotifyAccessTokenFetcher.fetchClientCredentialsToken())
+                .thenReturn(Optional.of(tokenResponse("myExpiredAccessToken", 0)))
+                .thenReturn(Optional.of(tokenResponse("myNewAccessToken", 3600)));
+        ClientCredentialsUserCommandAuthentication authentication =
+                new ClientCredentialsUserCommandAuthentication(spotifyAccessTokenFetcher, commandLineView);
+        authentication.authenticate();
+
+        // WHEN
+        String accessToken = authentication.getAccessToken();
+
+        // THEN
+        assertThat(accessToken).isEqualTo("myNewAccessToken");
+        verify(spotifyAccessTokenFetcher, times(2)).fetchClientCredentialsToken();
+    }
+
+    @Test
+    void givenTokenNotGranted_whenGettingAccessToken_thenNotAuthenticatedAndMessageIsWritten() {
+        // GIVEN
+        when(spotifyAccessTokenFetcher.fetchClientCredentialsToken()).thenReturn(Optional.empty());
+        ClientCredentialsUserCommandAuthentication authentication =
+                new ClientCredentialsUserCommandAuthentication(spotifyAccessTokenFetcher, commandLineView);
+
+        // WHEN
+        String accessToken = authentication.getAccessToken();
+
+        // THEN
+        assertThat(accessToken).isNull();
+        assertThat(authentication.isAuthenticated()).isFalse();
+        assertThat(output).hasToString("token not received" + System.lineSeparator());
+    }
+
+    private static SpotifyAccessTokenResponse tokenResponse(String accessToken, int expiresIn) {
+        return new SpotifyAccessTokenResponse(accessToken, expiresIn, "Bearer", null, null);
+    }
+}
@@ -0,0 +1,92 @@
+package advisor.authentication;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class EncryptedFileCredentialStoreTest {
+
+    private static final String PASSPHRASE = "myClientSecret";
+    private static final AccessToken ACCESS_TOKEN =
+            new AccessToken("myAccessToken", "myRefreshToken", Instant.ofEpochSecond(1_700_000_000));
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void givenSavedToken_whenLoadingWithSamePassphrase_thenSameTokenIsReturned() {
+        // GIVEN
+        Path file = directory.resolve("credentials");
+        new EncryptedFileCredentialStore(file, PASSPHRASE).save(ACCESS_TOKEN);
+
+        // WHEN
+        Optional<AccessToken> loadedToken = new EncryptedFileCredentialStore(file, PASSPHRASE).load();
+
+        // THEN
+        assertThat(loadedToken).contains(ACCESS_TOKEN);
+    }
+
+    @Test
+    void givenSavedToken_whenReadingTheFile_thenTokensAreNotInPlainText() throws IOException {
+        // GIVEN
+        Path file = directory.resolve("credentials");
+
+        // WHEN
+        new EncryptedFileCredentialStore(file, PASSPHRASE).save(ACCESS_TOKEN);
+
+        // THEN
+        assertThat(new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1))
+                .doesNotContain(ACCESS_TOKEN.getAccessToken())
+                .doesNotContain(ACCESS_TOKEN.getRefreshToken());
+    }
+
+    @Test
+    void givenSavedToken_whenLoadingWithAnotherPassphrase_thenNoTokenIsReturned() {
+        // GIVEN
+        Path file = directory.resolve("credentials");
+        new EncryptedFileCredentialStore(file, PASSPHRASE).save(ACCESS_TOKEN);
+
+        // WHEN
+        Optional<AccessToken> loadedToken = new EncryptedFileCredentialStore(file, "anotherSecret").load();
+
+        // THEN
+        assertThat(loadedToken).isEmpty();
+    }
+
+    @Test
+    void givenTamperedFile_whenLoading_thenNoTokenIsReturned() throws IOException {
+        // GIVEN
+        Path file = directory.resolve("credentials");
+        new EncryptedFileCredentialStore(file, PASSPHRASE).save(ACCESS_TOKEN);
+        byte[] contents = Files.readAllBytes(file);
+        contents[contents.length - 1] ^= 1;
+        Files.write(file, contents);
+
+        // WHEN
+        Optional<AccessToken> loadedToken = new EncryptedFileCredentialStore(file, PASSPHRASE).load();
+
+        // THEN
+        assertThat(loadedToken).isEmpty();
+    }
+
+    @Test
+    void givenNoFile_whenLoading_thenNoTokenIsReturned() {
+        // GIVEN
+        EncryptedFileCredentialStore credentialStore =
+                new EncryptedFileCredentialStore(directory.resolve("credentials"), PASSPHRASE);
+
+        // WHEN
+        Optional<AccessToken> loadedToken = credentialStore.load();
+
+        // THEN
+        assertThat(loadedToken).isEmpty();
+    }
+}
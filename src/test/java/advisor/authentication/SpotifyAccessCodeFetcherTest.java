@@ -1,5 +1,7 @@
 package advisor.authentication;
 
+import advisor.authentication.SpotifyAccessCodeFetcher.PendingAuthorization;
+import advisor.metrics.MetricsRegistry;
 import advisor.utils.FreePortExtension;
 import advisor.view.CommandLineView;
 import org.apache.http.client.utils.URIBuilder;
@@ -20,6 +22,8 @@ import java.net.http.HttpResponse.BodyHandlers;
 import java.util.Optional;
 import java.util.Scanner;
 import java.util.concurrent.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static org.apache.http.HttpStatus.SC_OK;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -31,7 +35,8 @@ final class SpotifyAccessCodeFetcherTest {
     private final HttpClient client = HttpClient.newBuilder().build();
     private final URIBuilder uriBuilder = new URIBuilder();
     private final ByteArrayOutputStream output = new ByteArrayOutputStream();
-    private final CommandLineView commandLineView = new CommandLineView(new Scanner(System.in), new PrintStream(output), 5);
+    private final CommandLineView commandLineView = new CommandLineView(new Scanner(System.in),
+            new PrintStream(output), 5, new MetricsRegistry());
     private final ExecutorService executorService = Executors.newSingleThreadExecutor();
     private String redirectUri;
     private SpotifyAccessCodeFetcher spotifyAccessCodeFetcher;
@@ -49,8 +54,9 @@ final class SpotifyAccessCodeFetcherTest {
     }
 
     @AfterEach
-    void shutDownExecutor() {
+    void shutDownExecutorAndListener() {
         executorService.shutdownNow();
+        spotifyAccessCodeFetcher.close();
     }
 
     @Test
@@ -58,10 +64,8 @@ final class SpotifyAccessCodeFetcherTest {
         String accessCode = "ds7894564_fda0";
         uriBuilder.addParameter("code", accessCode);
 
-        HttpRequest request = buildHttpRequest(uriBuilder);
-
         // WHEN
-        Future<Optional<String>> result = fetchAccessCodeAndGetOptionalAccessCode(request);
+        Future<Optional<String>> result = fetchAccessCodeAndGetOptionalAccessCode(uriBuilder);
 
         // THEN
         assertThat(result.isDone()).isTrue();
@@ -72,10 +76,9 @@ final class SpotifyAccessCodeFetcherTest {
     void givenQueryToRedirectUriDoesNotContainAccessCode_whenFetchingTheAccessCode_thenItIsNotReturned() throws ExecutionException, InterruptedException, IOException, URISyntaxException {
         // GIVEN
         uriBuilder.addParameter("randomParam", "123456");
-        HttpRequest request = buildHttpRequest(uriBuilder);
 
         // WHEN
-        Future<Optional<String>> result = fetchAccessCodeAndGetOptionalAccessCode(request);
+        Future<Optional<String>> result = fetchAccessCodeAndGetOptionalAccessCode(uriBuilder);
 
         // THEN
         assertThat(result.isDone()).isTrue();
@@ -83,30 +86,31 @@ final class SpotifyAccessCodeFetcherTest {
     }
 
     @Test
-    void givenQueryToRedirectUriIsEmpty_whenFetchingTheAccessCode_thenItIsNotReturned() throws ExecutionException, InterruptedException, IOException, URISyntaxException {
+    void givenQueryToRedirectUriIsEmpty_whenFetchingTheAccessCode_thenItIsNotReturnedAndStillAwaited() throws InterruptedException, IOException, URISyntaxException {
         // GIVEN
         HttpRequest request = buildHttpRequest(uriBuilder);
 
         // WHEN
-        Future<Optional<String>> result = fetchAccessCodeAndGetOptionalAccessCode(request);
+        executorService.submit(spotifyAccessCodeFetcher::fetchAccessCode);
+        awaitState();
+        HttpResponse<String> httpResponse = client.send(request, BodyHandlers.ofString());
 
         // THEN
-        assertThat(result.isDone()).isTrue();
-        assertThat((result.get())).isEmpty();
+        assertThat(httpResponse.body()).isEqualTo("Not found authorization code. Try again.");
     }
 
     @Test
     void whenFetchingTheAccessCode_thenCommandLineMessagesArePrinted() throws InterruptedException, IOException, URISyntaxException {
         // GIVEN
         uriBuilder.addParameter("randomParam", "123456");
-        HttpRequest request = buildHttpRequest(uriBuilder);
 
         // WHEN
-        fetchAccessCodeAndGetRedirectUriResponse(request);
+        String state = fetchAccessCodeAndGetRedirectUriResponse(uriBuilder).request().uri().getQuery()
+                .replaceAll(".*state=", "");
 
         // THEN
-        String accessCodeUrl = String.format("%s?client_id=%s&redirect_uri=%s&response_type=code",
-                SPOTIFY_ACCESS_HOST + "/authorize", CLIENT_ID, redirectUri);
+        String accessCodeUrl = String.format("%s?client_id=%s&redirect_uri=%s&response_type=code&state=%s",
+                SPOTIFY_ACCESS_HOST + "/authorize", CLIENT_ID, redirectUri, state);
         String expectedMessages = "use this link to request the access code:" + System.lineSeparator()
                 + accessCodeUrl + System.lineSeparator()
                 + "waiting for code..." + System.lineSeparator();
@@ -118,10 +122,9 @@ final class SpotifyAccessCodeFetcherTest {
         // GIVEN
         String accessCode = "ds7894564_fda0";
         uriBuilder.addParameter("code", accessCode);
-        HttpRequest request = buildHttpRequest(uriBuilder);
 
         // WHEN
-        HttpResponse<String> httpResponse = fetchAccessCodeAndGetRedirectUriResponse(request);
+        HttpResponse<String> httpResponse = fetchAccessCodeAndGetRedirectUriResponse(uriBuilder);
 
         // THEN
         assertThat(httpResponse.statusCode()).isEqualTo(SC_OK);
@@ -132,10 +135,9 @@ final class SpotifyAccessCodeFetcherTest {
     void givenQueryToRedirectUriDoesNotContainAccessCode_whenFetchingTheAccessCode_thenResponseContainsCorrectMessage() throws InterruptedException, IOException, URISyntaxException {
         // GIVEN
         uriBuilder.addParameter("randomParam", "123456");
-        HttpRequest request = buildHttpRequest(uriBuilder);
 
         // WHEN
-        HttpResponse<String> httpResponse = fetchAccessCodeAndGetRedirectUriResponse(request);
+        HttpResponse<String> httpResponse = fetchAccessCodeAndGetRedirectUriResponse(uriBuilder);
 
         // THEN
         assertThat(httpResponse.statusCode()).isEqualTo(SC_OK);
@@ -155,6 +157,50 @@ final class SpotifyAccessCodeFetcherTest {
         assertThat((result.get())).isEmpty();
     }
 
+    @Test
+    void givenConcurrentAuthorizations_whenRedirectCarriesTheStateOfOne_thenOnlyThatOneGetsTheCode() throws IOException, InterruptedException, URISyntaxException {
+        // GIVEN
+        PendingAuthorization firstAuthorization = spotifyAccessCodeFetcher.startAuthorization();
+        PendingAuthorization secondAuthorization = spotifyAccessCodeFetcher.startAuthorization();
+        uriBuilder.addParameter("code", "ds7894564_fda0").addParameter("state", secondAuthorization.getState());
+
+        // WHEN
+        client.send(buildHttpRequest(uriBuilder), BodyHandlers.ofString());
+
+        // THEN
+        assertThat(secondAuthorization.getAccessCode()).isCompletedWithValue(Optional.of("ds7894564_fda0"));
+        assertThat(firstAuthorization.getAccessCode()).isNotDone();
+    }
+
+    @Test
+    void givenRedirectWithUnknownState_whenFetchingTheAccessCode_thenCodeIsNotDelivered() throws IOException, InterruptedException, URISyntaxException {
+        // GIVEN
+        PendingAuthorization authorization = spotifyAccessCodeFetcher.startAuthorization();
+        uriBuilder.addParameter("code", "ds7894564_fda0").addParameter("state", "forgedState");
+
+        // WHEN
+        HttpResponse<String> httpResponse = client.send(buildHttpRequest(uriBuilder), BodyHandlers.ofString());
+
+        // THEN
+        assertThat(httpResponse.body()).isEqualTo("Not found authorization code. Try again.");
+        assertThat(authorization.getAccessCode()).isNotDone();
+    }
+
+    @Test
+    void givenPreviousAuthorizationTimedOut_whenFetchingTheAccessCodeAgain_thenSameListenerReturnsIt() throws IOException, InterruptedException, ExecutionException, URISyntaxException {
+        // GIVEN
+        assertThat(spotifyAccessCodeFetcher.fetchAccessCode()).isEmpty();
+        output.reset();
+        String accessCode = "ds7894564_fda0";
+        uriBuilder.addParameter("code", accessCode);
+
+        // WHEN
+        Future<Optional<String>> result = fetchAccessCodeAndGetOptionalAccessCode(uriBuilder);
+
+        // THEN
+        assertThat(result.get()).contains(accessCode);
+    }
+
     private HttpRequest buildHttpRequest(URIBuilder uriBuilder) throws URISyntaxException {
         return HttpRequest.newBuilder()
                 .uri(uriBuilder.build())
@@ -162,22 +208,38 @@ final class SpotifyAccessCodeFetcherTest {
                 .build();
     }
 
-    private Future<Optional<String>> fetchAccessCodeAndGetOptionalAccessCode(HttpRequest request) throws IOException, InterruptedException {
+    private Future<Optional<String>> fetchAccessCodeAndGetOptionalAccessCode(URIBuilder uriBuilder) throws IOException, InterruptedException, URISyntaxException {
         Future<Optional<String>> result = executorService.submit(spotifyAccessCodeFetcher::fetchAccessCode);
-        startAccessCodeServerAndGetRedirectUriResponse(request);
+        redirectWithStateAndGetResponse(uriBuilder);
         return result;
     }
 
-    private HttpResponse<String> fetchAccessCodeAndGetRedirectUriResponse(HttpRequest request) throws IOException, InterruptedException {
+    private HttpResponse<String> fetchAccessCodeAndGetRedirectUriResponse(URIBuilder uriBuilder) throws IOException, InterruptedException, URISyntaxException {
         executorService.submit(spotifyAccessCodeFetcher::fetchAccessCode);
-        return startAccessCodeServerAndGetRedirectUriResponse(request);
+        return redirectWithStateAndGetResponse(uriBuilder);
     }
 
-    private HttpResponse<String> startAccessCodeServerAndGetRedirectUriResponse(HttpRequest request) throws IOException, InterruptedException {
+    private HttpResponse<String> redirectWithStateAndGetResponse(URIBuilder uriBuilder) throws IOException, InterruptedException, URISyntaxException {
+        uriBuilder.addParameter("state", awaitState());
         executorService.shutdown();
-        HttpResponse<String> response = client.send(request, BodyHandlers.ofString());
+        HttpResponse<String> response = client.send(buildHttpRequest(uriBuilder), BodyHandlers.ofString());
         executorService.awaitTermination(TEST_EXECUTION_SERVICE_AWAIT_SECONDS, TimeUnit.SECONDS);
         return response;
     }
+
+    /**
+     * The state of the authorization, from the access code URL printed once the listener is ready
+     */
+    private String awaitState() throws InterruptedException {
+        Pattern statePattern = Pattern.compile("state=([\\w-]+)");
+        for (int attempt = 0; attempt < 100; attempt++) {
+            Matcher stateMatcher = statePattern.matcher(output.toString());
+            if (stateMatcher.find()) {
+                return stateMatcher.group(1);
+            }
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        throw new IllegalStateException("Access code URL not printed");
+    }
 }
 
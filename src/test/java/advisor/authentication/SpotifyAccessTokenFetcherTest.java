@@ -1,6 +1,8 @@
 package advisor.authentication;
 
 import advisor.authentication.dto.SpotifyAccessTokenResponse;
+import advisor.http.DefaultHttpTransport;
+import advisor.metrics.MetricsRegistry;
 import advisor.view.CommandLineView;
 import com.github.jenspiegsa.wiremockextension.Managed;
 import com.github.jenspiegsa.wiremockextension.WireMockExtension;
@@ -13,8 +15,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.Assertions;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParser;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
@@ -41,7 +41,7 @@ final class SpotifyAccessTokenFetcherTest {
     private static final String API_TOKEN_URL_PATH = "/api/token";
     private final ByteArrayOutputStream output = new ByteArrayOutputStream();
     private final CommandLineView commandLineView =
-            new CommandLineView(new Scanner(System.in), new PrintStream(output), 5);
+            new CommandLineView(new Scanner(System.in), new PrintStream(output), 5, new MetricsRegistry());
     private SpotifyAccessTokenFetcher spotifyAccessTokenFetcher;
 
     @Managed
@@ -52,6 +52,7 @@ final class SpotifyAccessTokenFetcherTest {
         String spotifyAccessHost = "http://localhost";
         spotifyAccessTokenFetcher = new SpotifyAccessTokenFetcher(
                 spotifyAccessHost + ":" + wireMockServer.port(),
+                new DefaultHttpTransport(),
                 CLIENT_ID, CLIENT_SECRET, REDIRECT_URI, commandLineView);
     }
 
@@ -72,25 +73,23 @@ final class SpotifyAccessTokenFetcherTest {
     }
 
     @Test
-    void givenValidResponse_whenRequestingAccessToken_thenSuccessfulMessagesAndAccessTokenArePrinted() {
+    void givenValidResponse_whenRequestingAccessToken_thenRequestMessageIsPrintedWithoutTheTokens() {
         // GIVEN
-        final String requestBody = new Gson().toJson(buildValidResponseBody());
+        SpotifyAccessTokenResponse responseBody = buildValidResponseBody();
         stubFor(post(API_TOKEN_URL_PATH)
                 .willReturn(aResponse()
                         .withStatus(HttpStatus.SC_OK)
                         .withHeader(CONTENT_TYPE, APPLICATION_JSON.getMimeType())
-                        .withBody(requestBody)));
+                        .withBody(new Gson().toJson(responseBody))));
 
         // WHEN
         spotifyAccessTokenFetcher.fetchAccessToken("myAccessCode");
+
         // THEN
-        String actualMessage = output.toString();
-        String responsePlaceholder = "response:" + System.lineSeparator();
-        assertThat(actualMessage).contains("making http request for access_token..." + System.lineSeparator()
-                + responsePlaceholder);
-        JsonElement actualResponseBodyJson = JsonParser.parseString(actualMessage.split(responsePlaceholder)[1].trim());
-        JsonElement expectedResponseBodyJson = JsonParser.parseString(requestBody);
-        assertThat(actualResponseBodyJson).isEqualTo(expectedResponseBodyJson);
+        assertThat(output.toString())
+                .isEqualTo("making http request for access_token..." + System.lineSeparator())
+                .doesNotContain(ACCESS_TOKEN)
+                .doesNotContain(responseBody.getRefreshToken());
     }
 
     @Test
@@ -156,6 +155,50 @@ final class SpotifyAccessTokenFetcherTest {
                 .contains("redirect_uri=" + REDIRECT_URI);
     }
 
+    @Test
+    void givenValidResponse_whenRefreshingAccessToken_thenRefreshGrantIsSentAndNewTokenIsReturned() {
+        // GIVEN
+        stubFor(post(API_TOKEN_URL_PATH)
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.SC_OK)
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON.getMimeType())
+                        .withBody(new Gson().toJson(buildValidResponseBody()))));
+
+        // WHEN
+        Optional<SpotifyAccessTokenResponse> response = spotifyAccessTokenFetcher.refreshToken("myRefreshToken");
+
+        // THEN
+        assertThat(response).isNotEmpty();
+        assertThat(response.get().getAccessToken()).isEqualTo(ACCESS_TOKEN);
+        assertThat(output.toString()).isEmpty();
+        List<LoggedRequest> requests = findAll(postRequestedFor(urlEqualTo(API_TOKEN_URL_PATH)));
+        assertThat(requests.get(0).getBodyAsString())
+                .contains("grant_type=refresh_token")
+                .contains("refresh_token=myRefreshToken");
+    }
+
+    @Test
+    void givenValidResponse_whenRequestingClientCredentialsToken_thenClientCredentialsGrantIsSent() {
+        // GIVEN
+        stubFor(post(API_TOKEN_URL_PATH)
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.SC_OK)
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON.getMimeType())
+                        .withBody(new Gson().toJson(buildValidResponseBody()))));
+
+        // WHEN
+        Optional<SpotifyAccessTokenResponse> response = spotifyAccessTokenFetcher.fetchClientCredentialsToken();
+
+        // THEN
+        assertThat(response).isNotEmpty();
+        assertThat(response.get().getAccessToken()).isEqualTo(ACCESS_TOKEN);
+        String expectedBase64EncodedClientData =
+                Base64.getEncoder().encodeToString(String.join(":", CLIENT_ID, CLIENT_SECRET).getBytes());
+        verify(postRequestedFor(urlEqualTo(API_TOKEN_URL_PATH))
+                .withHeader("Authorization", equalTo("Basic " + expectedBase64EncodedClientData))
+                .withRequestBody(containing("grant_type=client_credentials")));
+    }
+
     private SpotifyAccessTokenResponse buildValidResponseBody() {
         return new SpotifyAccessTokenResponse(SpotifyAccessTokenFetcherTest.ACCESS_TOKEN, 3600, "Bearer",
                 "AQCSmdQsvsvpneadsdq1brfKlbEWleTE3nprDwPbZgNSge5dVe_svYBG-RG-_" +
@@ -1,5 +1,7 @@
 package advisor.authentication;
 
+import advisor.authentication.dto.SpotifyAccessTokenResponse;
+import advisor.metrics.MetricsRegistry;
 import advisor.view.CommandLineView;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,11 +13,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AccessDeniedException;
+import java.time.Instant;
 import java.util.Optional;
 import java.util.Scanner;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 final class SpotifyOAuthUserCommandAuthenticationTest {
@@ -23,7 +28,8 @@ final class SpotifyOAuthUserCommandAuthenticationTest {
     private final ByteArrayOutputStream output = new ByteArrayOutputStream();
 
     @Spy
-    private final CommandLineView commandLineView = new CommandLineView(new Scanner(System.in), new PrintStream(output), 5);
+    private final CommandLineView commandLineView = new CommandLineView(new Scanner(System.in),
+            new PrintStream(output), 5, new MetricsRegistry());
 
     @Mock
     private SpotifyAccessCodeFetcher spotifyAccessCodeFetcher;
@@ -31,6 +37,9 @@ final class SpotifyOAuthUserCommandAuthenticationTest {
     @Mock
     private SpotifyAccessTokenFetcher spotifyAccessTokenFetcher;
 
+    @Mock
+    private CredentialStore credentialStore;
+
     @InjectMocks
     private SpotifyOAuthUserCommandAuthentication spotifyOAuthUserCommandAuthentication;
 
@@ -40,7 +49,7 @@ final class SpotifyOAuthUserCommandAuthenticationTest {
         String accessCode = "myAccessCode";
         String accessToken = "myAccessToken";
         when(spotifyAccessCodeFetcher.fetchAccessCode()).thenReturn(Optional.of(accessCode));
-        when(spotifyAccessTokenFetcher.fetchAccessToken(accessCode)).thenReturn(Optional.of(accessToken));
+        when(spotifyAccessTokenFetcher.fetchToken(accessCode)).thenReturn(Optional.of(tokenResponse(accessToken)));
 
         // WHEN
         spotifyOAuthUserCommandAuthentication.authenticate();
@@ -56,7 +65,7 @@ final class SpotifyOAuthUserCommandAuthenticationTest {
         String accessCode = "myAccessCode";
         String accessToken = "myAccessToken";
         when(spotifyAccessCodeFetcher.fetchAccessCode()).thenReturn(Optional.of(accessCode));
-        when(spotifyAccessTokenFetcher.fetchAccessToken(accessCode)).thenReturn(Optional.of(accessToken));
+        when(spotifyAccessTokenFetcher.fetchToken(accessCode)).thenReturn(Optional.of(tokenResponse(accessToken)));
 
         // WHEN
         spotifyOAuthUserCommandAuthentication.authenticate();
@@ -71,7 +80,7 @@ final class SpotifyOAuthUserCommandAuthenticationTest {
         // GIVEN
         String accessCode = "myAccessCode";
         when(spotifyAccessCodeFetcher.fetchAccessCode()).thenReturn(Optional.of(accessCode));
-        when(spotifyAccessTokenFetcher.fetchAccessToken(accessCode)).thenReturn(Optional.empty());
+        when(spotifyAccessTokenFetcher.fetchToken(accessCode)).thenReturn(Optional.empty());
 
         // WHEN
         spotifyOAuthUserCommandAuthentication.authenticate();
@@ -86,7 +95,7 @@ final class SpotifyOAuthUserCommandAuthenticationTest {
         // GIVEN
         String accessCode = "myAccessCode";
         when(spotifyAccessCodeFetcher.fetchAccessCode()).thenReturn(Optional.of(accessCode));
-        when(spotifyAccessTokenFetcher.fetchAccessToken(accessCode)).thenReturn(Optional.empty());
+        when(spotifyAccessTokenFetcher.fetchToken(accessCode)).thenReturn(Optional.empty());
 
         // WHEN
         spotifyOAuthUserCommandAuthentication.authenticate();
@@ -122,4 +131,64 @@ final class SpotifyOAuthUserCommandAuthenticationTest {
         String expectedMessages = "code not received" + System.lineSeparator();
         assertThat(output).hasToString(expectedMessages);
     }
+
+    @Test
+    void givenTokenStoredByPreviousRun_whenStarting_thenUserIsAuthenticatedWithoutAccessCode() {
+        // GIVEN
+        String accessToken = "myStoredAccessToken";
+        when(credentialStore.load()).thenReturn(Optional.of(
+                new AccessToken(accessToken, "myRefreshToken", Instant.now().plusSeconds(3600))));
+
+        // WHEN
+        SpotifyOAuthUserCommandAuthentication restoredAuthentication = new SpotifyOAuthUserCommandAuthentication(
+                spotifyAccessCodeFetcher, spotifyAccessTokenFetcher, credentialStore, commandLineView);
+
+        // THEN
+        assertThat(restoredAuthentication.isAuthenticated()).isTrue();
+        assertThat(restoredAuthentication.getAccessToken()).isEqualTo(accessToken);
+        verifyNoInteractions(spotifyAccessCodeFetcher, spotifyAccessTokenFetcher);
+    }
+
+    @Test
+    void givenAccessTokenObtained_whenAuthenticating_thenItIsSavedToCredentialStore() throws IOException, InterruptedException {
+        // GIVEN
+        String accessCode = "myAccessCode";
+        String accessToken = "myAccessToken";
+        when(spotifyAccessCodeFetcher.fetchAccessCode()).thenReturn(Optional.of(accessCode));
+        when(spotifyAccessTokenFetcher.fetchToken(accessCode)).thenReturn(Optional.of(tokenResponse(accessToken)));
+
+        // WHEN
+        spotifyOAuthUserCommandAuthentication.authenticate();
+
+        // THEN
+        verify(credentialStore).save(argThat(token -> token.getAccessToken().equals(accessToken)
+                && token.getRefreshToken().equals("myRefreshToken")));
+    }
+
+    @Test
+    void givenCredentialStoreCannotBeWritten_whenAuthenticating_thenTokenIsKeptAndWarningIsWrittenOnce()
+            throws IOException, InterruptedException {
+        // GIVEN
+        String accessCode = "myAccessCode";
+        String accessToken = "myAccessToken";
+        when(spotifyAccessCodeFetcher.fetchAccessCode()).thenReturn(Optional.of(accessCode));
+        when(spotifyAccessTokenFetcher.fetchToken(accessCode)).thenReturn(Optional.of(tokenResponse(accessToken)));
+        doThrow(new UncheckedIOException(new AccessDeniedException("credentials")))
+                .when(credentialStore).save(any());
+
+        // WHEN
+        spotifyOAuthUserCommandAuthentication.authenticate();
+        spotifyOAuthUserCommandAuthentication.authenticate();
+
+        // THEN
+        assertThat(spotifyOAuthUserCommandAuthentication.isAuthenticated()).isTrue();
+        assertThat(spotifyOAuthUserCommandAuthentication.getAccessToken()).isEqualTo(accessToken);
+        assertThat(output.toString().split(System.lineSeparator()))
+                .filteredOn(line -> line.startsWith("Warning: the access token could not be saved"))
+                .hasSize(1);
+    }
+
+    private static SpotifyAccessTokenResponse tokenResponse(String accessToken) {
+        return new SpotifyAccessTokenResponse(accessToken, 3600, "Bearer", "myRefreshToken", "");
+    }
 }
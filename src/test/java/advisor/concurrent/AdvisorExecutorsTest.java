@@ -0,0 +1,43 @@
+package advisor.concurrent;
+
+import advisor.concurrent.AdvisorExecutors.ExecutionMode;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class AdvisorExecutorsTest {
+
+    @Test
+    void givenPlatformExecutionMode_whenRunningTask_thenItRunsOnNamedDaemonThread() throws Exception {
+        // GIVEN
+        ExecutorService executorService = AdvisorExecutors.newExecutor(ExecutionMode.PLATFORM, 2, "fetcher");
+
+        // WHEN
+        Future<Thread> thread = executorService.submit(Thread::currentThread);
+
+        // THEN
+        assertThat(thread.get().isDaemon()).isTrue();
+        assertThat(thread.get().getName()).startsWith("fetcher-");
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void givenVirtualExecutionMode_whenRunningTask_thenItRunsOnVirtualThreadIfSupported() throws Exception {
+        // GIVEN
+        ExecutorService executorService = AdvisorExecutors.newExecutor(ExecutionMode.VIRTUAL, 2, "fetcher");
+
+        // WHEN
+        Future<Thread> thread = executorService.submit(Thread::currentThread);
+
+        // THEN
+        if (AdvisorExecutors.areVirtualThreadsSupported()) {
+            assertThat(thread.get().getClass().getName()).contains("Virtual");
+        } else {
+            assertThat(thread.get().getName()).startsWith("fetcher-");
+        }
+        executorService.shutdownNow();
+    }
+}
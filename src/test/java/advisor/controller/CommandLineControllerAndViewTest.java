@@ -3,18 +3,27 @@ package advisor.controller;
 import advisor.authentication.AlwaysAuthenticatedUserCommandAuthentication;
 import advisor.authentication.NeverAuthenticatedUserCommandAuthentication;
 import advisor.authentication.UserCommandAuthentication;
+import advisor.metrics.MetricsRegistry;
+import advisor.model.CategoryIndex;
+import advisor.model.PagePrefetcher;
+import advisor.model.ResourceExporter;
 import advisor.model.service.Advisor;
 import advisor.model.service.FakeAdvisor;
 import advisor.view.CommandLineView;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Scanner;
 
 import static advisor.model.service.FakeAdvisorData.GOOD_MOOD_CATEGORY;
+import static advisor.model.service.FakeAdvisorData.GOOD_MOOD_CATEGORY_PLAYLISTS;
 import static org.assertj.core.api.Assertions.assertThat;
 
 final class CommandLineControllerAndViewTest {
@@ -23,6 +32,7 @@ final class CommandLineControllerAndViewTest {
     private final ByteArrayOutputStream output = new ByteArrayOutputStream();
     private final Advisor fakeAdvisor = new FakeAdvisor(DEFAULT_PAGE_SIZE);
     private final UserCommandAuthentication userCommandAuthentication = new AlwaysAuthenticatedUserCommandAuthentication();
+    private final MetricsRegistry metricsRegistry = new MetricsRegistry();
     private CommandLineView commandLineView;
     private CommandLineController commandLineController;
 
@@ -31,8 +41,9 @@ final class CommandLineControllerAndViewTest {
         // GIVEN
         String input = "not supported";
         InputStream inputStream = new ByteArrayInputStream(input.getBytes());
-        commandLineView = new CommandLineView(new Scanner(inputStream), new PrintStream(output), DEFAULT_PAGE_SIZE);
-        commandLineController = new CommandLineController(commandLineView, fakeAdvisor, userCommandAuthentication, DEFAULT_PAGE_SIZE);
+        commandLineView = new CommandLineView(new Scanner(inputStream),
+                new PrintStream(output), DEFAULT_PAGE_SIZE, metricsRegistry);
+        commandLineController = newCommandLineController(fakeAdvisor, userCommandAuthentication);
 
         // WHEN
         commandLineController.processInput();
@@ -46,8 +57,9 @@ final class CommandLineControllerAndViewTest {
         // GIVEN
         String input = "new";
         InputStream inputStream = new ByteArrayInputStream(input.getBytes());
-        commandLineView = new CommandLineView(new Scanner(inputStream), new PrintStream(output), DEFAULT_PAGE_SIZE);
-        commandLineController = new CommandLineController(commandLineView, fakeAdvisor, userCommandAuthentication, DEFAULT_PAGE_SIZE);
+        commandLineView = new CommandLineView(new Scanner(inputStream),
+                new PrintStream(output), DEFAULT_PAGE_SIZE, metricsRegistry);
+        commandLineController = newCommandLineController(fakeAdvisor, userCommandAuthentication);
 
         // WHEN
         commandLineController.processInput();
@@ -67,8 +79,9 @@ final class CommandLineControllerAndViewTest {
         // GIVEN
         String input = "featured";
         InputStream inputStream = new ByteArrayInputStream(input.getBytes());
-        commandLineView = new CommandLineView(new Scanner(inputStream), new PrintStream(output), DEFAULT_PAGE_SIZE);
-        commandLineController = new CommandLineController(commandLineView, fakeAdvisor, userCommandAuthentication, DEFAULT_PAGE_SIZE);
+        commandLineView = new CommandLineView(new Scanner(inputStream),
+                new PrintStream(output), DEFAULT_PAGE_SIZE, metricsRegistry);
+        commandLineController = newCommandLineController(fakeAdvisor, userCommandAuthentication);
 
         // WHEN
         commandLineController.processInput();
@@ -88,8 +101,9 @@ final class CommandLineControllerAndViewTest {
         // GIVEN
         String input = "categories";
         InputStream inputStream = new ByteArrayInputStream(input.getBytes());
-        commandLineView = new CommandLineView(new Scanner(inputStream), new PrintStream(output), DEFAULT_PAGE_SIZE);
-        commandLineController = new CommandLineController(commandLineView, fakeAdvisor, userCommandAuthentication, DEFAULT_PAGE_SIZE);
+        commandLineView = new CommandLineView(new Scanner(inputStream),
+                new PrintStream(output), DEFAULT_PAGE_SIZE, metricsRegistry);
+        commandLineController = newCommandLineController(fakeAdvisor, userCommandAuthentication);
 
         // WHEN
         commandLineController.processInput();
@@ -109,8 +123,9 @@ final class CommandLineControllerAndViewTest {
         // GIVEN
         String input = "playlists Good mood";
         InputStream inputStream = new ByteArrayInputStream(input.getBytes());
-        commandLineView = new CommandLineView(new Scanner(inputStream), new PrintStream(output), DEFAULT_PAGE_SIZE);
-        commandLineController = new CommandLineController(commandLineView, fakeAdvisor, userCommandAuthentication, DEFAULT_PAGE_SIZE);
+        commandLineView = new CommandLineView(new Scanner(inputStream),
+                new PrintStream(output), DEFAULT_PAGE_SIZE, metricsRegistry);
+        commandLineController = newCommandLineController(fakeAdvisor, userCommandAuthentication);
 
         // WHEN
         commandLineController.processInput();
@@ -130,8 +145,9 @@ final class CommandLineControllerAndViewTest {
         // GIVEN
         String input = "playlists NonExistingCategory";
         InputStream inputStream = new ByteArrayInputStream(input.getBytes());
-        commandLineView = new CommandLineView(new Scanner(inputStream), new PrintStream(output), DEFAULT_PAGE_SIZE);
-        commandLineController = new CommandLineController(commandLineView, fakeAdvisor, userCommandAuthentication, DEFAULT_PAGE_SIZE);
+        commandLineView = new CommandLineView(new Scanner(inputStream),
+                new PrintStream(output), DEFAULT_PAGE_SIZE, metricsRegistry);
+        commandLineController = newCommandLineController(fakeAdvisor, userCommandAuthentication);
 
         // WHEN
         commandLineController.processInput();
@@ -140,13 +156,34 @@ final class CommandLineControllerAndViewTest {
         assertThat(output).hasToString("Unknown category name." + System.lineSeparator());
     }
 
+    @Test
+    void whenInputExportToAQuotedPathContainingSpaces_thenCategoryPlaylistsAreWrittenToThatPath(@TempDir Path directory)
+            throws IOException {
+        // GIVEN
+        Path file = directory.resolve("good mood playlists.txt");
+        String input = "export playlists Good mood \"" + file + "\"";
+        InputStream inputStream = new ByteArrayInputStream(input.getBytes());
+        commandLineView = new CommandLineView(new Scanner(inputStream),
+                new PrintStream(output), DEFAULT_PAGE_SIZE, metricsRegistry);
+        commandLineController = newCommandLineController(fakeAdvisor, userCommandAuthentication);
+
+        // WHEN
+        commandLineController.processInput();
+
+        // THEN
+        assertThat(output.toString()).startsWith("Exported ").contains(" to " + file + " in ");
+        // A title line and a link line per playlist
+        assertThat(Files.readAllLines(file)).hasSize(GOOD_MOOD_CATEGORY_PLAYLISTS.size() * 2);
+    }
+
     @Test
     void whenInputExit_thenGoodbyeIsPrinted() {
         // GIVEN
         String input = "exit";
         InputStream inputStream = new ByteArrayInputStream(input.getBytes());
-        commandLineView = new CommandLineView(new Scanner(inputStream), new PrintStream(output), DEFAULT_PAGE_SIZE);
-        commandLineController = new CommandLineController(commandLineView, fakeAdvisor, userCommandAuthentication, DEFAULT_PAGE_SIZE);
+        commandLineView = new CommandLineView(new Scanner(inputStream),
+                new PrintStream(output), DEFAULT_PAGE_SIZE, metricsRegistry);
+        commandLineController = newCommandLineController(fakeAdvisor, userCommandAuthentication);
 
         // WHEN
         commandLineController.processInput();
@@ -160,8 +197,10 @@ final class CommandLineControllerAndViewTest {
         // GIVEN
         String input = "auth";
         InputStream inputStream = new ByteArrayInputStream(input.getBytes());
-        commandLineView = new CommandLineView(new Scanner(inputStream), new PrintStream(output), DEFAULT_PAGE_SIZE);
-        commandLineController = new CommandLineController(commandLineView, fakeAdvisor, new AlwaysAuthenticatedUserCommandAuthentication(), DEFAULT_PAGE_SIZE);
+        commandLineView = new CommandLineView(new Scanner(inputStream),
+                new PrintStream(output), DEFAULT_PAGE_SIZE, metricsRegistry);
+        commandLineController = newCommandLineController(
+                fakeAdvisor, new AlwaysAuthenticatedUserCommandAuthentication());
 
         // WHEN
         commandLineController.processInput();
@@ -176,8 +215,10 @@ final class CommandLineControllerAndViewTest {
         // GIVEN
         String input = "auth";
         InputStream inputStream = new ByteArrayInputStream(input.getBytes());
-        commandLineView = new CommandLineView(new Scanner(inputStream), new PrintStream(output), DEFAULT_PAGE_SIZE);
-        commandLineController = new CommandLineController(commandLineView, fakeAdvisor, new NeverAuthenticatedUserCommandAuthentication(), DEFAULT_PAGE_SIZE);
+        commandLineView = new CommandLineView(new Scanner(inputStream),
+                new PrintStream(output), DEFAULT_PAGE_SIZE, metricsRegistry);
+        commandLineController = newCommandLineController(
+                fakeAdvisor, new NeverAuthenticatedUserCommandAuthentication());
 
         // WHEN
         commandLineController.processInput();
@@ -191,8 +232,10 @@ final class CommandLineControllerAndViewTest {
         // GIVEN
         String input = "categories" + System.lineSeparator() + "next";
         InputStream inputStream = new ByteArrayInputStream(input.getBytes());
-        commandLineView = new CommandLineView(new Scanner(inputStream), new PrintStream(output), DEFAULT_PAGE_SIZE);
-        commandLineController = new CommandLineController(commandLineView, fakeAdvisor, new AlwaysAuthenticatedUserCommandAuthentication(), DEFAULT_PAGE_SIZE);
+        commandLineView = new CommandLineView(new Scanner(inputStream),
+                new PrintStream(output), DEFAULT_PAGE_SIZE, metricsRegistry);
+        commandLineController = newCommandLineController(
+                fakeAdvisor, new AlwaysAuthenticatedUserCommandAuthentication());
         commandLineController.processInput();
         output.reset();
 
@@ -214,8 +257,10 @@ final class CommandLineControllerAndViewTest {
         // GIVEN
         String input = "categories" + System.lineSeparator() + "next" + System.lineSeparator() + "prev";
         InputStream inputStream = new ByteArrayInputStream(input.getBytes());
-        commandLineView = new CommandLineView(new Scanner(inputStream), new PrintStream(output), DEFAULT_PAGE_SIZE);
-        commandLineController = new CommandLineController(commandLineView, fakeAdvisor, new AlwaysAuthenticatedUserCommandAuthentication(), DEFAULT_PAGE_SIZE);
+        commandLineView = new CommandLineView(new Scanner(inputStream),
+                new PrintStream(output), DEFAULT_PAGE_SIZE, metricsRegistry);
+        commandLineController = newCommandLineController(
+                fakeAdvisor, new AlwaysAuthenticatedUserCommandAuthentication());
         commandLineController.processInput();
         commandLineController.processInput();
         output.reset();
@@ -238,8 +283,10 @@ final class CommandLineControllerAndViewTest {
         // GIVEN
         String input = "new" + System.lineSeparator() + "next";
         InputStream inputStream = new ByteArrayInputStream(input.getBytes());
-        commandLineView = new CommandLineView(new Scanner(inputStream), new PrintStream(output), DEFAULT_PAGE_SIZE);
-        commandLineController = new CommandLineController(commandLineView, fakeAdvisor, new AlwaysAuthenticatedUserCommandAuthentication(), DEFAULT_PAGE_SIZE);
+        commandLineView = new CommandLineView(new Scanner(inputStream),
+                new PrintStream(output), DEFAULT_PAGE_SIZE, metricsRegistry);
+        commandLineController = newCommandLineController(
+                fakeAdvisor, new AlwaysAuthenticatedUserCommandAuthentication());
         commandLineController.processInput();
         output.reset();
 
@@ -261,8 +308,10 @@ final class CommandLineControllerAndViewTest {
         // GIVEN
         String input = "new" + System.lineSeparator() + "next" + System.lineSeparator() + "prev";
         InputStream inputStream = new ByteArrayInputStream(input.getBytes());
-        commandLineView = new CommandLineView(new Scanner(inputStream), new PrintStream(output), DEFAULT_PAGE_SIZE);
-        commandLineController = new CommandLineController(commandLineView, fakeAdvisor, new AlwaysAuthenticatedUserCommandAuthentication(), DEFAULT_PAGE_SIZE);
+        commandLineView = new CommandLineView(new Scanner(inputStream),
+                new PrintStream(output), DEFAULT_PAGE_SIZE, metricsRegistry);
+        commandLineController = newCommandLineController(
+                fakeAdvisor, new AlwaysAuthenticatedUserCommandAuthentication());
         commandLineController.processInput();
         commandLineController.processInput();
         output.reset();
@@ -285,8 +334,10 @@ final class CommandLineControllerAndViewTest {
         // GIVEN
         String input = "featured" + System.lineSeparator() + "next";
         InputStream inputStream = new ByteArrayInputStream(input.getBytes());
-        commandLineView = new CommandLineView(new Scanner(inputStream), new PrintStream(output), DEFAULT_PAGE_SIZE);
-        commandLineController = new CommandLineController(commandLineView, fakeAdvisor, new AlwaysAuthenticatedUserCommandAuthentication(), DEFAULT_PAGE_SIZE);
+        commandLineView = new CommandLineView(new Scanner(inputStream),
+                new PrintStream(output), DEFAULT_PAGE_SIZE, metricsRegistry);
+        commandLineController = newCommandLineController(
+                fakeAdvisor, new AlwaysAuthenticatedUserCommandAuthentication());
         commandLineController.processInput();
         output.reset();
 
@@ -308,8 +359,10 @@ final class CommandLineControllerAndViewTest {
         // GIVEN
         String input = "featured" + System.lineSeparator() + "next" + System.lineSeparator() + "prev";
         InputStream inputStream = new ByteArrayInputStream(input.getBytes());
-        commandLineView = new CommandLineView(new Scanner(inputStream), new PrintStream(output), DEFAULT_PAGE_SIZE);
-        commandLineController = new CommandLineController(commandLineView, fakeAdvisor, new AlwaysAuthenticatedUserCommandAuthentication(), DEFAULT_PAGE_SIZE);
+        commandLineView = new CommandLineView(new Scanner(inputStream),
+                new PrintStream(output), DEFAULT_PAGE_SIZE, metricsRegistry);
+        commandLineController = newCommandLineController(
+                fakeAdvisor, new AlwaysAuthenticatedUserCommandAuthentication());
         commandLineController.processInput();
         commandLineController.processInput();
         output.reset();
@@ -332,8 +385,10 @@ final class CommandLineControllerAndViewTest {
         // GIVEN
         String input = "playlists Good mood" + System.lineSeparator() + "next";
         InputStream inputStream = new ByteArrayInputStream(input.getBytes());
-        commandLineView = new CommandLineView(new Scanner(inputStream), new PrintStream(output), DEFAULT_PAGE_SIZE);
-        commandLineController = new CommandLineController(commandLineView, fakeAdvisor, new AlwaysAuthenticatedUserCommandAuthentication(), DEFAULT_PAGE_SIZE);
+        commandLineView = new CommandLineView(new Scanner(inputStream),
+                new PrintStream(output), DEFAULT_PAGE_SIZE, metricsRegistry);
+        commandLineController = newCommandLineController(
+                fakeAdvisor, new AlwaysAuthenticatedUserCommandAuthentication());
         commandLineController.processInput();
         output.reset();
 
@@ -355,8 +410,10 @@ final class CommandLineControllerAndViewTest {
         // GIVEN
         String input = "playlists Good mood" + System.lineSeparator() + "next" + System.lineSeparator() + "prev";
         InputStream inputStream = new ByteArrayInputStream(input.getBytes());
-        commandLineView = new CommandLineView(new Scanner(inputStream), new PrintStream(output), DEFAULT_PAGE_SIZE);
-        commandLineController = new CommandLineController(commandLineView, fakeAdvisor, new AlwaysAuthenticatedUserCommandAuthentication(), DEFAULT_PAGE_SIZE);
+        commandLineView = new CommandLineView(new Scanner(inputStream),
+                new PrintStream(output), DEFAULT_PAGE_SIZE, metricsRegistry);
+        commandLineController = newCommandLineController(
+                fakeAdvisor, new AlwaysAuthenticatedUserCommandAuthentication());
         commandLineController.processInput();
         commandLineController.processInput();
         output.reset();
@@ -379,8 +436,10 @@ final class CommandLineControllerAndViewTest {
         // GIVEN
         String input = "next";
         InputStream inputStream = new ByteArrayInputStream(input.getBytes());
-        commandLineView = new CommandLineView(new Scanner(inputStream), new PrintStream(output), DEFAULT_PAGE_SIZE);
-        commandLineController = new CommandLineController(commandLineView, fakeAdvisor, new AlwaysAuthenticatedUserCommandAuthentication(), DEFAULT_PAGE_SIZE);
+        commandLineView = new CommandLineView(new Scanner(inputStream),
+                new PrintStream(output), DEFAULT_PAGE_SIZE, metricsRegistry);
+        commandLineController = newCommandLineController(
+                fakeAdvisor, new AlwaysAuthenticatedUserCommandAuthentication());
 
         // WHEN
         commandLineController.processInput();
@@ -396,8 +455,10 @@ final class CommandLineControllerAndViewTest {
         // GIVEN
         String input = "prev";
         InputStream inputStream = new ByteArrayInputStream(input.getBytes());
-        commandLineView = new CommandLineView(new Scanner(inputStream), new PrintStream(output), DEFAULT_PAGE_SIZE);
-        commandLineController = new CommandLineController(commandLineView, fakeAdvisor, new AlwaysAuthenticatedUserCommandAuthentication(), DEFAULT_PAGE_SIZE);
+        commandLineView = new CommandLineView(new Scanner(inputStream),
+                new PrintStream(output), DEFAULT_PAGE_SIZE, metricsRegistry);
+        commandLineController = newCommandLineController(
+                fakeAdvisor, new AlwaysAuthenticatedUserCommandAuthentication());
 
         // WHEN
         commandLineController.processInput();
@@ -407,4 +468,50 @@ final class CommandLineControllerAndViewTest {
                 + System.lineSeparator();
         assertThat(output).hasToString(expectedOutput);
     }
+
+    @Test
+    void givenNoRequestSent_whenUserInputsStats_thenNoRequestsMessageIsDisplayed() {
+        // GIVEN
+        String input = "stats";
+        InputStream inputStream = new ByteArrayInputStream(input.getBytes());
+        commandLineView = new CommandLineView(new Scanner(inputStream),
+                new PrintStream(output), DEFAULT_PAGE_SIZE, metricsRegistry);
+        commandLineController = newCommandLineController(fakeAdvisor, userCommandAuthentication);
+
+        // WHEN
+        commandLineController.processInput();
+
+        // THEN
+        assertThat(output).hasToString("No requests sent yet" + System.lineSeparator());
+    }
+
+    @Test
+    void givenNewReleasesFirstPageHasBeenDisplayed_whenUserInputsStats_thenItsRenderLatencyIsDisplayed() {
+        // GIVEN
+        String input = "new" + System.lineSeparator() + "stats";
+        InputStream inputStream = new ByteArrayInputStream(input.getBytes());
+        commandLineView = new CommandLineView(new Scanner(inputStream),
+                new PrintStream(output), DEFAULT_PAGE_SIZE, metricsRegistry);
+        commandLineController = newCommandLineController(fakeAdvisor, userCommandAuthentication);
+        commandLineController.processInput();
+        output.reset();
+
+        // WHEN
+        commandLineController.processInput();
+
+        // THEN
+        String[] lines = output.toString().split(System.lineSeparator());
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).isEqualTo("Release pages: 1 printed");
+        assertThat(lines[1]).startsWith("  render  p50 ").endsWith(" (1)");
+    }
+
+    private CommandLineController newCommandLineController(
+            Advisor advisor, UserCommandAuthentication userCommandAuthentication) {
+        CategoryIndex categoryIndex =
+                new CategoryIndex(advisor, DEFAULT_PAGE_SIZE, DEFAULT_PAGE_SIZE, Runnable::run, 0);
+        return new CommandLineController(commandLineView, advisor, userCommandAuthentication, DEFAULT_PAGE_SIZE,
+                PagePrefetcher.disabled(), categoryIndex,
+                new ResourceExporter(advisor, DEFAULT_PAGE_SIZE, categoryIndex, Runnable::run, 1), metricsRegistry);
+    }
 }
@@ -2,6 +2,11 @@ package advisor.controller;
 
 import advisor.authentication.AlwaysAuthenticatedUserCommandAuthentication;
 import advisor.authentication.NeverAuthenticatedUserCommandAuthentication;
+import advisor.authentication.UserCommandAuthentication;
+import advisor.metrics.MetricsRegistry;
+import advisor.model.CategoryIndex;
+import advisor.model.PagePrefetcher;
+import advisor.model.ResourceExporter;
 import advisor.model.service.Advisor;
 import advisor.model.service.FakeAdvisor;
 import advisor.view.CommandLineView;
@@ -24,6 +29,7 @@ final class CommandLineControllerAuthenticationTest {
     private final ByteArrayOutputStream output = new ByteArrayOutputStream();
     private final Advisor advisor = new FakeAdvisor(DEFAULT_PAGE_SIZE);
     private CommandLineController commandLineController;
+    private final MetricsRegistry metricsRegistry = new MetricsRegistry();
     private CommandLineView commandLineView;
 
     @ParameterizedTest
@@ -31,8 +37,9 @@ final class CommandLineControllerAuthenticationTest {
     void givenUserIsAuthenticated_whenProcessingCommand_thenMessageDoesNotAskForAuthentication(String userCommandText) {
         // GIVEN
         InputStream inputStream = new ByteArrayInputStream(userCommandText.getBytes());
-        commandLineView = new CommandLineView(new Scanner(inputStream), new PrintStream(output), DEFAULT_PAGE_SIZE);
-        commandLineController = new CommandLineController(commandLineView, advisor, new AlwaysAuthenticatedUserCommandAuthentication(), DEFAULT_PAGE_SIZE);
+        commandLineView = new CommandLineView(new Scanner(inputStream),
+                new PrintStream(output), DEFAULT_PAGE_SIZE, metricsRegistry);
+        commandLineController = newCommandLineController(advisor, new AlwaysAuthenticatedUserCommandAuthentication());
         
         // WHEN
         commandLineController.processInput();
@@ -46,8 +53,9 @@ final class CommandLineControllerAuthenticationTest {
     void givenUserIsNotAuthenticated_whenProcessingCommandRequiringAuthentication_thenMessageAsksForAuthentication(String userCommandText) {
         // GIVEN
         InputStream inputStream = new ByteArrayInputStream(userCommandText.getBytes());
-        commandLineView = new CommandLineView(new Scanner(inputStream), new PrintStream(output), DEFAULT_PAGE_SIZE);
-        commandLineController = new CommandLineController(commandLineView, advisor, new NeverAuthenticatedUserCommandAuthentication(), DEFAULT_PAGE_SIZE);
+        commandLineView = new CommandLineView(new Scanner(inputStream),
+                new PrintStream(output), DEFAULT_PAGE_SIZE, metricsRegistry);
+        commandLineController = newCommandLineController(advisor, new NeverAuthenticatedUserCommandAuthentication());
 
         // WHEN
         commandLineController.processInput();
@@ -61,8 +69,9 @@ final class CommandLineControllerAuthenticationTest {
     void givenUserIsNotAuthenticated_whenProcessingCommandNotRequiringAuthentication_thenMessageDoesNotAskForAuthentication(String userCommandText) {
         // GIVEN
         InputStream inputStream = new ByteArrayInputStream(userCommandText.getBytes());
-        commandLineView = new CommandLineView(new Scanner(inputStream), new PrintStream(output), DEFAULT_PAGE_SIZE);
-        commandLineController = new CommandLineController(commandLineView, advisor, new NeverAuthenticatedUserCommandAuthentication(), DEFAULT_PAGE_SIZE);
+        commandLineView = new CommandLineView(new Scanner(inputStream),
+                new PrintStream(output), DEFAULT_PAGE_SIZE, metricsRegistry);
+        commandLineController = newCommandLineController(advisor, new NeverAuthenticatedUserCommandAuthentication());
 
         // WHEN
         commandLineController.processInput();
@@ -86,6 +95,7 @@ final class CommandLineControllerAuthenticationTest {
         return Stream.of(
                 UserCommand.AUTH.getCommandText(),
                 UserCommand.EXIT.getCommandText(),
+                UserCommand.STATS.getCommandText(),
                 "not supported"
         );
     }
@@ -96,4 +106,13 @@ final class CommandLineControllerAuthenticationTest {
                 getUserCommandsWithAuthenticationNotRequired()
         );
     }
+
+    private CommandLineController newCommandLineController(
+            Advisor advisor, UserCommandAuthentication userCommandAuthentication) {
+        CategoryIndex categoryIndex =
+                new CategoryIndex(advisor, DEFAULT_PAGE_SIZE, DEFAULT_PAGE_SIZE, Runnable::run, 0);
+        return new CommandLineController(commandLineView, advisor, userCommandAuthentication, DEFAULT_PAGE_SIZE,
+                PagePrefetcher.disabled(), categoryIndex,
+                new ResourceExporter(advisor, DEFAULT_PAGE_SIZE, categoryIndex, Runnable::run, 1), metricsRegistry);
+    }
 }
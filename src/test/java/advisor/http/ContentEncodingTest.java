@@ -0,0 +1,82 @@
+package advisor.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class ContentEncodingTest {
+
+    private static final String BODY = "{\"categories\":{\"items\":[{\"name\":\"Top Lists\",\"id\":\"toplists\"}],\"total\":1}}";
+
+    @Test
+    void givenGzipEncodedBody_whenDecompressing_thenOriginalBodyIsRead() throws IOException {
+        // GIVEN
+        ByteArrayOutputStream compressedBody = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressedBody)) {
+            gzipOutputStream.write(BODY.getBytes(StandardCharsets.UTF_8));
+        }
+
+        // WHEN
+        InputStream body = ContentEncoding.decompress(
+                new ByteArrayInputStream(compressedBody.toByteArray()), List.of("gzip"));
+
+        // THEN
+        assertThat(new String(body.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(BODY);
+    }
+
+    @Test
+    void givenZlibDeflateEncodedBody_whenDecompressing_thenOriginalBodyIsRead() throws IOException {
+        // GIVEN
+        byte[] compressedBody = deflate(new Deflater());
+
+        // WHEN
+        InputStream body = ContentEncoding.decompress(new ByteArrayInputStream(compressedBody), List.of("deflate"));
+
+        // THEN
+        assertThat(new String(body.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(BODY);
+    }
+
+    @Test
+    void givenRawDeflateEncodedBody_whenDecompressing_thenOriginalBodyIsRead() throws IOException {
+        // GIVEN
+        byte[] compressedBody = deflate(new Deflater(Deflater.DEFAULT_COMPRESSION, true));
+
+        // WHEN
+        InputStream body = ContentEncoding.decompress(new ByteArrayInputStream(compressedBody), List.of("deflate"));
+
+        // THEN
+        assertThat(new String(body.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(BODY);
+    }
+
+    @Test
+    void givenBodyAlreadyDecompressedByTransport_whenDecompressing_thenBodyIsReadAsIs() throws IOException {
+        // GIVEN
+        byte[] decompressedBody = BODY.getBytes(StandardCharsets.UTF_8);
+
+        // WHEN
+        InputStream body = ContentEncoding.decompress(
+                new ByteArrayInputStream(decompressedBody), List.of("gzip, deflate"));
+
+        // THEN
+        assertThat(new String(body.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(BODY);
+    }
+
+    private static byte[] deflate(Deflater deflater) throws IOException {
+        ByteArrayOutputStream compressedBody = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream(compressedBody, deflater)) {
+            deflaterOutputStream.write(BODY.getBytes(StandardCharsets.UTF_8));
+        }
+        deflater.end();
+        return compressedBody.toByteArray();
+    }
+}
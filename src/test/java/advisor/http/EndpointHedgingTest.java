@@ -0,0 +1,171 @@
+package advisor.http;
+
+import com.github.jenspiegsa.wiremockextension.Managed;
+import com.github.jenspiegsa.wiremockextension.WireMockExtension;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.github.jenspiegsa.wiremockextension.ManagedWireMockServer.with;
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@ExtendWith(WireMockExtension.class)
+final class EndpointHedgingTest {
+
+    // Both are the resource path categories/{id}/playlists
+    private static final String FAST_PATH = "/v1/browse/categories/fast/playlists";
+    private static final String SLOW_ONCE_PATH = "/v1/browse/categories/slow/playlists";
+    private static final String OTHER_ENDPOINT_PATH = "/v1/browse/new-releases";
+    private static final String SLOW_ONCE = "Slow once";
+    private static final int MIN_SAMPLES = 5;
+    private static final int SLOW_RESPONSE_MILLIS = 2000;
+    private final ExecutorService executorService = Executors.newCachedThreadPool();
+
+    @Managed
+    private final WireMockServer wireMockServer = with(wireMockConfig().dynamicPort());
+
+    @AfterEach
+    void shutdownExecutor() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void givenSlowerResponseThanUsual_whenExecutingRequest_thenHedgedRequestResponseIsReturned() throws IOException {
+        // GIVEN
+        EndpointHedging endpointHedging = new EndpointHedging(executorService, 1, MIN_SAMPLES);
+        Client client = endpointHedging.decorate(new DefaultHttpTransport().client());
+        givenUsualLatenciesObserved(client);
+        givenFirstResponseIsSlow();
+
+        // WHEN
+        long startedAt = System.nanoTime();
+        try (Response response = client.execute(request(SLOW_ONCE_PATH), new Request.Options())) {
+
+            // THEN
+            assertThat(response.status()).isEqualTo(HttpStatus.SC_OK);
+        }
+        assertThat(System.nanoTime() - startedAt).isLessThan(SLOW_RESPONSE_MILLIS * 1_000_000L);
+        assertThat(endpointHedging.getHedgedRequests()).isEqualTo(1);
+        assertThat(endpointHedging.getHedgeWins()).isEqualTo(1);
+        verify(2, getRequestedFor(urlPathEqualTo(SLOW_ONCE_PATH)));
+    }
+
+    @Test
+    void givenHedgingBudgetUsedUp_whenExecutingSlowRequest_thenItIsNotHedged() throws IOException {
+        // GIVEN
+        EndpointHedging endpointHedging = new EndpointHedging(executorService, 0, MIN_SAMPLES);
+        Client client = endpointHedging.decorate(new DefaultHttpTransport().client());
+        givenUsualLatenciesObserved(client);
+        givenFirstResponseIsSlow();
+
+        // WHEN
+        long startedAt = System.nanoTime();
+        try (Response response = client.execute(request(SLOW_ONCE_PATH), new Request.Options())) {
+
+            // THEN
+            assertThat(response.status()).isEqualTo(HttpStatus.SC_OK);
+        }
+        assertThat(System.nanoTime() - startedAt).isGreaterThanOrEqualTo(SLOW_RESPONSE_MILLIS * 1_000_000L);
+        assertThat(endpointHedging.getHedgedRequests()).isZero();
+        verify(1, getRequestedFor(urlPathEqualTo(SLOW_ONCE_PATH)));
+    }
+
+    @Test
+    void givenUsualLatenciesObservedForAnotherEndpoint_whenExecutingSlowRequest_thenItIsNotHedged() throws IOException {
+        // GIVEN
+        EndpointHedging endpointHedging = new EndpointHedging(executorService, 1, MIN_SAMPLES);
+        Client client = endpointHedging.decorate(new DefaultHttpTransport().client());
+        givenUsualLatenciesObserved(client, OTHER_ENDPOINT_PATH);
+        givenFirstResponseIsSlow();
+
+        // WHEN
+        client.execute(request(SLOW_ONCE_PATH), new Request.Options()).close();
+
+        // THEN
+        assertThat(endpointHedging.getHedgedRequests()).isZero();
+        verify(1, getRequestedFor(urlPathEqualTo(SLOW_ONCE_PATH)));
+    }
+
+    @Test
+    void givenPooledTransport_whenHedgedRequestRespondsFirst_thenSlowRequestIsAbortedAndItsConnectionReleased()
+            throws IOException {
+        // GIVEN
+        PooledHttpTransport pooledHttpTransport = new PooledHttpTransport(5, 5, 1000, SLOW_RESPONSE_MILLIS * 2, 30);
+        EndpointHedging endpointHedging = new EndpointHedging(executorService, 1, MIN_SAMPLES);
+        Client client = endpointHedging.decorate(pooledHttpTransport.client());
+        givenUsualLatenciesObserved(client);
+        givenFirstResponseIsSlow();
+
+        // WHEN
+        client.execute(request(SLOW_ONCE_PATH), new Request.Options()).close();
+
+        // THEN
+        assertThat(endpointHedging.getHedgeWins()).isEqualTo(1);
+        await().atMost(Duration.ofMillis(SLOW_RESPONSE_MILLIS / 2))
+                .untilAsserted(() -> assertThat(pooledHttpTransport.getPoolStats().getLeased()).isZero());
+        pooledHttpTransport.close();
+    }
+
+    @Test
+    void givenHedgingDisabled_whenDecoratingClient_thenSameClientIsReturned() {
+        // GIVEN
+        Client client = new DefaultHttpTransport().client();
+
+        // WHEN
+        Client decoratedClient = EndpointHedging.none().decorate(client);
+
+        // THEN
+        assertThat(decoratedClient).isSameAs(client);
+    }
+
+    private void givenUsualLatenciesObserved(Client client) throws IOException {
+        givenUsualLatenciesObserved(client, FAST_PATH);
+    }
+
+    private void givenUsualLatenciesObserved(Client client, String path) throws IOException {
+        stubFor(get(urlPathEqualTo(path))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.SC_OK)
+                        .withBody("{}")));
+        for (int i = 0; i < MIN_SAMPLES; i++) {
+            client.execute(request(path), new Request.Options()).close();
+        }
+    }
+
+    private void givenFirstResponseIsSlow() {
+        stubFor(get(urlPathEqualTo(SLOW_ONCE_PATH))
+                .inScenario(SLOW_ONCE)
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.SC_OK)
+                        .withFixedDelay(SLOW_RESPONSE_MILLIS)
+                        .withBody("{}"))
+                .willSetStateTo("Slow response sent"));
+        stubFor(get(urlPathEqualTo(SLOW_ONCE_PATH))
+                .inScenario(SLOW_ONCE)
+                .whenScenarioStateIs("Slow response sent")
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.SC_OK)
+                        .withBody("{}")));
+    }
+
+    private Request request(String path) {
+        return Request.create(Request.HttpMethod.GET, "http://localhost:" + wireMockServer.port() + path,
+                Map.of(), null, null, null);
+    }
+}
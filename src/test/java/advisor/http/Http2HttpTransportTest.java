@@ -0,0 +1,79 @@
+package advisor.http;
+
+import com.github.jenspiegsa.wiremockextension.Managed;
+import com.github.jenspiegsa.wiremockextension.WireMockExtension;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import feign.Request;
+import feign.Response;
+import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.jenspiegsa.wiremockextension.ManagedWireMockServer.with;
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.apache.http.HttpHeaders.CONTENT_TYPE;
+import static org.apache.http.entity.ContentType.APPLICATION_JSON;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(WireMockExtension.class)
+final class Http2HttpTransportTest {
+
+    private static final String RESOURCE_PATH = "/v1/browse/categories";
+    private final Http2HttpTransport http2HttpTransport = new Http2HttpTransport(1000, 1000);
+
+    @Managed
+    private final WireMockServer wireMockServer = with(wireMockConfig().dynamicPort());
+
+    @Test
+    void whenExecutingARequest_thenStatusHeadersAndBodyAreReturned() throws IOException {
+        // GIVEN
+        String body = "{\"categories\":{}}";
+        stubFor(get(urlPathEqualTo(RESOURCE_PATH))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.SC_OK)
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON.getMimeType())
+                        .withBody(body)));
+
+        // WHEN
+        try (Response response = executeRequest(Map.of())) {
+
+            // THEN
+            assertThat(response.status()).isEqualTo(HttpStatus.SC_OK);
+            assertThat(response.headers().get("content-type")).containsExactly(APPLICATION_JSON.getMimeType());
+            assertThat(new String(response.body().asInputStream().readAllBytes(), StandardCharsets.UTF_8))
+                    .isEqualTo(body);
+        }
+    }
+
+    @Test
+    void whenExecutingARequest_thenRequestHeadersAreSentExceptRestrictedOnes() throws IOException {
+        // GIVEN
+        stubFor(get(urlPathEqualTo(RESOURCE_PATH))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.SC_OK)
+                        .withBody("{}")));
+
+        // WHEN
+        executeRequest(Map.of(
+                "Authorization", List.of("Bearer accessToken"),
+                "Content-Length", List.of("0"))).close();
+
+        // THEN
+        verify(getRequestedFor(urlPathEqualTo(RESOURCE_PATH))
+                .withHeader("Authorization", equalTo("Bearer accessToken")));
+    }
+
+    private Response executeRequest(Map<String, Collection<String>> headers) throws IOException {
+        Request request = Request.create(Request.HttpMethod.GET,
+                "http://localhost:" + wireMockServer.port() + RESOURCE_PATH,
+                headers, null, null, null);
+        return http2HttpTransport.client().execute(request, http2HttpTransport.options());
+    }
+}
@@ -0,0 +1,84 @@
+package advisor.http;
+
+import com.github.jenspiegsa.wiremockextension.Managed;
+import com.github.jenspiegsa.wiremockextension.WireMockExtension;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import feign.Request;
+import feign.Response;
+import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static com.github.jenspiegsa.wiremockextension.ManagedWireMockServer.with;
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(WireMockExtension.class)
+final class PooledHttpTransportTest {
+
+    private static final String RESOURCE_PATH = "/v1/browse/categories";
+    private PooledHttpTransport pooledHttpTransport;
+
+    @Managed
+    private final WireMockServer wireMockServer = with(wireMockConfig().dynamicPort());
+
+    @BeforeEach
+    void prepareTarget() {
+        pooledHttpTransport = new PooledHttpTransport(5, 5, 1000, 1000, 30);
+    }
+
+    @AfterEach
+    void closeTarget() throws IOException {
+        pooledHttpTransport.close();
+    }
+
+    @Test
+    void givenSeveralSequentialRequests_whenExecutingThem_thenASingleConnectionIsReused() throws IOException {
+        // GIVEN
+        stubFor(get(urlPathEqualTo(RESOURCE_PATH))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.SC_OK)
+                        .withBody("{}")));
+
+        // WHEN
+        executeRequest();
+        executeRequest();
+        executeRequest();
+
+        // THEN
+        assertThat(pooledHttpTransport.getPoolStats().getLeased()).as("Leased connections").isZero();
+        assertThat(pooledHttpTransport.getPoolStats().getAvailable()).as("Available connections").isEqualTo(1);
+        verify(3, getRequestedFor(urlPathEqualTo(RESOURCE_PATH)));
+    }
+
+    @Test
+    void whenExecutingARequest_thenResponseIsReturned() throws IOException {
+        // GIVEN
+        stubFor(get(urlPathEqualTo(RESOURCE_PATH))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.SC_OK)
+                        .withBody("{}")));
+
+        // WHEN
+        int status = executeRequest();
+
+        // THEN
+        assertThat(status).isEqualTo(HttpStatus.SC_OK);
+    }
+
+    private int executeRequest() throws IOException {
+        Request request = Request.create(Request.HttpMethod.GET,
+                "http://localhost:" + wireMockServer.port() + RESOURCE_PATH,
+                Map.of(), null, null, null);
+        try (Response response = pooledHttpTransport.client().execute(request, pooledHttpTransport.options())) {
+            response.body().asInputStream().readAllBytes();
+            return response.status();
+        }
+    }
+}
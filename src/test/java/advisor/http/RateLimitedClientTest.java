@@ -0,0 +1,100 @@
+package advisor.http;
+
+import com.github.jenspiegsa.wiremockextension.Managed;
+import com.github.jenspiegsa.wiremockextension.WireMockExtension;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import feign.Request;
+import feign.Response;
+import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+
+import static com.github.jenspiegsa.wiremockextension.ManagedWireMockServer.with;
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+@ExtendWith(WireMockExtension.class)
+final class RateLimitedClientTest {
+
+    private static final String RESOURCE_PATH = "/v1/browse/categories";
+    private static final String RATE_LIMITED = "Rate limited";
+    private final RateLimiter rateLimiter = new RateLimiter(100, 10);
+
+    @Managed
+    private final WireMockServer wireMockServer = with(wireMockConfig().dynamicPort());
+
+    @Test
+    void givenTooManyRequestsResponse_whenExecutingRequest_thenItIsSentAgainAfterRetryAfter() throws IOException {
+        // GIVEN
+        givenFirstResponseIsTooManyRequests();
+        RateLimitedClient rateLimitedClient = new RateLimitedClient(new DefaultHttpTransport().client(), rateLimiter, 3);
+
+        // WHEN
+        long startedAt = System.nanoTime();
+        Response response = rateLimitedClient.execute(request(), new Request.Options());
+
+        // THEN
+        assertThat(response.status()).isEqualTo(HttpStatus.SC_OK);
+        assertThat(System.nanoTime() - startedAt).isGreaterThanOrEqualTo(1_000_000_000L);
+        assertThat(rateLimiter.getRateLimitedResponses()).isEqualTo(1);
+        verify(2, getRequestedFor(urlPathEqualTo(RESOURCE_PATH)));
+    }
+
+    @Test
+    void givenNoRetriesLeft_whenExecutingRequest_thenTooManyRequestsResponseIsReturned() throws IOException {
+        // GIVEN
+        givenFirstResponseIsTooManyRequests();
+        RateLimitedClient rateLimitedClient = new RateLimitedClient(new DefaultHttpTransport().client(), rateLimiter, 0);
+
+        // WHEN
+        Response response = rateLimitedClient.execute(request(), new Request.Options());
+
+        // THEN
+        assertThat(response.status()).isEqualTo(RateLimitedClient.TOO_MANY_REQUESTS);
+        verify(1, getRequestedFor(urlPathEqualTo(RESOURCE_PATH)));
+    }
+
+    @Test
+    void givenRequestHasBeenAborted_whenExecutingIt_thenItIsNotSent() {
+        // GIVEN
+        RateLimitedClient rateLimitedClient = new RateLimitedClient(new DefaultHttpTransport().client(), rateLimiter, 0);
+        RequestAbortion requestAbortion = new RequestAbortion();
+        requestAbortion.abort();
+
+        // WHEN
+        Throwable thrown = catchThrowable(() ->
+                requestAbortion.run(() -> rateLimitedClient.execute(request(), new Request.Options())));
+
+        // THEN
+        assertThat(thrown).isInstanceOf(InterruptedIOException.class);
+        verify(0, getRequestedFor(urlPathEqualTo(RESOURCE_PATH)));
+    }
+
+    private void givenFirstResponseIsTooManyRequests() {
+        stubFor(get(urlPathEqualTo(RESOURCE_PATH))
+                .inScenario(RATE_LIMITED)
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse()
+                        .withStatus(RateLimitedClient.TOO_MANY_REQUESTS)
+                        .withHeader("Retry-After", "1"))
+                .willSetStateTo("Retry-After elapsed"));
+        stubFor(get(urlPathEqualTo(RESOURCE_PATH))
+                .inScenario(RATE_LIMITED)
+                .whenScenarioStateIs("Retry-After elapsed")
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.SC_OK)
+                        .withBody("{}")));
+    }
+
+    private Request request() {
+        return Request.create(Request.HttpMethod.GET, "http://localhost:" + wireMockServer.port() + RESOURCE_PATH,
+                Map.of(), null, null, null);
+    }
+}
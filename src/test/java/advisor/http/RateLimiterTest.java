@@ -0,0 +1,78 @@
+package advisor.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class RateLimiterTest {
+
+    @Test
+    void givenBurstOfThree_whenReservingFourPermitsAtOnce_thenOnlyTheFourthWaits() {
+        // GIVEN
+        RateLimiter rateLimiter = new RateLimiter(1, 3);
+
+        // WHEN
+        long firstWait = rateLimiter.reserve();
+        long secondWait = rateLimiter.reserve();
+        long thirdWait = rateLimiter.reserve();
+        long fourthWait = rateLimiter.reserve();
+
+        // THEN
+        assertThat(firstWait).isZero();
+        assertThat(secondWait).isZero();
+        assertThat(thirdWait).isZero();
+        assertThat(fourthWait).isBetween(TimeUnit.MILLISECONDS.toNanos(900), TimeUnit.SECONDS.toNanos(1));
+        assertThat(rateLimiter.getDelayedRequests()).isEqualTo(1);
+    }
+
+    @Test
+    void givenPause_whenReservingPermit_thenItWaitsUntilThePauseHasElapsed() {
+        // GIVEN
+        RateLimiter rateLimiter = new RateLimiter(100, 10);
+        rateLimiter.pauseFor(Duration.ofSeconds(2));
+
+        // WHEN
+        long wait = rateLimiter.reserve();
+
+        // THEN
+        assertThat(wait).isBetween(TimeUnit.MILLISECONDS.toNanos(1900), TimeUnit.SECONDS.toNanos(2));
+        assertThat(rateLimiter.getRateLimitedResponses()).isEqualTo(1);
+    }
+
+    @Test
+    void givenUnlimitedRateLimiter_whenReservingPermitsAfterPause_thenNoneWaits() {
+        // GIVEN
+        RateLimiter rateLimiter = RateLimiter.unlimited();
+        rateLimiter.pauseFor(Duration.ofSeconds(2));
+
+        // WHEN / THEN
+        assertThat(rateLimiter.reserve()).isZero();
+    }
+
+    @Test
+    void givenRetryAfterInSeconds_whenParsing_thenDelayIsReturned() {
+        // WHEN / THEN
+        assertThat(RateLimiter.parseRetryAfter("3")).contains(Duration.ofSeconds(3));
+    }
+
+    @Test
+    void givenRetryAfterAsHttpDate_whenParsing_thenDelayUntilThatDateIsReturned() {
+        // GIVEN
+        String retryAfter = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().plusSeconds(30));
+
+        // WHEN / THEN
+        assertThat(RateLimiter.parseRetryAfter(retryAfter)).hasValueSatisfying(delay ->
+                assertThat(delay).isBetween(Duration.ofSeconds(28), Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void givenInvalidRetryAfter_whenParsing_thenNoDelayIsReturned() {
+        // WHEN / THEN
+        assertThat(RateLimiter.parseRetryAfter("soon")).isEmpty();
+    }
+}
@@ -0,0 +1,74 @@
+package advisor.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+final class LatencyHistogramTest {
+
+    @Test
+    void givenNoValueRecorded_whenTakingSnapshot_thenEveryPercentileIsZero() {
+        // GIVEN
+        LatencyHistogram latencyHistogram = new LatencyHistogram();
+
+        // WHEN
+        LatencyHistogram.Snapshot snapshot = latencyHistogram.snapshot();
+
+        // THEN
+        assertThat(snapshot).isEqualTo(new LatencyHistogram.Snapshot(0, 0, 0, 0, 0));
+    }
+
+    @Test
+    void givenOneToOneThousandMillisRecorded_whenTakingSnapshot_thenPercentilesAreWithinTheBucketPrecision() {
+        // GIVEN
+        LatencyHistogram latencyHistogram = new LatencyHistogram();
+        LongStream.rangeClosed(1, 1000).map(TimeUnit.MILLISECONDS::toNanos).forEach(latencyHistogram::record);
+
+        // WHEN
+        LatencyHistogram.Snapshot snapshot = latencyHistogram.snapshot();
+
+        // THEN
+        assertThat(snapshot.getCount()).isEqualTo(1000);
+        assertThat(snapshot.getP50Nanos()).isCloseTo(TimeUnit.MILLISECONDS.toNanos(500),
+                within(TimeUnit.MILLISECONDS.toNanos(500) / LatencyHistogram.SUB_BUCKETS));
+        assertThat(snapshot.getP90Nanos()).isCloseTo(TimeUnit.MILLISECONDS.toNanos(900),
+                within(TimeUnit.MILLISECONDS.toNanos(900) / LatencyHistogram.SUB_BUCKETS));
+        assertThat(snapshot.getP99Nanos()).isCloseTo(TimeUnit.MILLISECONDS.toNanos(990),
+                within(TimeUnit.MILLISECONDS.toNanos(990) / LatencyHistogram.SUB_BUCKETS));
+        assertThat(snapshot.getMaxNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(1000));
+    }
+
+    @Test
+    void givenSingleValueRecorded_whenTakingSnapshot_thenPercentilesAreNotAboveIt() {
+        // GIVEN
+        LatencyHistogram latencyHistogram = new LatencyHistogram();
+        latencyHistogram.record(1_234_567);
+
+        // WHEN
+        LatencyHistogram.Snapshot snapshot = latencyHistogram.snapshot();
+
+        // THEN
+        assertThat(snapshot).isEqualTo(new LatencyHistogram.Snapshot(1, 1_234_567, 1_234_567, 1_234_567, 1_234_567));
+    }
+
+    @Test
+    void whenComputingBucketOfValues_thenEveryValueIsWithinItsBucketBounds() {
+        // GIVEN
+        long[] values = {0, 1, 7, 8, 9, 15, 16, 17, 1000, 1_000_000, 123_456_789, Long.MAX_VALUE};
+
+        for (long value : values) {
+            // WHEN
+            int bucketIndex = LatencyHistogram.bucketIndex(value);
+
+            // THEN
+            assertThat(LatencyHistogram.bucketUpperBound(bucketIndex)).isGreaterThanOrEqualTo(value);
+            if (bucketIndex > 0) {
+                assertThat(LatencyHistogram.bucketUpperBound(bucketIndex - 1)).isLessThan(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package advisor.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class MetricsRegistryTest {
+
+    @Test
+    void givenRegistryWithPrefix_whenRecordingRequest_thenItIsRecordedForThePrefixedEndpointOfTheSharedRegistry() {
+        // GIVEN
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+        MetricsRegistry exportMetricsRegistry = metricsRegistry.withPrefix("export:");
+        metricsRegistry.endpoint("featured-playlists").recordRequest(1_000, false);
+
+        // WHEN
+        exportMetricsRegistry.endpoint("featured-playlists").recordRequest(1_000, true);
+
+        // THEN
+        assertThat(metricsRegistry.getEndpoints()).containsOnlyKeys("export:featured-playlists", "featured-playlists");
+        assertThat(metricsRegistry.getEndpoints().get("featured-playlists").getErrors()).isZero();
+        assertThat(metricsRegistry.getEndpoints().get("export:featured-playlists").getErrors()).isEqualTo(1);
+    }
+}
@@ -25,7 +25,7 @@ final class CategoriesTest {
 
     @BeforeEach
     void prepareTarget() {
-        categories = new Categories(new FakeAdvisor(PAGE_SIZE), PAGE_SIZE);
+        categories = new Categories(new FakeAdvisor(PAGE_SIZE), PAGE_SIZE, PagePrefetcher.disabled());
     }
 
     @Test
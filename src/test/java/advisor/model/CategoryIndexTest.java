@@ -0,0 +1,145 @@
+package advisor.model;
+
+import advisor.model.dto.Category;
+import advisor.model.dto.Page;
+import advisor.model.service.Advisor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+final class CategoryIndexTest {
+
+    private static final int PAGE_SIZE = 2;
+    private static final Category TOP_LISTS = new Category("Top Lists", "toplists");
+    private static final Category MOOD = new Category("Mood", "mood");
+    private static final Category PARTY = new Category("Party", "party");
+    private static final Category POP = new Category("Pop", "pop");
+    private static final Category WORKOUT = new Category("Workout", "workout");
+    private static final int TOTAL_CATEGORIES = 5;
+
+    @Mock
+    private Advisor advisor;
+
+    @Test
+    void givenCategoriesOnSeveralPages_whenFindingCategoryOfTheLastPage_thenItIsFound() {
+        // GIVEN
+        givenCategoryPages();
+        ExecutorService pageLoadExecutor = Executors.newFixedThreadPool(2);
+        CategoryIndex categoryIndex = new CategoryIndex(advisor, PAGE_SIZE, PAGE_SIZE, pageLoadExecutor, 0);
+
+        // WHEN
+        Category category = categoryIndex.findByName("Workout").orElseThrow();
+
+        // THEN
+        assertThat(category).isEqualTo(WORKOUT);
+        verify(advisor, never()).getCategories();
+        pageLoadExecutor.shutdownNow();
+    }
+
+    @Test
+    void givenCategoryNameWithDifferentCaseAndSpaces_whenFindingCategory_thenItIsFound() {
+        // GIVEN
+        givenCategoryPages();
+        CategoryIndex categoryIndex = new CategoryIndex(advisor, PAGE_SIZE, PAGE_SIZE, Runnable::run, 0);
+
+        // WHEN
+        Category category = categoryIndex.findByName("  top LISTS ").orElseThrow();
+
+        // THEN
+        assertThat(category).isEqualTo(TOP_LISTS);
+    }
+
+    @Test
+    void givenUnknownCategoryName_whenFindingCategory_thenNoCategoryIsFound() {
+        // GIVEN
+        givenCategoryPages();
+        CategoryIndex categoryIndex = new CategoryIndex(advisor, PAGE_SIZE, PAGE_SIZE, Runnable::run, 0);
+
+        // WHEN / THEN
+        assertThat(categoryIndex.findByName("Jazz")).isEmpty();
+    }
+
+    @Test
+    void givenIndexHasBeenLoaded_whenFindingCategoriesAndGettingPages_thenPagesAreNotFetchedAgain() {
+        // GIVEN
+        givenCategoryPages();
+        CategoryIndex categoryIndex = new CategoryIndex(advisor, PAGE_SIZE, PAGE_SIZE, Runnable::run, 0);
+        categoryIndex.findByName("Mood");
+
+        // WHEN
+        categoryIndex.findByName("Party");
+        Page<Category> secondPage = categoryIndex.getPage(2);
+
+        // THEN
+        assertThat(secondPage.getElements()).containsExactly(PARTY, POP);
+        verify(advisor, times(1)).getCategories(1);
+        verify(advisor, times(1)).getCategories(2);
+        verify(advisor, times(1)).getCategories(3);
+    }
+
+    @Test
+    void givenCategoriesLoadedInLargerPages_whenGettingPages_thenPagesOfTheDisplaySizeAreSliced() {
+        // GIVEN
+        int loadPageSize = 4;
+        when(advisor.getCategories(1)).thenReturn(
+                new Page<>(List.of(TOP_LISTS, MOOD, PARTY, POP), TOTAL_CATEGORIES, 1));
+        when(advisor.getCategories(2)).thenReturn(new Page<>(List.of(WORKOUT), TOTAL_CATEGORIES, 2));
+        CategoryIndex categoryIndex = new CategoryIndex(advisor, loadPageSize, PAGE_SIZE, Runnable::run, 0);
+
+        // WHEN
+        Page<Category> secondPage = categoryIndex.getPage(2);
+        Page<Category> thirdPage = categoryIndex.getPage(3);
+
+        // THEN
+        assertThat(secondPage).isEqualTo(new Page<>(List.of(PARTY, POP), TOTAL_CATEGORIES, 2));
+        assertThat(thirdPage).isEqualTo(new Page<>(List.of(WORKOUT), TOTAL_CATEGORIES, 3));
+        verify(advisor, times(1)).getCategories(1);
+        verify(advisor, times(1)).getCategories(2);
+        verifyNoMoreInteractions(advisor);
+    }
+
+    @Test
+    void givenStalePagesLoaded_whenFindingCategoryAgain_thenFreshPagesAreLoaded() {
+        // GIVEN
+        when(advisor.getCategories(1))
+                .thenReturn(new Page<>(List.of(TOP_LISTS), 1, 1, true))
+                .thenReturn(new Page<>(List.of(TOP_LISTS), 1, 1));
+        CategoryIndex categoryIndex = new CategoryIndex(advisor, PAGE_SIZE, PAGE_SIZE, Runnable::run, 0);
+        categoryIndex.findByName("Top Lists");
+
+        // WHEN
+        categoryIndex.findByName("Top Lists");
+        categoryIndex.findByName("Top Lists");
+
+        // THEN
+        verify(advisor, times(2)).getCategories(1);
+    }
+
+    @Test
+    void givenPageLoadExecutor_whenClosingIndex_thenExecutorIsShutDown() {
+        // GIVEN
+        ExecutorService pageLoadExecutor = Executors.newFixedThreadPool(2);
+        CategoryIndex categoryIndex = new CategoryIndex(advisor, PAGE_SIZE, PAGE_SIZE, pageLoadExecutor, 60);
+
+        // WHEN
+        categoryIndex.close();
+
+        // THEN
+        assertThat(pageLoadExecutor.isShutdown()).isTrue();
+    }
+
+    private void givenCategoryPages() {
+        when(advisor.getCategories(1)).thenReturn(new Page<>(List.of(TOP_LISTS, MOOD), TOTAL_CATEGORIES, 1));
+        when(advisor.getCategories(2)).thenReturn(new Page<>(List.of(PARTY, POP), TOTAL_CATEGORIES, 2));
+        when(advisor.getCategories(3)).thenReturn(new Page<>(List.of(WORKOUT), TOTAL_CATEGORIES, 3));
+    }
+}
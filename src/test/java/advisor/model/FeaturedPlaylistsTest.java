@@ -25,7 +25,7 @@ final class FeaturedPlaylistsTest {
 
     @BeforeEach
     void prepareTarget() {
-        featuredPlaylists = new FeaturedPlaylists(new FakeAdvisor(PAGE_SIZE), PAGE_SIZE);
+        featuredPlaylists = new FeaturedPlaylists(new FakeAdvisor(PAGE_SIZE), PAGE_SIZE, PagePrefetcher.disabled());
     }
 
     @Test
@@ -25,7 +25,7 @@ final class NewReleasesTest {
 
     @BeforeEach
     void prepareTarget() {
-        newReleases = new NewReleases(new FakeAdvisor(PAGE_SIZE), PAGE_SIZE);
+        newReleases = new NewReleases(new FakeAdvisor(PAGE_SIZE), PAGE_SIZE, PagePrefetcher.disabled());
     }
 
     @Test
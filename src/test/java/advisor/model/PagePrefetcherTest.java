@@ -0,0 +1,142 @@
+package advisor.model;
+
+import advisor.concurrent.AdvisorExecutors.ExecutionMode;
+import advisor.model.dto.Category;
+import advisor.model.dto.Page;
+import advisor.model.service.Advisor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static advisor.model.service.FakeAdvisorData.CATEGORIES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+final class PagePrefetcherTest {
+
+    private static final int PAGE_SIZE = 2;
+    private static final int TOTAL_CATEGORIES = CATEGORIES.size();
+    private static final Page<Category> CATEGORIES_FIRST_PAGE = new Page<>(
+            CATEGORIES.subList(0, PAGE_SIZE), TOTAL_CATEGORIES, 1);
+    private static final Page<Category> CATEGORIES_SECOND_PAGE = new Page<>(
+            CATEGORIES.subList(PAGE_SIZE, (PAGE_SIZE * 2)), TOTAL_CATEGORIES, 2);
+    private static final Page<Category> CATEGORIES_THIRD_PAGE = new Page<>(
+            CATEGORIES.subList(PAGE_SIZE * 2, (PAGE_SIZE * 3)), TOTAL_CATEGORIES, 3);
+    private static final long TTL_SECONDS = 60;
+    private final PagePrefetcher pagePrefetcher = new PagePrefetcher(ExecutionMode.PLATFORM, 2, 1, true, TTL_SECONDS);
+
+    @Mock
+    private Advisor advisor;
+
+    @AfterEach
+    void closePrefetcher() {
+        pagePrefetcher.close();
+    }
+
+    @Test
+    void givenFirstPageHasBeenObtained_whenGettingTheNextPage_thenThePrefetchedPageIsReturned() {
+        // GIVEN
+        when(advisor.getCategories(1)).thenReturn(CATEGORIES_FIRST_PAGE);
+        when(advisor.getCategories(2)).thenReturn(CATEGORIES_SECOND_PAGE);
+        lenient().when(advisor.getCategories(3)).thenReturn(CATEGORIES_THIRD_PAGE);
+        Categories categories = new Categories(advisor, PAGE_SIZE, pagePrefetcher);
+        categories.firstPage();
+        await().untilAsserted(() -> verify(advisor).getCategories(2));
+
+        // WHEN
+        Page<Category> categoryPage = categories.nextPage();
+
+        // THEN
+        assertThat(categoryPage).isEqualTo(CATEGORIES_SECOND_PAGE);
+        verify(advisor, times(1)).getCategories(2);
+    }
+
+    @Test
+    void givenSecondPageHasBeenObtained_whenGettingThePreviousPage_thenTheDisplayedPageIsReturnedWithoutFetchingIt() {
+        // GIVEN
+        when(advisor.getCategories(1)).thenReturn(CATEGORIES_FIRST_PAGE);
+        when(advisor.getCategories(2)).thenReturn(CATEGORIES_SECOND_PAGE);
+        when(advisor.getCategories(3)).thenReturn(CATEGORIES_THIRD_PAGE);
+        Categories categories = new Categories(advisor, PAGE_SIZE, pagePrefetcher);
+        categories.firstPage();
+        categories.nextPage();
+        await().untilAsserted(() -> verify(advisor).getCategories(3));
+
+        // WHEN
+        Page<Category> categoryPage = categories.previousPage();
+
+        // THEN
+        assertThat(categoryPage).isEqualTo(CATEGORIES_FIRST_PAGE);
+        verify(advisor, times(1)).getCategories(1);
+    }
+
+    @Test
+    void givenPreviousPageHasBeenObtained_whenGettingTheNextPageAgain_thenTheDisplayedPageIsReturnedWithoutFetchingIt() {
+        // GIVEN
+        when(advisor.getCategories(1)).thenReturn(CATEGORIES_FIRST_PAGE);
+        when(advisor.getCategories(2)).thenReturn(CATEGORIES_SECOND_PAGE);
+        when(advisor.getCategories(3)).thenReturn(CATEGORIES_THIRD_PAGE);
+        Categories categories = new Categories(advisor, PAGE_SIZE, pagePrefetcher);
+        categories.firstPage();
+        categories.nextPage();
+        categories.nextPage();
+        categories.previousPage();
+
+        // WHEN
+        Page<Category> categoryPage = categories.nextPage();
+
+        // THEN
+        assertThat(categoryPage).isEqualTo(CATEGORIES_THIRD_PAGE);
+        verify(advisor, after(200).times(1)).getCategories(3);
+    }
+
+    @Test
+    void givenAllResourcesFitInTheFirstPage_whenGettingTheFirstPage_thenNoPageIsPrefetched() {
+        // GIVEN
+        Page<Category> onlyPage = new Page<>(CATEGORIES.subList(0, PAGE_SIZE), PAGE_SIZE, 1);
+        when(advisor.getCategories(1)).thenReturn(onlyPage);
+        Categories categories = new Categories(advisor, PAGE_SIZE, pagePrefetcher);
+
+        // WHEN
+        categories.firstPage();
+
+        // THEN
+        verify(advisor, after(200).times(1)).getCategories(anyInt());
+        verify(advisor).getCategories(1);
+    }
+
+    @Test
+    void givenPrefetchedPageHasExpired_whenGettingTheNextPage_thenItIsFetchedAgain() {
+        // GIVEN
+        PagePrefetcher expiringPagePrefetcher = new PagePrefetcher(ExecutionMode.PLATFORM, 2, 1, true, 0);
+        when(advisor.getCategories(1)).thenReturn(CATEGORIES_FIRST_PAGE);
+        when(advisor.getCategories(2)).thenReturn(CATEGORIES_SECOND_PAGE);
+        lenient().when(advisor.getCategories(3)).thenReturn(CATEGORIES_THIRD_PAGE);
+        Categories categories = new Categories(advisor, PAGE_SIZE, expiringPagePrefetcher);
+        categories.firstPage();
+        await().untilAsserted(() -> verify(advisor).getCategories(2));
+
+        // WHEN
+        Page<Category> categoryPage = categories.nextPage();
+
+        // THEN
+        assertThat(categoryPage).isEqualTo(CATEGORIES_SECOND_PAGE);
+        verify(advisor, times(2)).getCategories(2);
+        expiringPagePrefetcher.close();
+    }
+
+    @Test
+    void givenPrefetchingIsDisabled_whenComputingThePagesToPrefetch_thenThereAreNone() {
+        // WHEN
+        List<Integer> pagesToPrefetch = PagePrefetcher.disabled().pagesToPrefetch(2, TOTAL_CATEGORIES, PAGE_SIZE);
+
+        // THEN
+        assertThat(pagesToPrefetch).isEmpty();
+    }
+}
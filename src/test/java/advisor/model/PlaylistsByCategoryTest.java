@@ -26,7 +26,9 @@ final class PlaylistsByCategoryTest {
 
     @BeforeEach
     void prepareTarget() {
-        playlistsByCategory = new PlaylistsByCategory(new FakeAdvisor(PAGE_SIZE), PAGE_SIZE);
+        FakeAdvisor fakeAdvisor = new FakeAdvisor(PAGE_SIZE);
+        playlistsByCategory = new PlaylistsByCategory(fakeAdvisor, PAGE_SIZE, PagePrefetcher.disabled(),
+                new CategoryIndex(fakeAdvisor, PAGE_SIZE, PAGE_SIZE, Runnable::run, 0));
     }
 
     @Test
@@ -0,0 +1,109 @@
+package advisor.model;
+
+import advisor.model.dto.CommandLinePrintable;
+import advisor.model.service.Advisor;
+import advisor.model.service.FakeAdvisor;
+import advisor.model.service.ResourceException;
+import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static advisor.model.service.FakeAdvisorData.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.*;
+
+final class ResourceExporterTest {
+
+    private static final int PAGE_SIZE = 2;
+    private final FakeAdvisor fakeAdvisor = new FakeAdvisor(PAGE_SIZE);
+    private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+    private final CategoryIndex categoryIndex = new CategoryIndex(fakeAdvisor, PAGE_SIZE, PAGE_SIZE, Runnable::run, 0);
+    private final ResourceExporter resourceExporter = new ResourceExporter(
+            fakeAdvisor, PAGE_SIZE, categoryIndex, executorService, 2);
+
+    @TempDir
+    Path exportDirectory;
+
+    @AfterEach
+    void stopExecutor() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void whenExportingNewReleases_thenEveryReleaseIsWrittenInOrder() throws IOException {
+        // GIVEN
+        Path file = exportDirectory.resolve("releases.txt");
+
+        // WHEN
+        ResourceExporter.ExportSummary exportSummary = resourceExporter.exportNewReleases(file);
+
+        // THEN
+        assertThat(Files.readString(file)).isEqualTo(lines(RELEASES));
+        assertThat(exportSummary.getElements()).isEqualTo(RELEASES.size());
+        assertThat(exportSummary.getPages()).isEqualTo(RELEASES.size() / PAGE_SIZE);
+    }
+
+    @Test
+    void whenExportingCategoryPlaylists_thenEveryPlaylistOfTheCategoryIsWrittenInOrder() throws IOException {
+        // GIVEN
+        Path file = exportDirectory.resolve("playlists.txt");
+
+        // WHEN
+        resourceExporter.exportCategoryPlaylists(GOOD_MOOD_CATEGORY.getName(), file);
+
+        // THEN
+        assertThat(Files.readString(file)).isEqualTo(lines(GOOD_MOOD_CATEGORY_PLAYLISTS));
+    }
+
+    @Test
+    void givenUnknownCategoryName_whenExportingCategoryPlaylists_thenAnExceptionIsThrown() {
+        // WHEN
+        Throwable thrown = catchThrowable(() -> resourceExporter.exportCategoryPlaylists(
+                "Unknown", exportDirectory.resolve("playlists.txt")));
+
+        // THEN
+        assertThat(thrown).isInstanceOf(AdvisorException.class)
+                .hasMessage("Unknown category name.");
+    }
+
+    @Test
+    void givenPageFailingToLoad_whenExportingToExistingFile_thenFileIsLeftUntouchedWithoutPartialFile()
+            throws IOException {
+        // GIVEN
+        Path file = exportDirectory.resolve("releases.txt");
+        Files.writeString(file, "Previous export");
+        Advisor failingAdvisor = mock(Advisor.class);
+        when(failingAdvisor.getNewReleases(anyInt()))
+                .thenThrow(new ResourceException("Bad gateway", HttpStatus.SC_BAD_GATEWAY, true));
+        doReturn(fakeAdvisor.getNewReleases(1)).when(failingAdvisor).getNewReleases(1);
+        ResourceExporter failingResourceExporter = new ResourceExporter(
+                failingAdvisor, PAGE_SIZE, categoryIndex, executorService, 2);
+
+        // WHEN
+        Throwable thrown = catchThrowable(() -> failingResourceExporter.exportNewReleases(file));
+
+        // THEN
+        assertThat(thrown).isInstanceOf(ResourceException.class);
+        assertThat(Files.readString(file)).isEqualTo("Previous export");
+        try (Stream<Path> exportedFiles = Files.list(exportDirectory)) {
+            assertThat(exportedFiles).containsExactly(file);
+        }
+    }
+
+    private static String lines(List<? extends CommandLinePrintable> elements) {
+        return elements.stream()
+                .map(element -> element.commandLineStringRepresentation() + System.lineSeparator())
+                .collect(Collectors.joining());
+    }
+}
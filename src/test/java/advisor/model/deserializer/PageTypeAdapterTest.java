@@ -0,0 +1,136 @@
+package advisor.model.deserializer;
+
+import advisor.model.dto.*;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+final class PageTypeAdapterTest {
+
+    @Test
+    void givenNewReleasesPayload_whenReading_thenReleasesWithTheirArtistsAreDecoded() throws IOException {
+        // GIVEN
+        PageTypeAdapter<Release> pageTypeAdapter = new PageTypeAdapter<>("albums", new ReleaseTypeAdapter());
+
+        // WHEN
+        Page<Release> page = pageTypeAdapter.fromJson(readPayload("new-releases.json"));
+
+        // THEN
+        assertThat(page.getPageNumber()).isZero();
+        assertThat(page.getElements().get(0)).isEqualTo(Release.builder()
+                .title("Runnin'")
+                .artists(List.of(new Artist("Pharrell Williams"), new Artist("Rosalía")))
+                .link("https://open.spotify.com/album/5ZX4m5aVSmWQ5iHAPQpT71")
+                .build());
+    }
+
+    @Test
+    void givenNewReleasesPayload_whenReading_thenEveryArtistIsReadByTheSameArtistTypeAdapter() throws IOException {
+        // GIVEN
+        CountingArtistTypeAdapter artistTypeAdapter = new CountingArtistTypeAdapter();
+        PageTypeAdapter<Release> pageTypeAdapter =
+                new PageTypeAdapter<>("albums", new ReleaseTypeAdapter(artistTypeAdapter));
+
+        // WHEN
+        Page<Release> page = pageTypeAdapter.fromJson(readPayload("new-releases.json"));
+
+        // THEN
+        int artists = page.getElements().stream().mapToInt(release -> release.getArtists().size()).sum();
+        assertThat(artists).isGreaterThan(page.getElements().size());
+        assertThat(artistTypeAdapter.reads).isEqualTo(artists);
+    }
+
+    @Test
+    void givenCategoriesPayload_whenReading_thenCategoriesAndTotalAreDecoded() throws IOException {
+        // GIVEN
+        PageTypeAdapter<Category> pageTypeAdapter = new PageTypeAdapter<>("categories", new CategoryTypeAdapter());
+
+        // WHEN
+        Page<Category> page = pageTypeAdapter.fromJson(readPayload("categories.json"));
+
+        // THEN
+        assertThat(page.getElements()).first().isEqualTo(new Category("Top Lists", "toplists"));
+        assertThat(page.getTotal()).isPositive();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "categories.json, categories",
+            "category-playlists.json, playlists",
+            "featured-playlists.json, playlists",
+            "new-releases.json, albums"})
+    void givenPageReadFromRecordedPayload_whenWritingAndReadingItBack_thenTheSamePageIsRead(
+            String payloadFileName, String entityKey) throws IOException {
+        // GIVEN
+        PageTypeAdapter<?> pageTypeAdapter = new PageTypeAdapter<>(entityKey, elementTypeAdapter(entityKey));
+        Page<?> page = pageTypeAdapter.fromJson(readPayload(payloadFileName));
+
+        // WHEN
+        Page<?> readBackPage = readBack(pageTypeAdapter, page);
+
+        // THEN
+        assertThat(readBackPage).isEqualTo(page);
+    }
+
+    @Test
+    void givenResponseWithoutTheEntityKey_whenReading_thenJsonParseExceptionNamingTheKeyIsThrown() {
+        // GIVEN
+        PageTypeAdapter<Category> pageTypeAdapter = new PageTypeAdapter<>("categories", new CategoryTypeAdapter());
+
+        // WHEN
+        Throwable thrown = catchThrowable(() ->
+                pageTypeAdapter.fromJson("{\"error\": {\"status\": 200, \"message\": \"Unexpected\"}}"));
+
+        // THEN
+        assertThat(thrown).isInstanceOf(JsonParseException.class).hasMessageContaining("categories");
+    }
+
+    private static SpotifyObjectTypeAdapter<? extends CommandLinePrintable> elementTypeAdapter(String entityKey) {
+        switch (entityKey) {
+            case "categories":
+                return new CategoryTypeAdapter();
+            case "albums":
+                return new ReleaseTypeAdapter();
+            default:
+                return new PlaylistTypeAdapter();
+        }
+    }
+
+    private static <T extends CommandLinePrintable> Page<T> readBack(PageTypeAdapter<T> pageTypeAdapter, Page<?> page)
+            throws IOException {
+        @SuppressWarnings("unchecked")
+        String json = pageTypeAdapter.toJson((Page<T>) page);
+        return pageTypeAdapter.fromJson(json);
+    }
+
+    /**
+     * Guards against decoding the artists of each release with a decoder of its own, such as a new Gson per release
+     */
+    private static final class CountingArtistTypeAdapter extends ArtistTypeAdapter {
+
+        private int reads;
+
+        @Override
+        public Artist read(JsonReader in) throws IOException {
+            reads++;
+            return super.read(in);
+        }
+    }
+
+    private static String readPayload(String payloadFileName) throws IOException {
+        try (InputStream inputStream = PageTypeAdapterTest.class.getClassLoader()
+                .getResourceAsStream("__files/" + payloadFileName)) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package advisor.model.service;
+
+import advisor.model.dto.Category;
+import advisor.model.dto.Page;
+import advisor.model.service.PageStore.StoredPage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Optional;
+
+import static advisor.model.service.FakeAdvisorData.GOOD_MOOD_CATEGORY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+final class CachingAdvisorTest {
+
+    private static final String LOCALE = "en-GB";
+    private static final String RESOURCE_HOST = "https://api.spotify.com";
+    private static final int PAGE_SIZE = 1;
+    private static final String CATEGORIES_FIRST_PAGE_STORE_KEY =
+            RESOURCE_HOST + "/" + PAGE_SIZE + "/categories/null/1/" + LOCALE;
+    private static final long TTL_SECONDS = 60;
+    private static final long MAX_RETAINED_BYTES = 10_000;
+    private static final Page<Category> CATEGORIES_FIRST_PAGE = new Page<>(
+            List.of(new Category("Mood", "mood")), 2, 1);
+    private static final Page<Category> CATEGORIES_SECOND_PAGE = new Page<>(
+            List.of(new Category("Party", "party")), 2, 2);
+
+    @Mock
+    private Advisor delegate;
+
+    @Mock
+    private PageStore pageStore;
+
+    @Test
+    void givenPageHasBeenObtained_whenGettingItAgain_thenItIsServedFromTheCache() {
+        // GIVEN
+        CachingAdvisor cachingAdvisor = new CachingAdvisor(
+                delegate, RESOURCE_HOST, PAGE_SIZE, LOCALE, TTL_SECONDS, MAX_RETAINED_BYTES, PageStore.NONE);
+        when(delegate.getCategories(1)).thenReturn(CATEGORIES_FIRST_PAGE);
+        cachingAdvisor.getCategories(1);
+
+        // WHEN
+        Page<Category> categoryPage = cachingAdvisor.getCategories(1);
+
+        // THEN
+        assertThat(categoryPage).isEqualTo(CATEGORIES_FIRST_PAGE);
+        verify(delegate, times(1)).getCategories(1);
+        assertThat(cachingAdvisor.getHitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void givenPageHasExpired_whenGettingItAgain_thenItIsFetchedAgain() {
+        // GIVEN
+        CachingAdvisor cachingAdvisor = new CachingAdvisor(
+                delegate, RESOURCE_HOST, PAGE_SIZE, LOCALE, 0, MAX_RETAINED_BYTES, PageStore.NONE);
+        when(delegate.getCategories(1)).thenReturn(CATEGORIES_FIRST_PAGE);
+        cachingAdvisor.getCategories(1);
+
+        // WHEN
+        cachingAdvisor.getCategories(1);
+
+        // THEN
+        verify(delegate, times(2)).getCategories(1);
+        assertThat(cachingAdvisor.getHitRatio()).isZero();
+    }
+
+    @Test
+    void givenRetainedBytesWouldExceedTheMaximum_whenCachingAPage_thenTheLeastRecentlyUsedPageIsEvicted() {
+        // GIVEN
+        CachingAdvisor cachingAdvisor = new CachingAdvisor(
+                delegate, RESOURCE_HOST, PAGE_SIZE, LOCALE, TTL_SECONDS, 400, PageStore.NONE);
+        when(delegate.getCategories(1)).thenReturn(CATEGORIES_FIRST_PAGE);
+        when(delegate.getCategories(2)).thenReturn(CATEGORIES_SECOND_PAGE);
+        cachingAdvisor.getCategories(1);
+
+        // WHEN
+        cachingAdvisor.getCategories(2);
+        cachingAdvisor.getCategories(2);
+        cachingAdvisor.getCategories(1);
+
+        // THEN
+        verify(delegate, times(2)).getCategories(1);
+        verify(delegate, times(1)).getCategories(2);
+        assertThat(cachingAdvisor.getRetainedBytes()).isLessThanOrEqualTo(400);
+    }
+
+    @Test
+    void givenPagesOfDifferentCategories_whenGettingThem_thenTheyAreCachedSeparately() {
+        // GIVEN
+        CachingAdvisor cachingAdvisor = new CachingAdvisor(
+                delegate, RESOURCE_HOST, PAGE_SIZE, LOCALE, TTL_SECONDS, MAX_RETAINED_BYTES, PageStore.NONE);
+        Category partyCategory = new Category("Party", "party");
+        when(delegate.getCategoryPlaylists(GOOD_MOOD_CATEGORY, 1)).thenReturn(new Page<>(List.of(), 0, 1));
+        when(delegate.getCategoryPlaylists(partyCategory, 1)).thenReturn(new Page<>(List.of(), 0, 1));
+
+        // WHEN
+        cachingAdvisor.getCategoryPlaylists(GOOD_MOOD_CATEGORY, 1);
+        cachingAdvisor.getCategoryPlaylists(partyCategory, 1);
+        cachingAdvisor.getCategoryPlaylists(GOOD_MOOD_CATEGORY, 1);
+
+        // THEN
+        verify(delegate, times(1)).getCategoryPlaylists(GOOD_MOOD_CATEGORY, 1);
+        verify(delegate, times(1)).getCategoryPlaylists(partyCategory, 1);
+    }
+
+    @Test
+    void givenPageIsInThePageStore_whenGettingIt_thenItIsNotFetchedFromTheDelegate() {
+        // GIVEN
+        CachingAdvisor cachingAdvisor = new CachingAdvisor(
+                delegate, RESOURCE_HOST, PAGE_SIZE, LOCALE, TTL_SECONDS, MAX_RETAINED_BYTES, pageStore);
+        when(pageStore.<Category>get(CATEGORIES_FIRST_PAGE_STORE_KEY))
+                .thenReturn(Optional.of(storedPage(CATEGORIES_FIRST_PAGE)));
+
+        // WHEN
+        Page<Category> categoryPage = cachingAdvisor.getCategories(1);
+
+        // THEN
+        assertThat(categoryPage).isEqualTo(CATEGORIES_FIRST_PAGE);
+        verifyNoInteractions(delegate);
+        assertThat(cachingAdvisor.getStoreHits()).isEqualTo(1);
+    }
+
+    @Test
+    void givenPageHasBeenObtainedFromThePageStore_whenGettingItAgain_thenItIsServedFromTheCache() {
+        // GIVEN
+        CachingAdvisor cachingAdvisor = new CachingAdvisor(
+                delegate, RESOURCE_HOST, PAGE_SIZE, LOCALE, TTL_SECONDS, MAX_RETAINED_BYTES, pageStore);
+        when(pageStore.<Category>get(CATEGORIES_FIRST_PAGE_STORE_KEY))
+                .thenReturn(Optional.of(storedPage(CATEGORIES_FIRST_PAGE)));
+        cachingAdvisor.getCategories(1);
+
+        // WHEN
+        Page<Category> categoryPage = cachingAdvisor.getCategories(1);
+
+        // THEN
+        assertThat(categoryPage).isEqualTo(CATEGORIES_FIRST_PAGE);
+        verify(pageStore, times(1)).get(CATEGORIES_FIRST_PAGE_STORE_KEY);
+        assertThat(cachingAdvisor.getHitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void givenStoredPageHasExpired_whenGettingItAgain_thenItIsNotServedFromTheCache() {
+        // GIVEN
+        CachingAdvisor cachingAdvisor = new CachingAdvisor(
+                delegate, RESOURCE_HOST, PAGE_SIZE, LOCALE, TTL_SECONDS, MAX_RETAINED_BYTES, pageStore);
+        when(pageStore.<Category>get(CATEGORIES_FIRST_PAGE_STORE_KEY))
+                .thenReturn(Optional.of(new StoredPage<>(CATEGORIES_FIRST_PAGE, System.currentTimeMillis())))
+                .thenReturn(Optional.empty());
+        when(delegate.getCategories(1)).thenReturn(CATEGORIES_SECOND_PAGE);
+        cachingAdvisor.getCategories(1);
+
+        // WHEN
+        Page<Category> categoryPage = cachingAdvisor.getCategories(1);
+
+        // THEN
+        assertThat(categoryPage).isEqualTo(CATEGORIES_SECOND_PAGE);
+    }
+
+    @Test
+    void givenPageStoreCannotBeWritten_whenGettingAPage_thenItIsReturnedAndTheFailureIsCounted() {
+        // GIVEN
+        CachingAdvisor cachingAdvisor = new CachingAdvisor(
+                delegate, RESOURCE_HOST, PAGE_SIZE, LOCALE, TTL_SECONDS, MAX_RETAINED_BYTES, pageStore);
+        when(pageStore.<Category>get(CATEGORIES_FIRST_PAGE_STORE_KEY)).thenReturn(Optional.empty());
+        doThrow(new UncheckedIOException(new IOException("No space left on device")))
+                .when(pageStore).put(CATEGORIES_FIRST_PAGE_STORE_KEY, CATEGORIES_FIRST_PAGE);
+        when(delegate.getCategories(1)).thenReturn(CATEGORIES_FIRST_PAGE);
+
+        // WHEN
+        Page<Category> categoryPage = cachingAdvisor.getCategories(1);
+
+        // THEN
+        assertThat(categoryPage).isEqualTo(CATEGORIES_FIRST_PAGE);
+        assertThat(cachingAdvisor.getStoreFailures()).isEqualTo(1);
+        assertThat(cachingAdvisor.getCategories(1)).isEqualTo(CATEGORIES_FIRST_PAGE);
+        verify(delegate, times(1)).getCategories(1);
+    }
+
+    @Test
+    void givenPageStoreCannotBeRead_whenGettingAPage_thenItIsFetchedFromTheDelegate() {
+        // GIVEN
+        CachingAdvisor cachingAdvisor = new CachingAdvisor(
+                delegate, RESOURCE_HOST, PAGE_SIZE, LOCALE, TTL_SECONDS, MAX_RETAINED_BYTES, pageStore);
+        when(pageStore.<Category>get(CATEGORIES_FIRST_PAGE_STORE_KEY))
+                .thenThrow(new UncheckedIOException(new IOException("Input/output error")));
+        when(delegate.getCategories(1)).thenReturn(CATEGORIES_FIRST_PAGE);
+
+        // WHEN
+        Page<Category> categoryPage = cachingAdvisor.getCategories(1);
+
+        // THEN
+        assertThat(categoryPage).isEqualTo(CATEGORIES_FIRST_PAGE);
+        assertThat(cachingAdvisor.getStoreFailures()).isEqualTo(1);
+    }
+
+    @Test
+    void givenPageIsNotInThePageStore_whenGettingIt_thenItIsFetchedFromTheDelegateAndStored() {
+        // GIVEN
+        CachingAdvisor cachingAdvisor = new CachingAdvisor(
+                delegate, RESOURCE_HOST, PAGE_SIZE, LOCALE, TTL_SECONDS, MAX_RETAINED_BYTES, pageStore);
+        when(pageStore.<Category>get(CATEGORIES_FIRST_PAGE_STORE_KEY)).thenReturn(Optional.empty());
+        when(delegate.getCategories(1)).thenReturn(CATEGORIES_FIRST_PAGE);
+
+        // WHEN
+        cachingAdvisor.getCategories(1);
+
+        // THEN
+        verify(pageStore).put(CATEGORIES_FIRST_PAGE_STORE_KEY, CATEGORIES_FIRST_PAGE);
+    }
+
+    @Test
+    void givenPageWasStoredWithAnotherPageSize_whenGettingIt_thenItIsFetchedFromTheDelegate() {
+        // GIVEN
+        CachingAdvisor cachingAdvisor = new CachingAdvisor(
+                delegate, RESOURCE_HOST, PAGE_SIZE + 1, LOCALE, TTL_SECONDS, MAX_RETAINED_BYTES, pageStore);
+        lenient().when(pageStore.<Category>get(CATEGORIES_FIRST_PAGE_STORE_KEY))
+                .thenReturn(Optional.of(storedPage(CATEGORIES_FIRST_PAGE)));
+        when(delegate.getCategories(1)).thenReturn(CATEGORIES_SECOND_PAGE);
+
+        // WHEN
+        Page<Category> categoryPage = cachingAdvisor.getCategories(1);
+
+        // THEN
+        assertThat(categoryPage).isEqualTo(CATEGORIES_SECOND_PAGE);
+        assertThat(cachingAdvisor.getStoreHits()).isZero();
+    }
+
+    private static StoredPage<Category> storedPage(Page<Category> page) {
+        return new StoredPage<>(page, System.currentTimeMillis() + TTL_SECONDS * 1000);
+    }
+}
@@ -0,0 +1,159 @@
+package advisor.model.service;
+
+import advisor.model.dto.Category;
+import advisor.model.dto.Page;
+import advisor.model.dto.Release;
+import advisor.model.service.CircuitBreakerAdvisor.CircuitOpenException;
+import advisor.model.service.CircuitBreakerAdvisor.State;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+final class CircuitBreakerAdvisorTest {
+
+    private static final int WINDOW_SIZE = 4;
+    private static final int MINIMUM_CALLS = 2;
+    private static final long OPEN_DURATION_MILLIS = 100;
+    private static final int HALF_OPEN_TRIAL_CALLS = 1;
+    private static final Page<Release> NEW_RELEASES = new Page<>(
+            List.of(Release.builder().title("Release").artists(List.of()).link("link").build()), 1, 1);
+    private static final ResourceException SERVICE_UNAVAILABLE =
+            new ResourceException("Service unavailable", 503, true);
+
+    @Mock
+    private Advisor advisor;
+
+    private CircuitBreakerAdvisor circuitBreakerAdvisor() {
+        return new CircuitBreakerAdvisor(advisor, 0.5, WINDOW_SIZE, MINIMUM_CALLS, OPEN_DURATION_MILLIS,
+                HALF_OPEN_TRIAL_CALLS, 10);
+    }
+
+    @Test
+    void givenFailureRateReached_whenGettingPreviouslyFetchedPage_thenLastKnownGoodPageIsReturnedAsStale() {
+        // GIVEN
+        CircuitBreakerAdvisor circuitBreakerAdvisor = circuitBreakerAdvisor();
+        when(advisor.getNewReleases(1)).thenReturn(NEW_RELEASES).thenThrow(SERVICE_UNAVAILABLE);
+        circuitBreakerAdvisor.getNewReleases(1);
+
+        // WHEN
+        Page<Release> page = circuitBreakerAdvisor.getNewReleases(1);
+
+        // THEN
+        assertThat(circuitBreakerAdvisor.getState()).isEqualTo(State.OPEN);
+        assertThat(page.isStale()).isTrue();
+        assertThat(page.getElements()).isEqualTo(NEW_RELEASES.getElements());
+        assertThat(circuitBreakerAdvisor.getNewReleases(1).isStale()).isTrue();
+        verify(advisor, times(2)).getNewReleases(1);
+    }
+
+    @Test
+    void givenOpenCircuitAndNoKnownPage_whenGettingPage_thenCircuitOpenExceptionIsThrownWithoutCallingDelegate() {
+        // GIVEN
+        CircuitBreakerAdvisor circuitBreakerAdvisor = circuitBreakerAdvisor();
+        when(advisor.getFeaturedPlaylists(1)).thenThrow(SERVICE_UNAVAILABLE);
+        Assertions.catchThrowable(() -> circuitBreakerAdvisor.getFeaturedPlaylists(1));
+        Assertions.catchThrowable(() -> circuitBreakerAdvisor.getFeaturedPlaylists(1));
+
+        // WHEN
+        Throwable thrown = Assertions.catchThrowable(() -> circuitBreakerAdvisor.getFeaturedPlaylists(1));
+
+        // THEN
+        assertThat(thrown).isInstanceOf(CircuitOpenException.class);
+        assertThat(circuitBreakerAdvisor.getRejectedCalls()).isEqualTo(1);
+        verify(advisor, times(2)).getFeaturedPlaylists(1);
+    }
+
+    @Test
+    void givenOpenDurationElapsed_whenTrialCallSucceeds_thenCircuitIsClosed() throws InterruptedException {
+        // GIVEN
+        CircuitBreakerAdvisor circuitBreakerAdvisor = circuitBreakerAdvisor();
+        when(advisor.getNewReleases(1)).thenThrow(SERVICE_UNAVAILABLE, SERVICE_UNAVAILABLE).thenReturn(NEW_RELEASES);
+        Assertions.catchThrowable(() -> circuitBreakerAdvisor.getNewReleases(1));
+        Assertions.catchThrowable(() -> circuitBreakerAdvisor.getNewReleases(1));
+        Thread.sleep(OPEN_DURATION_MILLIS);
+
+        // WHEN
+        Page<Release> page = circuitBreakerAdvisor.getNewReleases(1);
+
+        // THEN
+        assertThat(page).isEqualTo(NEW_RELEASES);
+        assertThat(circuitBreakerAdvisor.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void givenOpenDurationElapsed_whenTrialCallFails_thenCircuitIsOpenedAgain() throws InterruptedException {
+        // GIVEN
+        CircuitBreakerAdvisor circuitBreakerAdvisor = circuitBreakerAdvisor();
+        when(advisor.getNewReleases(1)).thenThrow(SERVICE_UNAVAILABLE);
+        Assertions.catchThrowable(() -> circuitBreakerAdvisor.getNewReleases(1));
+        Assertions.catchThrowable(() -> circuitBreakerAdvisor.getNewReleases(1));
+        Thread.sleep(OPEN_DURATION_MILLIS);
+
+        // WHEN
+        Throwable thrown = Assertions.catchThrowable(() -> circuitBreakerAdvisor.getNewReleases(1));
+
+        // THEN
+        assertThat(thrown).isSameAs(SERVICE_UNAVAILABLE);
+        assertThat(circuitBreakerAdvisor.getState()).isEqualTo(State.OPEN);
+        verify(advisor, times(3)).getNewReleases(1);
+    }
+
+    @Test
+    void givenNonRetryableErrors_whenGettingPages_thenCircuitStaysClosed() {
+        // GIVEN
+        CircuitBreakerAdvisor circuitBreakerAdvisor = circuitBreakerAdvisor();
+        Category unknownCategory = new Category("Unknown", "unknown");
+        when(advisor.getCategoryPlaylists(unknownCategory, 1))
+                .thenThrow(new ResourceException("Not found", 404, false));
+
+        // WHEN
+        for (int i = 0; i < WINDOW_SIZE; i++) {
+            Assertions.catchThrowable(() -> circuitBreakerAdvisor.getCategoryPlaylists(unknownCategory, 1));
+        }
+
+        // THEN
+        assertThat(circuitBreakerAdvisor.getState()).isEqualTo(State.CLOSED);
+        verify(advisor, times(WINDOW_SIZE)).getCategoryPlaylists(unknownCategory, 1);
+    }
+
+    @Test
+    void givenUnexpectedErrors_whenGettingPages_thenCircuitStaysClosed() {
+        // GIVEN
+        CircuitBreakerAdvisor circuitBreakerAdvisor = circuitBreakerAdvisor();
+        when(advisor.getNewReleases(1)).thenThrow(new IllegalStateException("Unexpected token"));
+
+        // WHEN
+        for (int call = 0; call < WINDOW_SIZE; call++) {
+            Assertions.catchThrowable(() -> circuitBreakerAdvisor.getNewReleases(1));
+        }
+
+        // THEN
+        assertThat(circuitBreakerAdvisor.getState()).isEqualTo(State.CLOSED);
+        verify(advisor, times(WINDOW_SIZE)).getNewReleases(1);
+    }
+
+    @Test
+    void givenIoErrors_whenGettingPages_thenCircuitIsOpened() {
+        // GIVEN
+        CircuitBreakerAdvisor circuitBreakerAdvisor = circuitBreakerAdvisor();
+        when(advisor.getNewReleases(1)).thenThrow(new UncheckedIOException(new IOException("Connection reset")));
+
+        // WHEN
+        for (int call = 0; call < MINIMUM_CALLS; call++) {
+            Assertions.catchThrowable(() -> circuitBreakerAdvisor.getNewReleases(1));
+        }
+
+        // THEN
+        assertThat(circuitBreakerAdvisor.getState()).isEqualTo(State.OPEN);
+    }
+}
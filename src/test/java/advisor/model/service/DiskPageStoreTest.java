@@ -0,0 +1,159 @@
+package advisor.model.service;
+
+import advisor.model.dto.Category;
+import advisor.model.dto.Page;
+import advisor.model.dto.Playlist;
+import advisor.model.dto.Release;
+import advisor.model.service.PageStore.StoredPage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static advisor.model.service.FakeAdvisorData.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class DiskPageStoreTest {
+
+    private static final long TTL_SECONDS = 3600;
+    private static final long MAX_SEGMENT_BYTES = 1024 * 1024;
+    private static final long COMPACTION_INTERVAL_SECONDS = 3600;
+    private static final Page<Category> CATEGORIES_PAGE = new Page<>(CATEGORIES, CATEGORIES.size(), 1);
+    private static final Page<Release> RELEASES_PAGE = new Page<>(RELEASES, 30, 2);
+    private static final Page<Playlist> PLAYLISTS_PAGE = new Page<>(FEATURED_PLAYLISTS, 40, 3);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void givenPagesHaveBeenStored_whenGettingThem_thenTheyAreReturned() throws IOException {
+        try (DiskPageStore diskPageStore = newDiskPageStore(TTL_SECONDS, MAX_SEGMENT_BYTES)) {
+            // GIVEN
+            diskPageStore.put("categories", CATEGORIES_PAGE);
+            diskPageStore.put("releases", RELEASES_PAGE);
+            diskPageStore.put("playlists", PLAYLISTS_PAGE);
+
+            // THEN
+            assertThat(diskPageStore.<Category>get("categories").map(StoredPage::getPage)).contains(CATEGORIES_PAGE);
+            assertThat(diskPageStore.<Release>get("releases").map(StoredPage::getPage)).contains(RELEASES_PAGE);
+            assertThat(diskPageStore.<Playlist>get("playlists").map(StoredPage::getPage)).contains(PLAYLISTS_PAGE);
+            assertThat(diskPageStore.get("unknown")).isEmpty();
+        }
+    }
+
+    @Test
+    void givenPagesHaveBeenStoredBeforeARestart_whenGettingThem_thenTheyAreReturned() throws IOException {
+        // GIVEN
+        try (DiskPageStore diskPageStore = newDiskPageStore(TTL_SECONDS, MAX_SEGMENT_BYTES)) {
+            diskPageStore.put("categories", CATEGORIES_PAGE);
+            diskPageStore.put("releases", RELEASES_PAGE);
+            diskPageStore.put("releases", PLAYLISTS_PAGE);
+        }
+
+        // WHEN
+        try (DiskPageStore restartedDiskPageStore = newDiskPageStore(TTL_SECONDS, MAX_SEGMENT_BYTES)) {
+
+            // THEN
+            assertThat(restartedDiskPageStore.<Category>get("categories")
+                    .map(StoredPage::getPage)).contains(CATEGORIES_PAGE);
+            assertThat(restartedDiskPageStore.<Playlist>get("releases")
+                    .map(StoredPage::getPage)).contains(PLAYLISTS_PAGE);
+        }
+    }
+
+    @Test
+    void givenPageHasExpired_whenGettingIt_thenItIsNotReturned() throws IOException {
+        try (DiskPageStore diskPageStore = newDiskPageStore(0, MAX_SEGMENT_BYTES)) {
+            // GIVEN
+            diskPageStore.put("categories", CATEGORIES_PAGE);
+
+            // THEN
+            assertThat(diskPageStore.get("categories")).isEmpty();
+        }
+    }
+
+    @Test
+    void givenSegmentEndsWithAPartiallyWrittenRecord_whenRestarting_thenPreviousRecordsAreReturned() throws IOException {
+        // GIVEN
+        try (DiskPageStore diskPageStore = newDiskPageStore(TTL_SECONDS, MAX_SEGMENT_BYTES)) {
+            diskPageStore.put("categories", CATEGORIES_PAGE);
+        }
+        Path segmentFile = segmentFiles().get(0);
+        Files.write(segmentFile, new byte[]{0x50, 0x41, 0x47}, StandardOpenOption.APPEND);
+
+        // WHEN
+        try (DiskPageStore restartedDiskPageStore = newDiskPageStore(TTL_SECONDS, MAX_SEGMENT_BYTES)) {
+
+            // THEN
+            assertThat(restartedDiskPageStore.<Category>get("categories")
+                    .map(StoredPage::getPage)).contains(CATEGORIES_PAGE);
+        }
+    }
+
+    @Test
+    void givenMostRecordsAreOverwritten_whenCompacting_thenLatestPagesAreKeptInFewerBytes() throws IOException {
+        try (DiskPageStore diskPageStore = newDiskPageStore(TTL_SECONDS, 512)) {
+            // GIVEN
+            for (int i = 0; i < 10; i++) {
+                diskPageStore.put("categories", CATEGORIES_PAGE);
+                diskPageStore.put("releases", new Page<>(List.of(), i, 1));
+            }
+            long bytesBeforeCompaction = storedBytes();
+
+            // WHEN
+            diskPageStore.compact();
+
+            // THEN
+            assertThat(storedBytes()).isLessThan(bytesBeforeCompaction);
+            assertThat(diskPageStore.<Category>get("categories").map(StoredPage::getPage)).contains(CATEGORIES_PAGE);
+            assertThat(diskPageStore.<Release>get("releases")
+                    .map(StoredPage::getPage)).contains(new Page<>(List.of(), 9, 1));
+        }
+    }
+
+    @Test
+    void givenManyRunsHaveStoredPages_whenRestarting_thenSegmentsAreCompactedAndPagesAreKept() throws IOException {
+        // GIVEN
+        for (int run = 0; run < DiskPageStore.MAX_SEGMENTS * 2; run++) {
+            try (DiskPageStore diskPageStore = newDiskPageStore(TTL_SECONDS, MAX_SEGMENT_BYTES)) {
+                diskPageStore.put("categories-" + run, CATEGORIES_PAGE);
+            }
+        }
+
+        // WHEN
+        try (DiskPageStore restartedDiskPageStore = newDiskPageStore(TTL_SECONDS, MAX_SEGMENT_BYTES)) {
+
+            // THEN
+            assertThat(segmentFiles()).hasSizeLessThanOrEqualTo(DiskPageStore.MAX_SEGMENTS + 1);
+            assertThat(restartedDiskPageStore.<Category>get("categories-0")
+                    .map(StoredPage::getPage)).contains(CATEGORIES_PAGE);
+            assertThat(restartedDiskPageStore.<Category>get("categories-" + (DiskPageStore.MAX_SEGMENTS * 2 - 1))
+                    .map(StoredPage::getPage))
+                    .contains(CATEGORIES_PAGE);
+        }
+    }
+
+    private DiskPageStore newDiskPageStore(long ttlSeconds, long maxSegmentBytes) {
+        return new DiskPageStore(directory, ttlSeconds, maxSegmentBytes, COMPACTION_INTERVAL_SECONDS);
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> Files.isRegularFile(file)).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private long storedBytes() throws IOException {
+        long storedBytes = 0;
+        for (Path segmentFile : segmentFiles()) {
+            storedBytes += Files.size(segmentFile);
+        }
+        return storedBytes;
+    }
+}
@@ -0,0 +1,140 @@
+package advisor.model.service;
+
+import advisor.authentication.AlwaysAuthenticatedUserCommandAuthentication;
+import advisor.authentication.UserCommandAuthenticationFacade;
+import advisor.http.DefaultHttpTransport;
+import advisor.http.EndpointHedging;
+import advisor.http.EndpointRetryers;
+import advisor.http.RateLimiter;
+import advisor.metrics.MetricsRegistry;
+import advisor.model.dto.Category;
+import advisor.model.dto.Page;
+import com.github.jenspiegsa.wiremockextension.Managed;
+import com.github.jenspiegsa.wiremockextension.WireMockExtension;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static com.github.jenspiegsa.wiremockextension.ManagedWireMockServer.with;
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.apache.http.HttpHeaders.CONTENT_TYPE;
+import static org.apache.http.entity.ContentType.APPLICATION_JSON;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(WireMockExtension.class)
+final class ResponseValidationCacheTest {
+
+    private static final String CATEGORIES_PATH = "/v1/browse/categories";
+    private static final String ETAG = "\"MC0wLTE2MjQ4NzU2NjYwMzc=\"";
+    private final ResponseValidationCache responseValidationCache = new ResponseValidationCache(100);
+    private SpotifyAdvisor spotifyAdvisor;
+
+    @Managed
+    private final WireMockServer wireMockServer = with(wireMockConfig().dynamicPort());
+
+    @BeforeEach
+    void prepareTarget() {
+        spotifyAdvisor = new SpotifyAdvisor(
+                "http://localhost:" + wireMockServer.port(),
+                new DefaultHttpTransport(),
+                responseValidationCache,
+                RateLimiter.unlimited(),
+                0,
+                EndpointRetryers.none(),
+                EndpointHedging.none(),
+                new MetricsRegistry(),
+                new UserCommandAuthenticationFacade(new AlwaysAuthenticatedUserCommandAuthentication()),
+                5,
+                "es-ES");
+    }
+
+    @Test
+    void givenResponseWithETag_whenGettingTheSamePageAgain_thenIfNoneMatchIsSentAndPreviousPageIsReused() {
+        // GIVEN
+        stubFor(get(urlPathEqualTo(CATEGORIES_PATH))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.SC_OK)
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON.getMimeType())
+                        .withHeader("ETag", ETAG)
+                        .withBodyFile("categories.json")));
+        stubFor(get(urlPathEqualTo(CATEGORIES_PATH))
+                .withHeader("If-None-Match", equalTo(ETAG))
+                .willReturn(aResponse().withStatus(HttpStatus.SC_NOT_MODIFIED)));
+        Page<Category> firstResponsePage = spotifyAdvisor.getCategories(2);
+
+        // WHEN
+        Page<Category> secondResponsePage = spotifyAdvisor.getCategories(2);
+
+        // THEN
+        assertThat(secondResponsePage).isEqualTo(firstResponsePage);
+        verify(1, getRequestedFor(urlPathEqualTo(CATEGORIES_PATH))
+                .withHeader("If-None-Match", equalTo(ETAG)));
+        assertThat(responseValidationCache.getMisses()).as("Misses").isEqualTo(1);
+        assertThat(responseValidationCache.getRevalidations()).as("Revalidations").isEqualTo(1);
+        assertThat(responseValidationCache.getHits()).as("Hits").isZero();
+    }
+
+    @Test
+    void givenResponseWithMaxAge_whenGettingTheSamePageAgain_thenNoRequestIsSent() {
+        // GIVEN
+        stubFor(get(urlPathEqualTo(CATEGORIES_PATH))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.SC_OK)
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON.getMimeType())
+                        .withHeader("Cache-Control", "public, max-age=3600")
+                        .withBodyFile("categories.json")));
+        Page<Category> firstResponsePage = spotifyAdvisor.getCategories(1);
+
+        // WHEN
+        Page<Category> secondResponsePage = spotifyAdvisor.getCategories(1);
+
+        // THEN
+        assertThat(secondResponsePage).isEqualTo(firstResponsePage);
+        verify(1, getRequestedFor(urlPathEqualTo(CATEGORIES_PATH)));
+        assertThat(responseValidationCache.getHits()).as("Hits").isEqualTo(1);
+    }
+
+    @Test
+    void givenResponseWithETag_whenGettingAnotherPage_thenNoIfNoneMatchIsSent() {
+        // GIVEN
+        stubFor(get(urlPathEqualTo(CATEGORIES_PATH))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.SC_OK)
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON.getMimeType())
+                        .withHeader("ETag", ETAG)
+                        .withBodyFile("categories.json")));
+        spotifyAdvisor.getCategories(1);
+
+        // WHEN
+        spotifyAdvisor.getCategories(2);
+
+        // THEN
+        verify(0, getRequestedFor(urlPathEqualTo(CATEGORIES_PATH))
+                .withHeader("If-None-Match", matching(".*")));
+        assertThat(responseValidationCache.getMisses()).as("Misses").isEqualTo(2);
+    }
+
+    @Test
+    void givenResponseWithNoStore_whenGettingTheSamePageAgain_thenItIsFetchedAgainWithoutIfNoneMatch() {
+        // GIVEN
+        stubFor(get(urlPathEqualTo(CATEGORIES_PATH))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.SC_OK)
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON.getMimeType())
+                        .withHeader("ETag", ETAG)
+                        .withHeader("Cache-Control", "no-store")
+                        .withBodyFile("categories.json")));
+        spotifyAdvisor.getCategories(1);
+
+        // WHEN
+        spotifyAdvisor.getCategories(1);
+
+        // THEN
+        verify(2, getRequestedFor(urlPathEqualTo(CATEGORIES_PATH)));
+        verify(0, getRequestedFor(urlPathEqualTo(CATEGORIES_PATH))
+                .withHeader("If-None-Match", matching(".*")));
+    }
+}
@@ -0,0 +1,275 @@
+package advisor.model.service;
+
+import advisor.authentication.AlwaysAuthenticatedUserCommandAuthentication;
+import advisor.authentication.UserCommandAuthentication;
+import advisor.authentication.UserCommandAuthenticationFacade;
+import advisor.http.DefaultHttpTransport;
+import advisor.http.EndpointHedging;
+import advisor.http.EndpointRetryers;
+import advisor.http.RateLimitedClient;
+import advisor.http.RateLimiter;
+import advisor.http.RetryPolicy;
+import advisor.metrics.EndpointMetrics;
+import advisor.metrics.MetricsRegistry;
+import advisor.model.dto.Category;
+import advisor.model.dto.Page;
+import com.github.jenspiegsa.wiremockextension.Managed;
+import com.github.jenspiegsa.wiremockextension.WireMockExtension;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import org.apache.http.HttpStatus;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Map;
+
+import static advisor.model.service.SpotifyResources.CATEGORIES_RESOURCE_PATH;
+import static com.github.jenspiegsa.wiremockextension.ManagedWireMockServer.with;
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.apache.http.HttpHeaders.CONTENT_TYPE;
+import static org.apache.http.entity.ContentType.APPLICATION_JSON;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(WireMockExtension.class)
+final class SpotifyAdvisorRetryTest {
+
+    private static final String CATEGORIES_PATH = "/v1/browse/categories";
+    private static final String TRANSIENT_ERROR = "Transient error";
+    private static final String CATEGORY_PLAYLISTS_ENDPOINT = "categories/{id}/playlists";
+    private static final int MAX_ATTEMPTS = 3;
+    private final EndpointRetryers endpointRetryers = new EndpointRetryers(
+            new RetryPolicy(MAX_ATTEMPTS, 10, 50), Map.of(CATEGORY_PLAYLISTS_ENDPOINT, new RetryPolicy(1, 10, 50)));
+    private final MetricsRegistry metricsRegistry = new MetricsRegistry();
+    private SpotifyAdvisor spotifyAdvisor;
+
+    @Managed
+    private final WireMockServer wireMockServer = with(wireMockConfig().dynamicPort());
+
+    @BeforeEach
+    void prepareTarget() {
+        spotifyAdvisor = new SpotifyAdvisor(
+                "http://localhost:" + wireMockServer.port(),
+                new DefaultHttpTransport(),
+                new ResponseValidationCache(100),
+                RateLimiter.unlimited(),
+                0,
+                endpointRetryers,
+                EndpointHedging.none(),
+                metricsRegistry,
+                new UserCommandAuthenticationFacade(new AlwaysAuthenticatedUserCommandAuthentication()),
+                5,
+                "es-ES");
+    }
+
+    @Test
+    void givenServiceUnavailableOnce_whenGettingCategories_thenRequestIsRetriedAndPageIsReturned() {
+        // GIVEN
+        stubFor(get(urlPathEqualTo(CATEGORIES_PATH))
+                .inScenario(TRANSIENT_ERROR)
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse().withStatus(HttpStatus.SC_SERVICE_UNAVAILABLE))
+                .willSetStateTo("Recovered"));
+        stubFor(get(urlPathEqualTo(CATEGORIES_PATH))
+                .inScenario(TRANSIENT_ERROR)
+                .whenScenarioStateIs("Recovered")
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.SC_OK)
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON.getMimeType())
+                        .withBodyFile("categories.json")));
+
+        // WHEN
+        Page<Category> categories = spotifyAdvisor.getCategories(1);
+
+        // THEN
+        assertThat(categories.getElements()).isNotEmpty();
+        assertThat(endpointRetryers.getRetries(CATEGORIES_RESOURCE_PATH)).isEqualTo(1);
+        assertThat(endpointRetryers.getExhaustedRetries()).isZero();
+        verify(2, getRequestedFor(urlPathEqualTo(CATEGORIES_PATH)));
+    }
+
+    @Test
+    void givenServiceUnavailableOnce_whenGettingCategories_thenEveryRequestSentAndTheDecodedResponseAreRecorded() {
+        // GIVEN
+        stubFor(get(urlPathEqualTo(CATEGORIES_PATH))
+                .inScenario(TRANSIENT_ERROR)
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse().withStatus(HttpStatus.SC_SERVICE_UNAVAILABLE))
+                .willSetStateTo("Recovered"));
+        stubFor(get(urlPathEqualTo(CATEGORIES_PATH))
+                .inScenario(TRANSIENT_ERROR)
+                .whenScenarioStateIs("Recovered")
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.SC_OK)
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON.getMimeType())
+                        .withBodyFile("categories.json")));
+
+        // WHEN
+        spotifyAdvisor.getCategories(1);
+
+        // THEN
+        EndpointMetrics endpointMetrics = metricsRegistry.getEndpoints().get(CATEGORIES_RESOURCE_PATH);
+        assertThat(endpointMetrics.getRequests()).isEqualTo(2);
+        assertThat(endpointMetrics.getErrors()).isEqualTo(1);
+        assertThat(endpointMetrics.getRequestLatency().getCount()).isEqualTo(2);
+        assertThat(endpointMetrics.getDecodeLatency().getCount()).isEqualTo(1);
+        assertThat(endpointMetrics.getBytes()).isPositive();
+    }
+
+    @Test
+    void givenPlaylistsOfTwoCategories_whenGettingThem_thenTheyAreRecordedForTheSameResourcePath() {
+        // GIVEN
+        stubFor(get(urlPathMatching("/v1/browse/categories/[^/]+/playlists"))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.SC_OK)
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON.getMimeType())
+                        .withBodyFile("category-playlists.json")));
+
+        // WHEN
+        spotifyAdvisor.getCategoryPlaylists(new Category("Mood", "mood"), 1);
+        spotifyAdvisor.getCategoryPlaylists(new Category("Party", "party"), 1);
+
+        // THEN
+        assertThat(metricsRegistry.getEndpoints()).containsOnlyKeys(CATEGORY_PLAYLISTS_ENDPOINT);
+        assertThat(metricsRegistry.getEndpoints().get(CATEGORY_PLAYLISTS_ENDPOINT).getRequests()).isEqualTo(2);
+    }
+
+    @Test
+    void givenRetryPolicyOfTheCategoryPlaylistsEndpoint_whenGettingThemFromUnavailableService_thenItIsFollowed() {
+        // GIVEN
+        stubFor(get(urlPathMatching("/v1/browse/categories/[^/]+/playlists"))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.SC_BAD_GATEWAY)
+                        .withBody("{\"error\": {\"status\": 502, \"message\": \"Bad gateway\"}}")));
+
+        // WHEN
+        Throwable thrown = Assertions.catchThrowable(
+                () -> spotifyAdvisor.getCategoryPlaylists(new Category("Mood", "mood"), 1));
+
+        // THEN
+        assertThat(thrown).isInstanceOf(ResourceException.class).hasMessage("Bad gateway");
+        assertThat(endpointRetryers.getTotalRetries()).isZero();
+        verify(1, getRequestedFor(urlPathMatching("/v1/browse/categories/[^/]+/playlists")));
+    }
+
+    @Test
+    void givenServiceAlwaysUnavailable_whenGettingCategories_thenRetryableExceptionWithStatusIsThrown() {
+        // GIVEN
+        stubFor(get(urlPathEqualTo(CATEGORIES_PATH))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.SC_BAD_GATEWAY)
+                        .withBody("{\"error\": {\"status\": 502, \"message\": \"Bad gateway\"}}")));
+
+        // WHEN
+        Throwable thrown = Assertions.catchThrowable(() -> spotifyAdvisor.getCategories(1));
+
+        // THEN
+        assertThat(thrown).isInstanceOf(ResourceException.class).hasMessage("Bad gateway");
+        assertThat(((ResourceException) thrown).getStatus()).isEqualTo(HttpStatus.SC_BAD_GATEWAY);
+        assertThat(((ResourceException) thrown).isRetryable()).isTrue();
+        assertThat(endpointRetryers.getRetries(CATEGORIES_RESOURCE_PATH)).isEqualTo(MAX_ATTEMPTS - 1);
+        assertThat(endpointRetryers.getExhaustedRetries()).isEqualTo(1);
+        verify(MAX_ATTEMPTS, getRequestedFor(urlPathEqualTo(CATEGORIES_PATH)));
+    }
+
+    @Test
+    void givenNotFoundResponse_whenGettingCategories_thenRequestIsNotRetried() {
+        // GIVEN
+        stubFor(get(urlPathEqualTo(CATEGORIES_PATH))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.SC_NOT_FOUND)
+                        .withBody("{\"error\": {\"status\": 404, \"message\": \"Not found\"}}")));
+
+        // WHEN
+        Throwable thrown = Assertions.catchThrowable(() -> spotifyAdvisor.getCategories(1));
+
+        // THEN
+        assertThat(thrown).isInstanceOf(ResourceException.class).hasMessage("Not found");
+        assertThat(((ResourceException) thrown).getStatus()).isEqualTo(HttpStatus.SC_NOT_FOUND);
+        assertThat(((ResourceException) thrown).isRetryable()).isFalse();
+        assertThat(endpointRetryers.getTotalRetries()).isZero();
+        verify(1, getRequestedFor(urlPathEqualTo(CATEGORIES_PATH)));
+    }
+
+    @Test
+    void givenTooManyRequestsResponse_whenGettingCategories_thenRequestIsOnlyResentByTheRateLimiter() {
+        // GIVEN
+        stubFor(get(urlPathEqualTo(CATEGORIES_PATH))
+                .willReturn(aResponse()
+                        .withStatus(RateLimitedClient.TOO_MANY_REQUESTS)
+                        .withHeader("Retry-After", "0")
+                        .withBody("{\"error\": {\"status\": 429, \"message\": \"API rate limit exceeded\"}}")));
+
+        // WHEN
+        Throwable thrown = Assertions.catchThrowable(() -> spotifyAdvisor.getCategories(1));
+
+        // THEN
+        assertThat(thrown).isInstanceOf(ResourceException.class).hasMessage("API rate limit exceeded");
+        assertThat(((ResourceException) thrown).getStatus()).isEqualTo(RateLimitedClient.TOO_MANY_REQUESTS);
+        assertThat(((ResourceException) thrown).isRetryable()).isFalse();
+        assertThat(endpointRetryers.getTotalRetries()).isZero();
+        verify(1, getRequestedFor(urlPathEqualTo(CATEGORIES_PATH)));
+    }
+
+    @Test
+    void givenExpiredAccessToken_whenGettingCategories_thenRequestIsSentAgainWithRefreshedToken() {
+        // GIVEN
+        SpotifyAdvisor reauthenticatingAdvisor = new SpotifyAdvisor(
+                "http://localhost:" + wireMockServer.port(),
+                new DefaultHttpTransport(),
+                new ResponseValidationCache(100),
+                RateLimiter.unlimited(),
+                0,
+                EndpointRetryers.none(),
+                EndpointHedging.none(),
+                new MetricsRegistry(),
+                new UserCommandAuthenticationFacade(new ExpiringTokenUserCommandAuthentication()),
+                5,
+                "es-ES");
+        stubFor(get(urlPathEqualTo(CATEGORIES_PATH))
+                .withHeader("Authorization", equalTo("Bearer expiredAccessToken"))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.SC_UNAUTHORIZED)
+                        .withBody("{\"error\": {\"status\": 401, \"message\": \"The access token expired\"}}")));
+        stubFor(get(urlPathEqualTo(CATEGORIES_PATH))
+                .withHeader("Authorization", equalTo("Bearer refreshedAccessToken"))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.SC_OK)
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON.getMimeType())
+                        .withBodyFile("categories.json")));
+
+        // WHEN
+        Page<Category> categories = reauthenticatingAdvisor.getCategories(1);
+
+        // THEN
+        assertThat(categories.getElements()).isNotEmpty();
+        verify(2, getRequestedFor(urlPathEqualTo(CATEGORIES_PATH)));
+    }
+
+    private static final class ExpiringTokenUserCommandAuthentication implements UserCommandAuthentication {
+
+        private volatile String accessToken = "expiredAccessToken";
+
+        @Override
+        public void authenticate() {
+        }
+
+        @Override
+        public boolean isAuthenticated() {
+            return true;
+        }
+
+        @Override
+        public String getAccessToken() {
+            return accessToken;
+        }
+
+        @Override
+        public String refreshAccessToken(String rejectedAccessToken) {
+            accessToken = "refreshedAccessToken";
+            return accessToken;
+        }
+    }
+}
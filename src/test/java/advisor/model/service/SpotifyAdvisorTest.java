@@ -2,6 +2,11 @@ package advisor.model.service;
 
 import advisor.authentication.AlwaysAuthenticatedUserCommandAuthentication;
 import advisor.authentication.UserCommandAuthenticationFacade;
+import advisor.http.DefaultHttpTransport;
+import advisor.http.EndpointHedging;
+import advisor.http.EndpointRetryers;
+import advisor.http.RateLimiter;
+import advisor.metrics.MetricsRegistry;
 import advisor.model.AdvisorException;
 import advisor.model.dto.*;
 import com.github.jenspiegsa.wiremockextension.Managed;
@@ -40,6 +45,13 @@ final class SpotifyAdvisorTest {
         String spotifyResourceHost = "http://localhost";
         spotifyAdvisor = new SpotifyAdvisor(
                 spotifyResourceHost + ":" + wireMockServer.port(),
+                new DefaultHttpTransport(),
+                new ResponseValidationCache(100),
+                RateLimiter.unlimited(),
+                0,
+                EndpointRetryers.none(),
+                EndpointHedging.none(),
+                new MetricsRegistry(),
                 userCommandAuthenticationFacade,
                 DEFAULT_PAGE_SIZE,
                 LOCALE);
@@ -94,7 +106,8 @@ final class SpotifyAdvisorTest {
         verify(getRequestedFor(urlPathEqualTo(RESOURCE_COMMON_PATH + "categories"))
                 .withHeader("Authorization", equalTo("Bearer " + userCommandAuthenticationFacade.getAccessToken()))
                 .withHeader(CONTENT_TYPE, equalTo(APPLICATION_JSON.getMimeType()))
-                .withHeader("Accept", equalTo(APPLICATION_JSON.getMimeType())));
+                .withHeader("Accept", equalTo(APPLICATION_JSON.getMimeType()))
+                .withHeader("Accept-Encoding", containing("gzip")));
     }
 
     @Test
@@ -134,6 +147,40 @@ final class SpotifyAdvisorTest {
                 .withQueryParam("limit", equalTo(String.valueOf(DEFAULT_PAGE_SIZE))));
     }
 
+    @Test
+    void whenGettingFeaturedPlaylists_ThenOnlyTheDecodedFieldsAreRequested() {
+        // GIVEN
+        stubFor(get(urlPathEqualTo(RESOURCE_COMMON_PATH + "featured-playlists"))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.SC_OK)
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON.getMimeType())
+                        .withBodyFile("featured-playlists.json")));
+
+        // WHEN
+        spotifyAdvisor.getFeaturedPlaylists(1);
+
+        // THEN
+        verify(getRequestedFor(urlPathEqualTo(RESOURCE_COMMON_PATH + "featured-playlists"))
+                .withQueryParam("fields", equalTo("playlists(items(name,external_urls(spotify)),total)")));
+    }
+
+    @Test
+    void whenGettingNewReleases_ThenNoFieldsAreRequested() {
+        // GIVEN
+        stubFor(get(urlPathEqualTo(RESOURCE_COMMON_PATH + "new-releases"))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.SC_OK)
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON.getMimeType())
+                        .withBodyFile("new-releases.json")));
+
+        // WHEN
+        spotifyAdvisor.getNewReleases(1);
+
+        // THEN
+        verify(getRequestedFor(urlPathEqualTo(RESOURCE_COMMON_PATH + "new-releases"))
+                .withQueryParam("fields", absent()));
+    }
+
     @Test
     void whenGettingCategoriesWithNoPaging_ThenNoPagingQueryParamsAreSentInRequest() {
         // GIVEN
@@ -0,0 +1,119 @@
+package advisor.model.service;
+
+import advisor.authentication.AlwaysAuthenticatedUserCommandAuthentication;
+import advisor.authentication.UserCommandAuthenticationFacade;
+import advisor.http.RateLimiter;
+import advisor.model.AdvisorException;
+import advisor.model.dto.Category;
+import advisor.model.dto.Page;
+import advisor.model.dto.Playlist;
+import com.github.jenspiegsa.wiremockextension.Managed;
+import com.github.jenspiegsa.wiremockextension.WireMockExtension;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static com.github.jenspiegsa.wiremockextension.ManagedWireMockServer.with;
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.apache.http.HttpHeaders.CONTENT_TYPE;
+import static org.apache.http.entity.ContentType.APPLICATION_JSON;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+@ExtendWith(WireMockExtension.class)
+final class SpotifyAsyncAdvisorTest {
+
+    private static final String RESOURCE_COMMON_PATH = "/v1/browse/";
+    private static final int DEFAULT_PAGE_SIZE = 5;
+    private static final String LOCALE = "es-ES";
+    private final UserCommandAuthenticationFacade userCommandAuthenticationFacade =
+            new UserCommandAuthenticationFacade(new AlwaysAuthenticatedUserCommandAuthentication());
+    private SpotifyAsyncAdvisor spotifyAsyncAdvisor;
+
+    @Managed
+    private final WireMockServer wireMockServer = with(wireMockConfig().dynamicPort());
+
+    @BeforeEach
+    void prepareTarget() {
+        spotifyAsyncAdvisor = new SpotifyAsyncAdvisor(
+                "http://localhost:" + wireMockServer.port(),
+                HttpClient.newHttpClient(),
+                Duration.ofSeconds(5),
+                RateLimiter.unlimited(),
+                0,
+                userCommandAuthenticationFacade,
+                DEFAULT_PAGE_SIZE,
+                LOCALE);
+    }
+
+    @Test
+    void givenCategoriesReturnedFromSpotify_whenGettingCategories_thenCategoryPageIsCompleted() {
+        // GIVEN
+        stubFor(get(urlPathEqualTo(RESOURCE_COMMON_PATH + "categories"))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.SC_OK)
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON.getMimeType())
+                        .withBodyFile("categories.json")));
+
+        // WHEN
+        Page<Category> categories = spotifyAsyncAdvisor.getCategories(3).join();
+
+        // THEN
+        assertThat(categories.getElements()).hasSize(5).first().isEqualTo(new Category("Top Lists", "toplists"));
+        assertThat(categories.getTotal()).as("Total").isEqualTo(31);
+        assertThat(categories.getPageNumber()).as("Page number").isEqualTo(3);
+        verify(getRequestedFor(urlPathEqualTo(RESOURCE_COMMON_PATH + "categories"))
+                .withHeader("Authorization", equalTo("Bearer " + userCommandAuthenticationFacade.getAccessToken()))
+                .withQueryParam("offset", equalTo(String.valueOf(2 * DEFAULT_PAGE_SIZE)))
+                .withQueryParam("limit", equalTo(String.valueOf(DEFAULT_PAGE_SIZE)))
+                .withQueryParam("country", equalTo("ES"))
+                .withQueryParam("locale", equalTo(LOCALE)));
+    }
+
+    @Test
+    void givenSeveralPagesAreRequested_whenAllOfThemComplete_thenEachHasItsPageNumber() {
+        // GIVEN
+        stubFor(get(urlPathEqualTo(RESOURCE_COMMON_PATH + "featured-playlists"))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.SC_OK)
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON.getMimeType())
+                        .withBodyFile("featured-playlists.json")));
+
+        // WHEN
+        List<CompletableFuture<Page<Playlist>>> pages = List.of(
+                spotifyAsyncAdvisor.getFeaturedPlaylists(1),
+                spotifyAsyncAdvisor.getFeaturedPlaylists(2),
+                spotifyAsyncAdvisor.getFeaturedPlaylists(3));
+        CompletableFuture.allOf(pages.toArray(new CompletableFuture[0])).join();
+
+        // THEN
+        assertThat(pages).extracting(page -> page.join().getPageNumber()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void givenErrorResponseReturnedFromSpotify_whenGettingCategories_thenFutureCompletesWithErrorMessage() {
+        // GIVEN
+        String errorMessage = "Invalid country code";
+        stubFor(get(urlPathEqualTo(RESOURCE_COMMON_PATH + "categories"))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.SC_BAD_REQUEST)
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON.getMimeType())
+                        .withBody("{\"error\":{\"status\":400,\"message\":\"" + errorMessage + "\"}}")));
+
+        // WHEN
+        Throwable thrown = catchThrowable(() -> spotifyAsyncAdvisor.getCategories(1).join());
+
+        // THEN
+        assertThat(thrown).isInstanceOf(CompletionException.class);
+        assertThat(thrown.getCause()).isInstanceOf(AdvisorException.class).hasMessage(errorMessage);
+    }
+}
@@ -1,5 +1,6 @@
 package advisor.view;
 
+import advisor.metrics.MetricsRegistry;
 import advisor.model.dto.Category;
 import advisor.model.dto.Page;
 import org.junit.jupiter.api.Test;
@@ -20,7 +21,8 @@ final class CommandLineViewTest {
     @Test
     void givenPageTotalIsOneUnitLessThanPageSize_whenPrintingAPage_thenTotalOfPagesIsOne() {
         // GIVEN
-        commandLineView = new CommandLineView(new Scanner(System.in), new PrintStream(output), PAGE_SIZE);
+        commandLineView = new CommandLineView(new Scanner(System.in),
+                new PrintStream(output), PAGE_SIZE, new MetricsRegistry());
         Page<Category> page = new Page<>(List.of(), PAGE_SIZE - 1, 1);
 
         // WHEN
@@ -33,7 +35,8 @@ final class CommandLineViewTest {
     @Test
     void givenPageTotalIsEqualToPageSize_whenPrintingAPage_thenTotalOfPagesIsOne() {
         // GIVEN
-        commandLineView = new CommandLineView(new Scanner(System.in), new PrintStream(output), PAGE_SIZE);
+        commandLineView = new CommandLineView(new Scanner(System.in),
+                new PrintStream(output), PAGE_SIZE, new MetricsRegistry());
         Page<Category> page = new Page<>(List.of(), PAGE_SIZE, 1);
 
         // WHEN
@@ -46,7 +49,8 @@ final class CommandLineViewTest {
     @Test
     void givenPageTotalIsOneUnitGreaterThanPageSize_whenPrintingAPage_thenTotalOfPagesIsTwo() {
         // GIVEN
-        commandLineView = new CommandLineView(new Scanner(System.in), new PrintStream(output), PAGE_SIZE);
+        commandLineView = new CommandLineView(new Scanner(System.in),
+                new PrintStream(output), PAGE_SIZE, new MetricsRegistry());
         Page<Category> page = new Page<>(List.of(), PAGE_SIZE + 1, 1);
 
         // WHEN
@@ -55,4 +59,19 @@ final class CommandLineViewTest {
         // THEN
         assertThat(output).hasToString("---PAGE 1 OF 2---" + System.lineSeparator());
     }
+
+    @Test
+    void givenStalePage_whenPrintingAPage_thenItIsMarkedAsStale() {
+        // GIVEN
+        commandLineView = new CommandLineView(new Scanner(System.in),
+                new PrintStream(output), PAGE_SIZE, new MetricsRegistry());
+        Page<Category> page = new Page<>(List.of(), PAGE_SIZE, 1, true);
+
+        // WHEN
+        commandLineView.printPage(page);
+
+        // THEN
+        assertThat(output).hasToString("---PAGE 1 OF 1---" + System.lineSeparator()
+                + "---STALE: SPOTIFY IS UNAVAILABLE, SHOWING THE LAST KNOWN PAGE---" + System.lineSeparator());
+    }
 }